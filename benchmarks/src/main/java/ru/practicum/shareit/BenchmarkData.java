@@ -0,0 +1,151 @@
+package ru.practicum.shareit;
+
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import ru.practicum.shareit.booking.enums.StatusEnum;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.CommentSimple;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemOwnerView;
+import ru.practicum.shareit.item.model.RequestedItem;
+import ru.practicum.shareit.request.model.ItemRequestSummary;
+import ru.practicum.shareit.user.model.User;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Наборы данных для бенчмарков. Значения детерминированы, чтобы результаты разных запусков были сравнимы.
+ * Проекции ItemRequestSummary и RequestedItem создаются той же фабрикой прокси, что и в Spring Data.
+ */
+public final class BenchmarkData {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 12, 0);
+    private static final StatusEnum[] STATUSES = StatusEnum.values();
+    private static final ProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
+    private BenchmarkData() {
+    }
+
+    public static List<BookingView> bookingViews(int count) {
+        List<BookingView> views = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            long itemId = i % 50 + 1;
+            views.add(new BookingView(i,
+                    START.plusHours(i),
+                    START.plusHours(i + 2),
+                    STATUSES[(int) (i % STATUSES.length)],
+                    itemId,
+                    "Дрель " + itemId,
+                    "Ударная дрель с набором сверл " + itemId,
+                    Boolean.TRUE,
+                    i % 3 == 0 ? itemId : null,
+                    1L,
+                    "Владелец",
+                    "owner@example.com",
+                    i % 100 + 2,
+                    "Арендатор " + (i % 100 + 2),
+                    "booker" + (i % 100 + 2) + "@example.com"));
+        }
+        return views;
+    }
+
+    public static List<Item> items(int count) {
+        User owner = user(1L);
+        List<Item> items = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            items.add(Item.builder()
+                    .id(i)
+                    .name("Дрель " + i)
+                    .description("Ударная дрель с набором сверл " + i)
+                    .isAvailable(i % 4 != 0)
+                    .owner(owner)
+                    .requestId(i % 3 == 0 ? i : null)
+                    .build());
+        }
+        return items;
+    }
+
+    public static List<Comment> comments(int count) {
+        List<Item> items = items(10);
+        List<Comment> comments = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            Comment comment = new Comment();
+            comment.setId(i);
+            comment.setText("Отличная вещь, всё работает " + i);
+            comment.setItem(items.get((int) (i % items.size())));
+            comment.setAuthor(user(i % 20 + 2));
+            comment.setCreatedDate(Timestamp.valueOf(START.plusMinutes(i)));
+            comments.add(comment);
+        }
+        return comments;
+    }
+
+    public static List<ItemOwnerView> itemOwnerViews(int count, int commentsPerItem) {
+        List<ItemOwnerView> views = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            List<CommentSimple> comments = new ArrayList<>(commentsPerItem);
+            for (long c = 1; c <= commentsPerItem; c++) {
+                CommentSimple comment = new CommentSimple();
+                comment.setId(i * commentsPerItem + c);
+                comment.setText("Отличная вещь, всё работает " + c);
+                comment.setItemId(i);
+                comment.setAuthorId(c + 1);
+                comment.setCreatedDate(START.plusMinutes(c).toInstant(ZoneOffset.UTC));
+                comments.add(comment);
+            }
+            ItemOwnerView view = new ItemOwnerView();
+            DirectFieldAccessor fields = new DirectFieldAccessor(view);
+            fields.setPropertyValue("id", i);
+            fields.setPropertyValue("name", "Дрель " + i);
+            fields.setPropertyValue("description", "Ударная дрель с набором сверл " + i);
+            fields.setPropertyValue("available", Boolean.TRUE);
+            fields.setPropertyValue("ownerId", 1L);
+            fields.setPropertyValue("lastBooking", START.minusDays(i));
+            fields.setPropertyValue("nextBooking", START.plusDays(i));
+            fields.setPropertyValue("comments", comments);
+            views.add(view);
+        }
+        return views;
+    }
+
+    public static List<ItemRequestSummary> requestSummaries(int count) {
+        List<ItemRequestSummary> summaries = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            summaries.add(PROJECTIONS.createProjection(ItemRequestSummary.class, Map.of(
+                    "id", i,
+                    "description", "Нужна дрель на выходные " + i,
+                    "createdDate", Timestamp.valueOf(START.minusHours(i)))));
+        }
+        return summaries;
+    }
+
+    public static List<RequestedItem> requestedItems(int requests, int itemsPerRequest) {
+        List<RequestedItem> items = new ArrayList<>(requests * itemsPerRequest);
+        long id = 1;
+        for (long request = 1; request <= requests; request++) {
+            for (int i = 0; i < itemsPerRequest; i++, id++) {
+                items.add(PROJECTIONS.createProjection(RequestedItem.class, Map.of(
+                        "requestId", request,
+                        "id", id,
+                        "name", "Дрель " + id,
+                        "ownerId", id % 20 + 2)));
+            }
+        }
+        return items;
+    }
+
+    private static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("Пользователь " + id);
+        user.setEmail("user" + id + "@example.com");
+        return user;
+    }
+}
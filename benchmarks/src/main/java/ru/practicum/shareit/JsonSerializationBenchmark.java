@@ -0,0 +1,72 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.item.model.ItemOwnerView;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сериализация тел ответов сервера в JSON. ObjectMapper собирается так же, как в Spring Boot
+ * без дополнительных настроек Jackson, то есть с теми же модулями и признаками, что и в сервере.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private static final int COMMENTS_PER_ITEM = 3;
+    private static final int ITEMS_PER_REQUEST = 3;
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private List<BookingDto> bookings;
+    private List<ItemOwnerView> ownerItems;
+    private List<ItemRequestDto> requests;
+
+    @Setup
+    public void setUp() {
+        bookings = new ArrayList<>(new BookingMapper().toDto(BenchmarkData.bookingViews(size)));
+        ownerItems = BenchmarkData.itemOwnerViews(size, COMMENTS_PER_ITEM);
+        requests = new ItemRequestMapper().toItemRequestDto(BenchmarkData.requestSummaries(size),
+                BenchmarkData.requestedItems(size, ITEMS_PER_REQUEST));
+    }
+
+    @Benchmark
+    public byte[] bookingDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public byte[] itemOwnerView() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ownerItems);
+    }
+
+    @Benchmark
+    public byte[] itemRequestDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(requests);
+    }
+}
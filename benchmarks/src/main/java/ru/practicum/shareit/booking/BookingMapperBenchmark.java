@@ -0,0 +1,49 @@
+package ru.practicum.shareit.booking;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.BenchmarkData;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.BookingView;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Преобразование страницы проекций BookingView в BookingDto для списочной выдачи бронирований.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingMapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private final BookingMapper mapper = new BookingMapper();
+    private List<BookingView> views;
+
+    @Setup
+    public void setUp() {
+        views = BenchmarkData.bookingViews(size);
+    }
+
+    @Benchmark
+    public Collection<BookingDto> toDto() {
+        return mapper.toDto(views);
+    }
+}
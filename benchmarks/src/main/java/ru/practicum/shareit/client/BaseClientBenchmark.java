@@ -0,0 +1,165 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.BenchmarkData;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.RequestStates;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Полный путь запроса клиента шлюза через BaseClient и транспорт выбранного режима до заглушки сервера
+ * на локальном порту и обратно. Заглушка отвечает заранее сериализованной страницей бронирований,
+ * поэтому в результат входят только издержки шлюза: подготовка запроса, пул соединений, HTTP
+ * и разбор или копирование ответа. TCP_NODELAY в заглушке отключает задержку ответа из-за алгоритма Нейгла.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+public class BaseClientBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    /**
+     * Режим транспорта: blocking - RestTemplate с разбором JSON, pass-through - RestTemplate без разбора,
+     * async - асинхронный HttpClient JDK.
+     */
+    @Param({"blocking", "pass-through", "async"})
+    private String mode;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private CloseableHttpClient blockingClient;
+    private HttpClient asyncClient;
+    private BookingClient client;
+    private BookingRequestDto newBooking;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] page = objectMapper.writeValueAsBytes(new BookingMapper().toDto(BenchmarkData.bookingViews(PAGE_SIZE)));
+        byte[] created = objectMapper.writeValueAsBytes(new BookingMapper().toDto(BenchmarkData.bookingViews(1)));
+        serverExecutor = Executors.newFixedThreadPool(4);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/bookings", exchange -> respond(exchange,
+                "POST".equals(exchange.getRequestMethod()) ? 201 : 200,
+                "POST".equals(exchange.getRequestMethod()) ? created : page));
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        String serverUrl = "http://localhost:" + server.getAddress().getPort();
+        ShareItServerTransportFactory transports = switch (mode) {
+            case "blocking", "pass-through" -> blockingTransports(serverUrl, "pass-through".equals(mode));
+            case "async" -> asyncTransports(serverUrl);
+            default -> throw new IllegalArgumentException("Неизвестный режим клиента: " + mode);
+        };
+        client = new BookingClient(transports);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        newBooking = new BookingRequestDto(1L, start, start.plusHours(2));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (blockingClient != null) {
+            blockingClient.close();
+        }
+        if (asyncClient != null) {
+            asyncClient.close();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public Object getBookingsByOwner() throws IOException {
+        return consume(client.getBookingsByOwner(1L, RequestStates.ALL, null, PAGE_SIZE).join());
+    }
+
+    @Benchmark
+    public Object createBooking() throws IOException {
+        return consume(client.createBooking(2L, newBooking).join());
+    }
+
+    private ShareItServerTransportFactory blockingTransports(String serverUrl, boolean passThrough) {
+        PoolingHttpClientConnectionManager connectionManager = new LeaseTimingConnectionManager(new SimpleMeterRegistry());
+        blockingClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .build();
+        ClientHttpRequestFactory requestFactory = new MeteredClientHttpRequestFactory(
+                new HttpComponentsClientHttpRequestFactory(blockingClient), new UpstreamMetrics(new SimpleMeterRegistry()));
+        return apiPrefix -> new RestTemplateTransport(new RestTemplateBuilder()
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                .requestFactory(() -> requestFactory)
+                .build(), passThrough);
+    }
+
+    private ShareItServerTransportFactory asyncTransports(String serverUrl) {
+        asyncClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        return apiPrefix -> new HttpClientTransport(asyncClient, new DefaultUriBuilderFactory(serverUrl + apiPrefix),
+                objectMapper, Duration.ofSeconds(30), new UpstreamMetrics(new SimpleMeterRegistry()));
+    }
+
+    /**
+     * Тело ответа в режиме без разбора - поток из соединения с сервером; он вычитывается и закрывается,
+     * как это делает Spring MVC при записи ответа шлюза, чтобы соединение вернулось в пул.
+     */
+    private static Object consume(ResponseEntity<Object> response) throws IOException {
+        if (response.getBody() instanceof InputStreamResource resource) {
+            try (InputStream body = resource.getInputStream()) {
+                return body.transferTo(OutputStream.nullOutputStream());
+            }
+        }
+        return response.getBody();
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        try (exchange) {
+            exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.BenchmarkData;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Преобразование списков вещей и отзывов в DTO.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemMapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private final ItemMapper itemMapper = new ItemMapper();
+    private final CommentMapper commentMapper = new CommentMapper();
+    private List<Item> items;
+    private List<Comment> comments;
+
+    @Setup
+    public void setUp() {
+        items = BenchmarkData.items(size);
+        comments = BenchmarkData.comments(size);
+    }
+
+    @Benchmark
+    public List<ItemDto> itemToDto() {
+        return itemMapper.toDto(items);
+    }
+
+    @Benchmark
+    public List<CommentDto> commentToDto() {
+        return comments.stream()
+                .map(commentMapper::toDto)
+                .toList();
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.request;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.BenchmarkData;
+import ru.practicum.shareit.item.model.RequestedItem;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequestSummary;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сборка списка запросов вещей с вещами, добавленными в ответ на них: группировка вещей по запросу
+ * и преобразование проекций Spring Data в ItemRequestDto.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemRequestMapperBenchmark {
+
+    private static final int ITEMS_PER_REQUEST = 3;
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private final ItemRequestMapper mapper = new ItemRequestMapper();
+    private List<ItemRequestSummary> summaries;
+    private List<RequestedItem> items;
+
+    @Setup
+    public void setUp() {
+        summaries = BenchmarkData.requestSummaries(size);
+        items = BenchmarkData.requestedItems(size, ITEMS_PER_REQUEST);
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> toItemRequestDto() {
+        return mapper.toItemRequestDto(summaries, items);
+    }
+}
@@ -1,57 +1,68 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.ExportFormat;
 import ru.practicum.shareit.booking.dto.RequestStates;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ShareItServerTransportFactory;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public BookingClient(ShareItServerTransportFactory transports) {
+        super(transports.create(API_PREFIX));
     }
 
 
-    public ResponseEntity<Object> createBooking(long bookerId, BookingRequestDto bookingRequestDto) {
+    public CompletableFuture<ResponseEntity<Object>> createBooking(long bookerId, BookingRequestDto bookingRequestDto) {
         return post("", bookerId, bookingRequestDto);
     }
 
-    public ResponseEntity<Object> approveBooking(long bookerId, long bookingId, Boolean approved) {
+    public CompletableFuture<ResponseEntity<Object>> approveBooking(long bookerId, long bookingId, Boolean approved) {
         return patch("/" + bookingId + "?approved=" + approved, bookerId);
     }
 
-    public ResponseEntity<Object> getBooking(long bookerId, long bookingId) {
+    public CompletableFuture<ResponseEntity<Object>> approveBookings(long ownerId, Boolean approved, List<Long> bookingIds) {
+        return patch("/batch?approved={approved}", ownerId, Map.of("approved", approved), bookingIds);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> getBooking(long bookerId, long bookingId) {
         return get("/" + bookingId, bookerId);
     }
 
-    public ResponseEntity<Object> getBookingsCurrentUserWithState(long bookerId, RequestStates state) {
-        Map<String, Object> params = Map.of(
-                "state", state.name()
-        );
-        return get("?state={state}", bookerId, params);
+    public CompletableFuture<ResponseEntity<Object>> getBookingsCurrentUserWithState(long bookerId, RequestStates state,
+                                                                  String cursor, int size) {
+        return getPage("", bookerId, state, cursor, size);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> getBookingsByOwner(long ownerId, RequestStates state, String cursor, int size) {
+        return getPage("/owner", ownerId, state, cursor, size);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> exportBookingsByOwner(long ownerId, RequestStates state, ExportFormat format) {
+        return getRaw("/owner/export?state={state}&format={format}", ownerId,
+                Map.of("state", state.name(), "format", format.name()));
     }
 
-    public ResponseEntity<Object> getBookingsByOwner(long ownerId, RequestStates state) {
-        Map<String, Object> params = Map.of(
-                "state", state.name()
-        );
-        return get("/owner?state={state}", ownerId, params);
+    private CompletableFuture<ResponseEntity<Object>> getPage(String path, long userId, RequestStates state, String cursor, int size) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("state", state.name());
+        params.put("size", size);
+        if (cursor == null) {
+            return get(path + "?state={state}&size={size}", userId, params);
+        }
+        params.put("cursor", cursor);
+        return get(path + "?state={state}&size={size}&cursor={cursor}", userId, params);
     }
 }
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking;
 
 import jakarta.validation.ValidationException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,58 +17,116 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.ExportFormat;
 import ru.practicum.shareit.booking.dto.RequestStates;
+import ru.practicum.shareit.client.GatewayResponse;
+import ru.practicum.shareit.client.ShareItServerClientConfiguration;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
-@Controller
+/**
+ * Эндпоинты бронирований. Тип ответа R зависит от режима клиентов сервера, см. {@link GatewayResponse}.
+ */
 @RequestMapping(path = "/bookings")
-@RequiredArgsConstructor
+@RequiredArgsConstructor(access = AccessLevel.PROTECTED)
 @Slf4j
 @Validated
-public class BookingController {
+public abstract class BookingController<R> {
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final BookingClient bookingClient;
+    private final GatewayResponse<R> response;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> createBooking(@RequestHeader("X-Sharer-User-Id") long bookerId,
-                                                @RequestBody @Valid @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
-                                                BookingRequestDto bookingRequestDto) {
+    public R createBooking(@RequestHeader("X-Sharer-User-Id") long bookerId,
+                           @RequestBody @Valid @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                           BookingRequestDto bookingRequestDto) {
         if (bookingRequestDto.getStart().isAfter(bookingRequestDto.getEnd())) {
             throw new ValidationException("Окончание бронирования должно быть позже начала бронирования.");
         }
-        return bookingClient.createBooking(bookerId, bookingRequestDto);
+        return response.from(bookingClient.createBooking(bookerId, bookingRequestDto));
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> approveBooking(@RequestHeader("X-Sharer-User-Id") long bookerId,
-                                                 @PathVariable("bookingId") long bookingId,
-                                                 @RequestParam("approved") Boolean approved) {
+    public R approveBooking(@RequestHeader("X-Sharer-User-Id") long bookerId,
+                            @PathVariable("bookingId") long bookingId,
+                            @RequestParam("approved") Boolean approved) {
+
+        return response.from(bookingClient.approveBooking(bookerId, bookingId, approved));
+    }
 
-        return bookingClient.approveBooking(bookerId, bookingId, approved);
+    @PatchMapping("/batch")
+    public R approveBookings(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                             @RequestParam("approved") Boolean approved,
+                             @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                             List<@NotNull @Positive Long> bookingIds) {
+        return response.from(bookingClient.approveBookings(ownerId, approved, bookingIds));
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(@RequestHeader("X-Sharer-User-Id") long bookerId,
-                                             @PathVariable("bookingId") long bookingId) {
-        return bookingClient.getBooking(bookerId, bookingId);
+    public R getBooking(@RequestHeader("X-Sharer-User-Id") long bookerId,
+                        @PathVariable("bookingId") long bookingId) {
+        return response.from(bookingClient.getBooking(bookerId, bookingId));
     }
 
     @GetMapping
-    public ResponseEntity<Object> getBookingsCurrentUserWithState(@RequestHeader("X-Sharer-User-Id") long bookerId,
-                                                                  @RequestParam(value = "state", defaultValue = "ALL")
-                                                                  RequestStates state) {
-        return bookingClient.getBookingsCurrentUserWithState(bookerId, state);
+    public R getBookingsCurrentUserWithState(@RequestHeader("X-Sharer-User-Id") long bookerId,
+                                             @RequestParam(value = "state", defaultValue = "ALL")
+                                             RequestStates state,
+                                             @RequestParam(value = "cursor", required = false)
+                                             String cursor,
+                                             @RequestParam(value = "size", defaultValue = "100")
+                                             @Positive @Max(MAX_PAGE_SIZE) int size) {
+        return response.from(bookingClient.getBookingsCurrentUserWithState(bookerId, state, cursor, size));
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getBookingsByOwner(@RequestHeader("X-Sharer-User-Id") long ownerId,
-                                                     @RequestParam(value = "state", defaultValue = "ALL")
-                                                     RequestStates state) {
-        return bookingClient.getBookingsByOwner(ownerId, state);
+    public R getBookingsByOwner(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                @RequestParam(value = "state", defaultValue = "ALL")
+                                RequestStates state,
+                                @RequestParam(value = "cursor", required = false)
+                                String cursor,
+                                @RequestParam(value = "size", defaultValue = "100")
+                                @Positive @Max(MAX_PAGE_SIZE) int size) {
+        return response.from(bookingClient.getBookingsByOwner(ownerId, state, cursor, size));
+    }
+
+    @GetMapping("/owner/export")
+    public R exportBookingsByOwner(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                   @RequestParam(value = "state", defaultValue = "ALL")
+                                   RequestStates state,
+                                   @RequestParam(value = "format", defaultValue = "NDJSON")
+                                   ExportFormat format) {
+        return response.from(bookingClient.exportBookingsByOwner(ownerId, state, format));
     }
 
+    @Controller
+    @ConditionalOnProperty(name = ShareItServerClientConfiguration.CLIENT_MODE, havingValue = "blocking",
+            matchIfMissing = true)
+    static class Blocking extends BookingController<ResponseEntity<Object>> {
+        Blocking(BookingClient bookingClient) {
+            super(bookingClient, GatewayResponse.blocking());
+        }
+    }
+
+    @Controller
+    @ConditionalOnProperty(name = ShareItServerClientConfiguration.CLIENT_MODE, havingValue = "async")
+    static class Async extends BookingController<CompletableFuture<ResponseEntity<Object>>> {
+        Async(BookingClient bookingClient) {
+            super(bookingClient, GatewayResponse.async());
+        }
+    }
 }
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Преобразование ответа клиента шлюза в значение, возвращаемое контроллером.
+ * Блокирующий режим возвращает {@link ResponseEntity}, и Spring MVC пишет ответ в том же потоке
+ * без асинхронной обработки запроса; неблокирующий режим возвращает {@link CompletableFuture}.
+ *
+ * @param <R> тип значения, возвращаемого контроллером.
+ */
+@FunctionalInterface
+public interface GatewayResponse<R> {
+
+    R from(CompletableFuture<ResponseEntity<Object>> response);
+
+    /**
+     * Ответ блокирующего транспорта. {@link RestTemplateTransport} возвращает уже завершенный результат,
+     * поэтому ожидания нет; исключения транспорта передаются обработчикам ошибок без обертки.
+     */
+    static GatewayResponse<ResponseEntity<Object>> blocking() {
+        return response -> {
+            try {
+                return response.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        };
+    }
+
+    static GatewayResponse<CompletableFuture<ResponseEntity<Object>>> async() {
+        return response -> response;
+    }
+}
@@ -0,0 +1,144 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.util.UriTemplateHandler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Неблокирующий транспорт на основе асинхронного API HttpClient JDK.
+ * Поток, вызвавший клиента, не ожидает ответа сервера: результат завершается потоком HttpClient
+ * после получения ответа, а Spring MVC дописывает его в ответ шлюза в асинхронном режиме.
+ * Тело ответа передается без разбора JSON; обычные ответы читаются в память целиком, ответы
+ * с флагом raw передаются потоком. Запросы записываются в {@link UpstreamMetrics}.
+ */
+public class HttpClientTransport implements ShareItServerTransport {
+
+    private final HttpClient httpClient;
+    private final UriTemplateHandler uriTemplateHandler;
+    private final ObjectMapper objectMapper;
+    private final Duration responseTimeout;
+    private final UpstreamMetrics metrics;
+
+    public HttpClientTransport(HttpClient httpClient, UriTemplateHandler uriTemplateHandler,
+                               ObjectMapper objectMapper, Duration responseTimeout, UpstreamMetrics metrics) {
+        this.httpClient = httpClient;
+        this.uriTemplateHandler = uriTemplateHandler;
+        this.objectMapper = objectMapper;
+        this.responseTimeout = responseTimeout;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> send(HttpMethod method, String path,
+                                                          @Nullable Map<String, Object> parameters,
+                                                          HttpEntity<?> requestEntity, boolean raw) {
+        URI uri = parameters != null
+                ? uriTemplateHandler.expand(path, parameters)
+                : uriTemplateHandler.expand(path);
+        String methodName = method.name();
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(responseTimeout)
+                .method(methodName, bodyPublisher(methodName, uri, requestEntity.getBody()));
+        requestEntity.getHeaders().forEach((name, values) -> values.forEach(value -> request.header(name, value)));
+
+        HttpRequest serverRequest = request.build();
+
+        long start = metrics.start();
+        AtomicBoolean answered = new AtomicBoolean();
+        CompletableFuture<ResponseEntity<Object>> response;
+        try {
+            response = raw
+                    ? httpClient.sendAsync(serverRequest,
+                            metered(HttpResponse.BodyHandlers.ofInputStream(), methodName, uri, start, answered))
+                    .thenApply(serverResponse -> toGatewayResponse(serverResponse, new InputStreamResource(
+                            metrics.countResponse(methodName, uri, serverResponse.body()))))
+                    : httpClient.sendAsync(serverRequest,
+                            metered(HttpResponse.BodyHandlers.ofByteArray(), methodName, uri, start, answered))
+                    .thenApply(serverResponse -> {
+                        metrics.responseSize(methodName, uri, serverResponse.body().length);
+                        return toGatewayResponse(serverResponse,
+                                serverResponse.body().length > 0 ? serverResponse.body() : null);
+                    });
+        } catch (RuntimeException e) {
+            // запрос не отправлен: без этого счетчик shareit.gateway.upstream.active не уменьшится
+            metrics.exchange(methodName, uri, -1, start);
+            throw e;
+        }
+        return response.exceptionally(e -> {
+            if (answered.compareAndSet(false, true)) {
+                metrics.exchange(methodName, uri, -1, start);
+            }
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof IOException) {
+                throw new ResourceAccessException("I/O error on " + method + " request for \"" + uri + "\": "
+                        + cause.getMessage(), (IOException) cause);
+            }
+            throw e instanceof CompletionException completion ? completion : new CompletionException(cause);
+        });
+    }
+
+    /**
+     * Обработчик ответа, записывающий время ответа сервера при получении статуса и заголовков.
+     */
+    private <T> HttpResponse.BodyHandler<T> metered(HttpResponse.BodyHandler<T> handler, String method, URI uri,
+                                                    long start, AtomicBoolean answered) {
+        return responseInfo -> {
+            if (answered.compareAndSet(false, true)) {
+                metrics.exchange(method, uri, responseInfo.statusCode(), start);
+            }
+            return handler.apply(responseInfo);
+        };
+    }
+
+    private HttpRequest.BodyPublisher bodyPublisher(String method, URI uri, @Nullable Object body) {
+        if (body == null) {
+            metrics.requestSize(method, uri, 0);
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        if (body instanceof InputStreamResource resource) {
+            return HttpRequest.BodyPublishers.ofInputStream(() -> {
+                try {
+                    return metrics.countRequest(method, uri, resource.getInputStream());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            metrics.requestSize(method, uri, json.length);
+            return HttpRequest.BodyPublishers.ofByteArray(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Не удалось сериализовать тело запроса", e);
+        }
+    }
+
+    private static ResponseEntity<Object> toGatewayResponse(HttpResponse<?> serverResponse, @Nullable Object body) {
+        HttpHeaders headers = new HttpHeaders();
+        serverResponse.headers().map().forEach((name, values) -> {
+            if (ProxyHeaders.isEndToEnd(name)) {
+                headers.addAll(name, values);
+            }
+        });
+        return ResponseEntity.status(serverResponse.statusCode()).headers(headers).body(body);
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.util.Timeout;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Пул соединений, измеряющий время ожидания соединения при его выдаче.
+ * Метрика shareit.gateway.connection.lease с тегом outcome: success - соединение получено,
+ * timeout - истекло время ожидания свободного соединения, error - прочие ошибки.
+ */
+public class LeaseTimingConnectionManager extends PoolingHttpClientConnectionManager {
+
+    private static final String METRIC = "shareit.gateway.connection.lease";
+
+    private final Timer success;
+    private final Timer timeout;
+    private final Timer error;
+
+    public LeaseTimingConnectionManager(MeterRegistry registry) {
+        success = timer(registry, "success");
+        timeout = timer(registry, "timeout");
+        error = timer(registry, "error");
+    }
+
+    @Override
+    public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+        LeaseRequest request = super.lease(id, route, requestTimeout, state);
+        return new LeaseRequest() {
+            @Override
+            public ConnectionEndpoint get(Timeout waitTimeout)
+                    throws InterruptedException, ExecutionException, TimeoutException {
+                long start = System.nanoTime();
+                Timer outcome = error;
+                try {
+                    ConnectionEndpoint endpoint = request.get(waitTimeout);
+                    outcome = success;
+                    return endpoint;
+                } catch (TimeoutException e) {
+                    outcome = timeout;
+                    throw e;
+                } finally {
+                    outcome.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return request.cancel();
+            }
+        };
+    }
+
+    private static Timer timer(MeterRegistry registry, String outcome) {
+        return Timer.builder(METRIC)
+                .description("Время ожидания соединения с сервером в пуле")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,174 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+
+/**
+ * Фабрика запросов блокирующего режима, записывающая {@link UpstreamMetrics} для каждого запроса к серверу.
+ * Вместо ClientHttpRequestInterceptor используется обертка фабрики: RestTemplate с перехватчиками
+ * буферизует тело запроса целиком, а обертка сохраняет потоковую передачу тела (импорт вещей)
+ * и видит ответы, которые транспорт передает клиенту без разбора.
+ */
+public class MeteredClientHttpRequestFactory implements ClientHttpRequestFactory {
+
+    private final ClientHttpRequestFactory delegate;
+    private final UpstreamMetrics metrics;
+
+    public MeteredClientHttpRequestFactory(ClientHttpRequestFactory delegate, UpstreamMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        return new MeteredRequest(delegate.createRequest(uri, httpMethod));
+    }
+
+    private final class MeteredRequest implements ClientHttpRequest, StreamingHttpOutputMessage {
+
+        private final ClientHttpRequest request;
+        private long requestBytes;
+
+        private MeteredRequest(ClientHttpRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return request.getMethod();
+        }
+
+        @Override
+        public URI getURI() {
+            return request.getURI();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return request.getHeaders();
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return counting(request.getBody());
+        }
+
+        @Override
+        public void setBody(Body body) {
+            if (request instanceof StreamingHttpOutputMessage streaming) {
+                streaming.setBody(new Body() {
+                    @Override
+                    public void writeTo(OutputStream outputStream) throws IOException {
+                        body.writeTo(counting(outputStream));
+                    }
+
+                    @Override
+                    public boolean repeatable() {
+                        return body.repeatable();
+                    }
+                });
+            } else {
+                try {
+                    body.writeTo(getBody());
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            String method = getMethod().name();
+            long start = metrics.start();
+            ClientHttpResponse response;
+            int status = -1;
+            try {
+                response = request.execute();
+                status = response.getStatusCode().value();
+            } finally {
+                metrics.exchange(method, getURI(), status, start);
+                metrics.requestSize(method, getURI(), requestBytes);
+            }
+            return new MeteredResponse(response, method, getURI());
+        }
+
+        private OutputStream counting(OutputStream out) {
+            return new FilterOutputStream(out) {
+                @Override
+                public void write(int b) throws IOException {
+                    out.write(b);
+                    requestBytes++;
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                    requestBytes += len;
+                }
+            };
+        }
+    }
+
+    private final class MeteredResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse response;
+        private final String method;
+        private final URI uri;
+        private InputStream body;
+
+        private MeteredResponse(ClientHttpResponse response, String method, URI uri) {
+            this.response = response;
+            this.method = method;
+            this.uri = uri;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = metrics.countResponse(method, uri, response.getBody());
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (body == null) {
+                    metrics.responseSize(method, uri, 0);
+                } else {
+                    body.close();
+                }
+            } catch (IOException e) {
+                // ответ закрывается ниже в любом случае
+            } finally {
+                response.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.client;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Правила передачи заголовков ответа сервера клиенту шлюза.
+ */
+final class ProxyHeaders {
+
+    /**
+     * Заголовки, относящиеся к соединению с сервером, а не к передаваемому ответу.
+     */
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade");
+
+    private ProxyHeaders() {
+    }
+
+    static boolean isEndToEnd(String name) {
+        return !HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,143 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Блокирующий транспорт на основе RestTemplate: запрос выполняется в потоке, вызвавшем клиента,
+ * и возвращается уже завершенным.
+ */
+public class RestTemplateTransport implements ShareItServerTransport {
+
+    private final RestTemplate rest;
+    /**
+     * Режим передачи ответов сервера: true - без разбора JSON, false - с разбором в объекты.
+     */
+    private final boolean passThrough;
+
+    public RestTemplateTransport(RestTemplate rest, boolean passThrough) {
+        this.rest = rest;
+        this.passThrough = passThrough;
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> send(HttpMethod method, String path,
+                                                          @Nullable Map<String, Object> parameters,
+                                                          HttpEntity<?> requestEntity, boolean raw) {
+        if (passThrough || raw) {
+            return CompletableFuture.completedFuture(passThrough(method, path, parameters, requestEntity));
+        }
+        return CompletableFuture.completedFuture(exchange(method, path, parameters, requestEntity));
+    }
+
+    private ResponseEntity<Object> exchange(HttpMethod method, String path, @Nullable Map<String, Object> parameters,
+                                            HttpEntity<?> requestEntity) {
+        ResponseEntity<Object> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+            } else {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+            }
+        } catch (HttpStatusCodeException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+        }
+        return prepareGatewayResponse(shareitServerResponse);
+    }
+
+    /**
+     * Отправка запроса на сервер с передачей ответа без разбора JSON: статус и заголовки копируются,
+     * а тело отдается как поток, который Spring MVC переписывает в ответ шлюза по мере чтения
+     * из соединения с сервером. Закрытие потока после записи закрывает и ответ сервера, возвращая
+     * соединение в пул; при ошибке до передачи тела ответ сервера закрывается сразу.
+     * Ответы с ошибкой передаются так же, как успешные.
+     */
+    private ResponseEntity<Object> passThrough(HttpMethod method, String path,
+                                               @Nullable Map<String, Object> parameters, HttpEntity<?> requestEntity) {
+        URI uri = parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+        ClientHttpResponse serverResponse = null;
+        try {
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, method);
+            rest.httpEntityCallback(requestEntity).doWithRequest(request);
+            serverResponse = request.execute();
+            HttpHeaders headers = new HttpHeaders();
+            serverResponse.getHeaders().forEach((name, values) -> {
+                if (ProxyHeaders.isEndToEnd(name)) {
+                    headers.addAll(name, values);
+                }
+            });
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(serverResponse.getStatusCode()).headers(headers);
+            if (serverResponse.getHeaders().getContentLength() == 0) {
+                serverResponse.close();
+                return response.build();
+            }
+            return response.body(new InputStreamResource(new ResponseBodyStream(serverResponse)));
+        } catch (IOException e) {
+            close(serverResponse);
+            throw new ResourceAccessException("I/O error on " + method + " request for \"" + uri + "\": "
+                    + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            close(serverResponse);
+            throw e;
+        }
+    }
+
+    private static void close(@Nullable ClientHttpResponse serverResponse) {
+        if (serverResponse != null) {
+            serverResponse.close();
+        }
+    }
+
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
+        if (response.getStatusCode().is2xxSuccessful()) {
+            return response;
+        }
+
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+
+        if (response.hasBody()) {
+            return responseBuilder.body(response.getBody());
+        }
+
+        return responseBuilder.build();
+    }
+
+    /**
+     * Тело ответа сервера, при закрытии закрывающее и сам ответ.
+     */
+    private static final class ResponseBodyStream extends FilterInputStream {
+
+        private final ClientHttpResponse serverResponse;
+
+        private ResponseBodyStream(ClientHttpResponse serverResponse) throws IOException {
+            super(serverResponse.getBody());
+            this.serverResponse = serverResponse;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                serverResponse.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Транспорт клиентов шлюза к серверу ShareIt.
+ * Свойство shareit-server.client выбирает режим: blocking (по умолчанию) - RestTemplate поверх общего
+ * пула соединений Apache HttpClient, контроллеры возвращают ответ синхронно; async - асинхронный HttpClient JDK,
+ * контроллеры возвращают CompletableFuture и освобождают поток Tomcat до получения ответа сервера.
+ * Асинхронный транспорт всегда передает ответы сервера без разбора JSON, shareit-server.pass-through
+ * в этом режиме не действует.
+ * В обоих режимах запросы к серверу записываются в метрики shareit.gateway.upstream.* ({@link UpstreamMetrics}).
+ */
+@Configuration
+@EnableConfigurationProperties(ShareItServerHttpProperties.class)
+public class ShareItServerClientConfiguration {
+
+    public static final String CLIENT_MODE = "shareit-server.client";
+
+    @Bean
+    public UpstreamMetrics shareItServerUpstreamMetrics(MeterRegistry meterRegistry) {
+        return new UpstreamMetrics(meterRegistry);
+    }
+
+    /**
+     * Блокирующий режим. Один пул соединений с настраиваемыми лимитами, тайм-аутами и фоновой очисткой
+     * простаивающих соединений вместо отдельного пула с настройками по умолчанию у каждого клиента.
+     * Состояние пула публикуется метриками httpcomponents.httpclient.pool.*,
+     * время ожидания соединения - метрикой shareit.gateway.connection.lease.
+     */
+    @Configuration
+    @ConditionalOnProperty(name = CLIENT_MODE, havingValue = "blocking", matchIfMissing = true)
+    static class Blocking {
+
+        private static final String POOL_NAME = "shareit-server";
+
+        @Bean(destroyMethod = "close")
+        public PoolingHttpClientConnectionManager shareItServerConnectionManager(
+                ShareItServerHttpProperties properties, MeterRegistry meterRegistry) {
+            PoolingHttpClientConnectionManager connectionManager = new LeaseTimingConnectionManager(meterRegistry);
+            connectionManager.setMaxTotal(properties.getMaxTotal());
+            connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+            connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                    .setConnectTimeout(timeout(properties.getConnectTimeout()))
+                    .setSocketTimeout(timeout(properties.getResponseTimeout()))
+                    .setTimeToLive(timeValue(properties.getTimeToLive()))
+                    .setValidateAfterInactivity(timeValue(properties.getValidateAfterInactivity()))
+                    .build());
+            return connectionManager;
+        }
+
+        @Bean
+        public MeterBinder shareItServerConnectionPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+            return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME);
+        }
+
+        @Bean(destroyMethod = "close")
+        public CloseableHttpClient shareItServerHttpClient(PoolingHttpClientConnectionManager connectionManager,
+                                                           ShareItServerHttpProperties properties) {
+            return HttpClients.custom()
+                    .setConnectionManager(connectionManager)
+                    .setDefaultRequestConfig(RequestConfig.custom()
+                            .setConnectionRequestTimeout(timeout(properties.getConnectionRequestTimeout()))
+                            .setResponseTimeout(timeout(properties.getResponseTimeout()))
+                            .build())
+                    .evictExpiredConnections()
+                    .evictIdleConnections(timeValue(properties.getIdleTimeout()))
+                    .build();
+        }
+
+        /**
+         * Фабрика запросов, общая для всех клиентов шлюза.
+         */
+        @Bean
+        public ClientHttpRequestFactory shareItServerRequestFactory(CloseableHttpClient httpClient,
+                                                                    UpstreamMetrics upstreamMetrics) {
+            return new MeteredClientHttpRequestFactory(new HttpComponentsClientHttpRequestFactory(httpClient),
+                    upstreamMetrics);
+        }
+
+        @Bean
+        public ShareItServerTransportFactory shareItServerTransportFactory(
+                @Value("${shareit-server.url}") String serverUrl,
+                @Value("${shareit-server.pass-through:true}") boolean passThrough,
+                RestTemplateBuilder builder,
+                ClientHttpRequestFactory shareItServerRequestFactory) {
+            return apiPrefix -> new RestTemplateTransport(
+                    builder
+                            .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                            .requestFactory(() -> shareItServerRequestFactory)
+                            .build(),
+                    passThrough);
+        }
+    }
+
+    /**
+     * Неблокирующий режим. Один HttpClient JDK на все клиенты; соединения с сервером
+     * переиспользуются его внутренним пулом.
+     */
+    @Configuration
+    @ConditionalOnProperty(name = CLIENT_MODE, havingValue = "async")
+    @Slf4j
+    static class Async {
+
+        /**
+         * При включенных виртуальных потоках ответы сервера обрабатываются в виртуальных потоках
+         * вместо общего пула платформенных потоков HttpClient.
+         */
+        @Bean
+        public HttpClient shareItServerAsyncHttpClient(ShareItServerHttpProperties properties,
+                                                       @Value("${spring.threads.virtual.enabled:false}")
+                                                       boolean virtualThreads) {
+            HttpClient.Builder builder = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(properties.getConnectTimeout());
+            if (virtualThreads) {
+                builder.executor(Executors.newVirtualThreadPerTaskExecutor());
+            }
+            return builder.build();
+        }
+
+        @Bean
+        public ShareItServerTransportFactory shareItServerTransportFactory(
+                @Value("${shareit-server.url}") String serverUrl,
+                HttpClient shareItServerAsyncHttpClient,
+                ObjectMapper objectMapper,
+                ShareItServerHttpProperties properties,
+                UpstreamMetrics upstreamMetrics,
+                @Value("${shareit-server.pass-through:true}") boolean passThrough) {
+            if (!passThrough) {
+                log.warn("shareit-server.pass-through=false is ignored: the async client always passes "
+                        + "server responses through without parsing");
+            }
+            return apiPrefix -> new HttpClientTransport(shareItServerAsyncHttpClient,
+                    new DefaultUriBuilderFactory(serverUrl + apiPrefix), objectMapper,
+                    properties.getResponseTimeout(), upstreamMetrics);
+        }
+    }
+
+    private static Timeout timeout(Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+
+    private static TimeValue timeValue(Duration duration) {
+        return TimeValue.ofMilliseconds(duration.toMillis());
+    }
+}
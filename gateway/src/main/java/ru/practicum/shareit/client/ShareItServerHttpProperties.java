@@ -0,0 +1,49 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки пула HTTP-соединений шлюза с сервером, общего для всех клиентов.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http")
+public class ShareItServerHttpProperties {
+    /**
+     * Максимальное число соединений в пуле.
+     */
+    private int maxTotal = 200;
+    /**
+     * Максимальное число соединений с одним адресом. Шлюз обращается к одному серверу,
+     * поэтому по умолчанию совпадает с maxTotal.
+     */
+    private int maxPerRoute = 200;
+    /**
+     * Время ожидания установки соединения.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    /**
+     * Время ожидания данных ответа между пакетами.
+     */
+    private Duration responseTimeout = Duration.ofSeconds(30);
+    /**
+     * Время ожидания свободного соединения в пуле.
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(5);
+    /**
+     * Время простоя, после которого соединение закрывается фоновой очисткой пула.
+     */
+    private Duration idleTimeout = Duration.ofSeconds(30);
+    /**
+     * Максимальное время жизни соединения независимо от его использования.
+     */
+    private Duration timeToLive = Duration.ofMinutes(5);
+    /**
+     * Время простоя, после которого соединение проверяется перед повторным использованием.
+     */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+}
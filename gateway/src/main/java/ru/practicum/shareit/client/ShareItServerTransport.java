@@ -0,0 +1,32 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Способ доставки запросов клиентов шлюза на сервер ShareIt.
+ * Реализация выбирается свойством shareit-server.client: blocking - RestTemplate, поток Tomcat
+ * ожидает ответа сервера; async - асинхронный HttpClient JDK, поток освобождается до получения ответа.
+ */
+public interface ShareItServerTransport {
+
+    /**
+     * Отправка запроса на сервер.
+     *
+     * @param method        HTTP-метод.
+     * @param path          путь относительно префикса API клиента, может содержать шаблонные параметры.
+     * @param parameters    значения шаблонных параметров пути или null.
+     * @param requestEntity заголовки и тело запроса.
+     * @param raw           true - тело ответа передается клиенту шлюза потоком без чтения в память,
+     *                      независимо от режима транспорта.
+     * @return ответ сервера, преобразованный в ответ шлюза.
+     */
+    CompletableFuture<ResponseEntity<Object>> send(HttpMethod method, String path,
+                                                   @Nullable Map<String, Object> parameters,
+                                                   HttpEntity<?> requestEntity, boolean raw);
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.client;
+
+/**
+ * Фабрика транспорта для клиентов шлюза, настроенного на выбранный режим и адрес сервера.
+ */
+@FunctionalInterface
+public interface ShareItServerTransportFactory {
+
+    /**
+     * @param apiPrefix префикс API клиента, например /bookings.
+     * @return транспорт, разрешающий пути относительно shareit-server.url + apiPrefix.
+     */
+    ShareItServerTransport create(String apiPrefix);
+}
@@ -0,0 +1,175 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+import java.util.regex.Pattern;
+
+/**
+ * Метрики запросов шлюза к серверу ShareIt, общие для обоих режимов клиента:
+ * <ul>
+ *     <li>shareit.gateway.upstream - время от отправки запроса до получения статуса и заголовков ответа
+ *     сервера, теги method, route, status, outcome;</li>
+ *     <li>shareit.gateway.upstream.request.size, shareit.gateway.upstream.response.size - размер тела
+ *     запроса и ответа в байтах, теги method и route;</li>
+ *     <li>shareit.gateway.upstream.active - число запросов, ожидающих ответа сервера.</li>
+ * </ul>
+ * Маршрут - путь запроса, в котором числовые сегменты заменены на {id}, например /bookings/{id}.
+ * Разница между http.server.requests шлюза и shareit.gateway.upstream - собственное время шлюза.
+ */
+public class UpstreamMetrics {
+
+    private static final String METRIC = "shareit.gateway.upstream";
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+    private static final String NO_STATUS = "IO_ERROR";
+
+    private final MeterRegistry registry;
+    private final AtomicInteger active = new AtomicInteger();
+
+    public UpstreamMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder(METRIC + ".active", active, AtomicInteger::get)
+                .description("Запросы к серверу, ожидающие ответа")
+                .register(registry);
+    }
+
+    /**
+     * Начало запроса к серверу.
+     *
+     * @return отметка времени для {@link #exchange}.
+     */
+    public long start() {
+        active.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Окончание запроса: получен ответ с кодом status или запрос завершился ошибкой (status меньше нуля).
+     */
+    public void exchange(String method, URI uri, int status, long start) {
+        long duration = System.nanoTime() - start;
+        active.decrementAndGet();
+        Timer.builder(METRIC)
+                .description("Время ответа сервера на запросы шлюза")
+                .tags(tags(method, uri))
+                .tag("status", status < 0 ? NO_STATUS : String.valueOf(status))
+                .tag("outcome", outcome(status))
+                .register(registry)
+                .record(duration, TimeUnit.NANOSECONDS);
+    }
+
+    public void requestSize(String method, URI uri, long bytes) {
+        size("request", method, uri, bytes);
+    }
+
+    public void responseSize(String method, URI uri, long bytes) {
+        size("response", method, uri, bytes);
+    }
+
+    /**
+     * Поток тела запроса, размер которого записывается после его прочтения до конца или закрытия.
+     */
+    public InputStream countRequest(String method, URI uri, InputStream body) {
+        return new CountingInputStream(body, bytes -> requestSize(method, uri, bytes));
+    }
+
+    /**
+     * Поток тела ответа, размер которого записывается после его прочтения до конца или закрытия.
+     */
+    public InputStream countResponse(String method, URI uri, InputStream body) {
+        return new CountingInputStream(body, bytes -> responseSize(method, uri, bytes));
+    }
+
+    private void size(String direction, String method, URI uri, long bytes) {
+        DistributionSummary.builder(METRIC + "." + direction + ".size")
+                .description("Размер тела " + (direction.equals("request") ? "запроса" : "ответа"))
+                .baseUnit("bytes")
+                .tags(tags(method, uri))
+                .register(registry)
+                .record(bytes);
+    }
+
+    private static Tags tags(String method, URI uri) {
+        return Tags.of("method", method, "route", NUMERIC_SEGMENT.matcher(uri.getPath()).replaceAll("/{id}"));
+    }
+
+    private static String outcome(int status) {
+        if (status < 0) {
+            return "UNKNOWN";
+        }
+        if (status < 400) {
+            return "SUCCESS";
+        }
+        return status < 500 ? "CLIENT_ERROR" : "SERVER_ERROR";
+    }
+
+    /**
+     * Считает прочитанные байты и один раз передает их число при достижении конца потока или закрытии.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final LongConsumer onComplete;
+        private long count;
+        private boolean completed;
+
+        CountingInputStream(InputStream in, LongConsumer onComplete) {
+            super(in);
+            this.onComplete = onComplete;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b < 0) {
+                complete();
+            } else {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n < 0) {
+                complete();
+            } else {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                complete();
+            }
+        }
+
+        private void complete() {
+            if (!completed) {
+                completed = true;
+                onComplete.accept(count);
+            }
+        }
+    }
+}
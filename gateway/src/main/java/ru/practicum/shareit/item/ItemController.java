@@ -1,9 +1,16 @@
 package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -17,66 +24,105 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import ru.practicum.shareit.client.GatewayResponse;
+import ru.practicum.shareit.client.ShareItServerClientConfiguration;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemPatchRequestDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 
-@Controller
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Эндпоинты вещей и комментариев. Тип ответа R зависит от режима клиентов сервера, см. {@link GatewayResponse}.
+ */
 @RequestMapping("/items")
-@RequiredArgsConstructor
+@RequiredArgsConstructor(access = AccessLevel.PROTECTED)
 @Slf4j
 @Validated
-public class ItemController {
+public abstract class ItemController<R> {
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final ItemClient itemClient;
+    private final GatewayResponse<R> response;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> createItem(@RequestHeader("X-Sharer-User-Id") long ownerId,
-                                             @RequestBody @Valid ItemRequestDto itemRequestDto) {
+    public R createItem(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                        @RequestBody @Valid ItemRequestDto itemRequestDto) {
         log.info("Creating new item {} by owner with id {}", itemRequestDto, ownerId);
-        return itemClient.createItem(ownerId, itemRequestDto);
+        return response.from(itemClient.createItem(ownerId, itemRequestDto));
+    }
+
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public R importItems(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                         @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                         InputStream items) {
+        log.info("Importing items by owner with id {}", ownerId);
+        return response.from(itemClient.importItems(ownerId, items, contentType));
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> patchItem(@RequestHeader("X-Sharer-User-Id") long ownerId,
-                                            @PathVariable long itemId,
-                                            @RequestBody @Valid ItemPatchRequestDto itemPatchRequestDto) {
+    public R patchItem(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                       @PathVariable long itemId,
+                       @RequestBody @Valid ItemPatchRequestDto itemPatchRequestDto) {
         log.info("Patching item id {} by owner with id {} on data {}", itemId, ownerId, itemPatchRequestDto);
-        return itemClient.patchItem(ownerId, itemId, itemPatchRequestDto);
+        return response.from(itemClient.patchItem(ownerId, itemId, itemPatchRequestDto));
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItem(@RequestHeader("X-Sharer-User-Id") long userId,
-                                          @PathVariable long itemId) {
+    public R getItem(@RequestHeader("X-Sharer-User-Id") long userId,
+                     @PathVariable long itemId) {
         log.info("Getting item with id {} by user with id {}", itemId, userId);
-        return itemClient.getItem(userId, itemId);
+        return response.from(itemClient.getItem(userId, itemId));
     }
 
     @GetMapping
-    public ResponseEntity<Object> getItems(@RequestHeader("X-Sharer-User-Id") long ownerId) {
+    public R getItems(@RequestHeader("X-Sharer-User-Id") long ownerId) {
         log.info("Getting items by owner with id {}", ownerId);
-        return itemClient.getItems(ownerId);
+        return response.from(itemClient.getItems(ownerId));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> getItemsWithText(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                   @RequestParam("text") String text) {
+    public R getItemsWithText(@RequestHeader("X-Sharer-User-Id") long userId,
+                              @RequestParam("text") String text,
+                              @RequestParam(value = "from", defaultValue = "0")
+                              @PositiveOrZero int from,
+                              @RequestParam(value = "size", defaultValue = "100")
+                              @Positive @Max(MAX_PAGE_SIZE) int size) {
         log.info("Getting items by text {} from user with id {}", text, userId);
-        return itemClient.getItemsWithText(userId, text);
+        return response.from(itemClient.getItemsWithText(userId, text, from, size));
     }
 
     @DeleteMapping("/{itemId}")
-    public ResponseEntity<Object> deleteItem(@RequestHeader("X-Sharer-User-Id") long ownerId,
-                                             @PathVariable long itemId) {
+    public R deleteItem(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                        @PathVariable long itemId) {
         log.info("Deleting item with id {} from user with id {}", itemId, ownerId);
-        return itemClient.deleteItem(ownerId, itemId);
+        return response.from(itemClient.deleteItem(ownerId, itemId));
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@RequestHeader("X-Sharer-User-Id") long bookerId,
-                                             @PathVariable long itemId,
-                                             @RequestBody @Valid CommentRequestDto commentRequestDto) {
+    public R addComment(@RequestHeader("X-Sharer-User-Id") long bookerId,
+                        @PathVariable long itemId,
+                        @RequestBody @Valid CommentRequestDto commentRequestDto) {
         log.info("Posting comment with id {} to item with id {}, text {}", bookerId, itemId, commentRequestDto.getText());
-        return itemClient.addComment(bookerId, itemId, commentRequestDto);
+        return response.from(itemClient.addComment(bookerId, itemId, commentRequestDto));
+    }
+
+    @Controller
+    @ConditionalOnProperty(name = ShareItServerClientConfiguration.CLIENT_MODE, havingValue = "blocking",
+            matchIfMissing = true)
+    static class Blocking extends ItemController<ResponseEntity<Object>> {
+        Blocking(ItemClient itemClient) {
+            super(itemClient, GatewayResponse.blocking());
+        }
+    }
+
+    @Controller
+    @ConditionalOnProperty(name = ShareItServerClientConfiguration.CLIENT_MODE, havingValue = "async")
+    static class Async extends ItemController<CompletableFuture<ResponseEntity<Object>>> {
+        Async(ItemClient itemClient) {
+            super(itemClient, GatewayResponse.async());
+        }
     }
 }
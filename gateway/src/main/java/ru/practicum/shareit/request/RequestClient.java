@@ -1,42 +1,36 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ShareItServerTransportFactory;
 import ru.practicum.shareit.request.dto.RequestDto;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
 public class RequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public RequestClient(ShareItServerTransportFactory transports) {
+        super(transports.create(API_PREFIX));
     }
 
-    public ResponseEntity<Object> addRequest(long requestorId, RequestDto requestDto) {
+    public CompletableFuture<ResponseEntity<Object>> addRequest(long requestorId, RequestDto requestDto) {
         return post("", requestorId, requestDto);
     }
 
-    public ResponseEntity<Object> getOwnRequests(long requestorId) {
+    public CompletableFuture<ResponseEntity<Object>> getOwnRequests(long requestorId) {
         return get("", requestorId);
     }
 
-    public ResponseEntity<Object> getAllRequests(long requestorId) {
+    public CompletableFuture<ResponseEntity<Object>> getAllRequests(long requestorId) {
         return get("/all", requestorId);
     }
 
-    public ResponseEntity<Object> getRequest(long requestorId, long requestId) {
+    public CompletableFuture<ResponseEntity<Object>> getRequest(long requestorId, long requestId) {
         return get("/" + requestId, requestorId);
     }
 }
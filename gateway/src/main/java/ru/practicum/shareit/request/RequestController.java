@@ -1,7 +1,9 @@
 package ru.practicum.shareit.request;
 
+import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -11,35 +13,59 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import ru.practicum.shareit.client.GatewayResponse;
+import ru.practicum.shareit.client.ShareItServerClientConfiguration;
 import ru.practicum.shareit.request.dto.RequestDto;
 
-@Controller
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Эндпоинты запросов вещей. Тип ответа R зависит от режима клиентов сервера, см. {@link GatewayResponse}.
+ */
 @RequestMapping("/requests")
-@RequiredArgsConstructor
+@RequiredArgsConstructor(access = AccessLevel.PROTECTED)
 @Slf4j
 @Validated
-public class RequestController {
+public abstract class RequestController<R> {
     private final RequestClient requestClient;
+    private final GatewayResponse<R> response;
 
     @PostMapping
-    public ResponseEntity<Object> addRequest(@RequestHeader("X-Sharer-User-Id") long requestorId,
-                                             @RequestBody RequestDto requestDto) {
-        return requestClient.addRequest(requestorId, requestDto);
+    public R addRequest(@RequestHeader("X-Sharer-User-Id") long requestorId,
+                        @RequestBody RequestDto requestDto) {
+        return response.from(requestClient.addRequest(requestorId, requestDto));
     }
 
     @GetMapping
-    public ResponseEntity<Object> getOwnRequests(@RequestHeader("X-Sharer-User-Id") long requestorId) {
-        return requestClient.getOwnRequests(requestorId);
+    public R getOwnRequests(@RequestHeader("X-Sharer-User-Id") long requestorId) {
+        return response.from(requestClient.getOwnRequests(requestorId));
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllRequests(@RequestHeader("X-Sharer-User-Id") long requestorId) {
-        return requestClient.getAllRequests(requestorId);
+    public R getAllRequests(@RequestHeader("X-Sharer-User-Id") long requestorId) {
+        return response.from(requestClient.getAllRequests(requestorId));
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getRequest(@RequestHeader("X-Sharer-User-Id") long requestorId,
-                                             @PathVariable("requestId") long requestId) {
-        return requestClient.getRequest(requestorId, requestId);
+    public R getRequest(@RequestHeader("X-Sharer-User-Id") long requestorId,
+                        @PathVariable("requestId") long requestId) {
+        return response.from(requestClient.getRequest(requestorId, requestId));
+    }
+
+    @Controller
+    @ConditionalOnProperty(name = ShareItServerClientConfiguration.CLIENT_MODE, havingValue = "blocking",
+            matchIfMissing = true)
+    static class Blocking extends RequestController<ResponseEntity<Object>> {
+        Blocking(RequestClient requestClient) {
+            super(requestClient, GatewayResponse.blocking());
+        }
+    }
+
+    @Controller
+    @ConditionalOnProperty(name = ShareItServerClientConfiguration.CLIENT_MODE, havingValue = "async")
+    static class Async extends RequestController<CompletableFuture<ResponseEntity<Object>>> {
+        Async(RequestClient requestClient) {
+            super(requestClient, GatewayResponse.async());
+        }
     }
 }
@@ -2,42 +2,36 @@ package ru.practicum.shareit.user;
 
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ShareItServerTransportFactory;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public UserClient(ShareItServerTransportFactory transports) {
+        super(transports.create(API_PREFIX));
     }
 
-    public ResponseEntity<Object> createUser(UserRequestDto userRequestDto) {
+    public CompletableFuture<ResponseEntity<Object>> createUser(UserRequestDto userRequestDto) {
         return post("", userRequestDto);
     }
 
-    public ResponseEntity<Object> getUser(long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getUser(long userId) {
         return get("/" + userId);
     }
 
-    public ResponseEntity<Object> deleteUser(long userId) {
+    public CompletableFuture<ResponseEntity<Object>> deleteUser(long userId) {
         return delete("/" + userId);
     }
 
-    public ResponseEntity<Object> updateUser(long userId, @Valid UserRequestDto userRequestDto) {
+    public CompletableFuture<ResponseEntity<Object>> updateUser(long userId, @Valid UserRequestDto userRequestDto) {
         return patch("/" + userId, userRequestDto);
     }
 }
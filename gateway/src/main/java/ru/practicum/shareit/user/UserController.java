@@ -1,8 +1,10 @@
 package ru.practicum.shareit.user;
 
 import jakarta.validation.Valid;
+import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -15,38 +17,62 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import ru.practicum.shareit.client.GatewayResponse;
+import ru.practicum.shareit.client.ShareItServerClientConfiguration;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 
-@Controller
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Эндпоинты пользователей. Тип ответа R зависит от режима клиентов сервера, см. {@link GatewayResponse}.
+ */
 @RequestMapping(path = "/users")
-@RequiredArgsConstructor
+@RequiredArgsConstructor(access = AccessLevel.PROTECTED)
 @Slf4j
 @Validated
-public class UserController {
+public abstract class UserController<R> {
     private final UserClient userClient;
+    private final GatewayResponse<R> response;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> createUser(@RequestBody @Valid UserRequestDto userRequestDto) {
+    public R createUser(@RequestBody @Valid UserRequestDto userRequestDto) {
         log.info("Creating user: {}", userRequestDto);
-        return userClient.createUser(userRequestDto);
+        return response.from(userClient.createUser(userRequestDto));
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUser(@PathVariable long userId) {
+    public R getUser(@PathVariable long userId) {
         log.info("Getting user: {}", userId);
-        return userClient.getUser(userId);
+        return response.from(userClient.getUser(userId));
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> deleteUser(@PathVariable long userId) {
+    public R deleteUser(@PathVariable long userId) {
         log.info("Deleting user: {}", userId);
-        return userClient.deleteUser(userId);
+        return response.from(userClient.deleteUser(userId));
     }
 
     @PatchMapping("{userId}")
-    public ResponseEntity<Object> updateUser(@PathVariable long userId, @RequestBody @Valid UserRequestDto userRequestDto) {
+    public R updateUser(@PathVariable long userId, @RequestBody @Valid UserRequestDto userRequestDto) {
         log.info("Updating user: {}", userId);
-        return userClient.updateUser(userId, userRequestDto);
+        return response.from(userClient.updateUser(userId, userRequestDto));
+    }
+
+    @Controller
+    @ConditionalOnProperty(name = ShareItServerClientConfiguration.CLIENT_MODE, havingValue = "blocking",
+            matchIfMissing = true)
+    static class Blocking extends UserController<ResponseEntity<Object>> {
+        Blocking(UserClient userClient) {
+            super(userClient, GatewayResponse.blocking());
+        }
+    }
+
+    @Controller
+    @ConditionalOnProperty(name = ShareItServerClientConfiguration.CLIENT_MODE, havingValue = "async")
+    static class Async extends UserController<CompletableFuture<ResponseEntity<Object>>> {
+        Async(UserClient userClient) {
+            super(userClient, GatewayResponse.async());
+        }
     }
 }
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GatewayResponseTest {
+
+    @Test
+    @DisplayName("Блокирующий режим возвращает ответ транспорта")
+    void blockingReturnsResponse() {
+        ResponseEntity<Object> response = ResponseEntity.ok("body");
+
+        assertSame(response, GatewayResponse.blocking().from(CompletableFuture.completedFuture(response)));
+    }
+
+    @Test
+    @DisplayName("Блокирующий режим передает исключение транспорта без обертки")
+    void blockingUnwrapsTransportException() {
+        ResourceAccessException failure = new ResourceAccessException("Connection refused");
+
+        ResourceAccessException thrown = assertThrows(ResourceAccessException.class,
+                () -> GatewayResponse.blocking().from(CompletableFuture.failedFuture(failure)));
+
+        assertSame(failure, thrown);
+    }
+
+    @Test
+    @DisplayName("Неблокирующий режим возвращает результат транспорта как есть")
+    void asyncReturnsFuture() {
+        CompletableFuture<ResponseEntity<Object>> response = new CompletableFuture<>();
+
+        assertSame(response, GatewayResponse.async().from(response));
+        assertEquals(false, response.isDone());
+    }
+}
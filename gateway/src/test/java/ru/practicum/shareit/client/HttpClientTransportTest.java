@@ -0,0 +1,182 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Тестирование HttpClientTransport")
+class HttpClientTransportTest {
+
+    private static final Map<String, String> JSON = Map.of("Content-Type", "application/json");
+
+    private StubShareItServer server;
+    private HttpClient httpClient;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new StubShareItServer();
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        httpClient.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("успешный ответ передается без разбора, заголовки запроса передаются серверу")
+    void passesSuccessfulResponse() throws Exception {
+        byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        server.respond(201, JSON, body, false);
+
+        ResponseEntity<Object> response = transport(server.url())
+                .send(HttpMethod.POST, "/{itemId}", Map.of("itemId", 1), entity(Map.of("text", "ok")), false).get();
+
+        assertEquals(201, response.getStatusCode().value());
+        assertEquals("application/json", response.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE));
+        assertArrayEquals(body, (byte[]) response.getBody());
+        assertEquals("7", server.lastRequestHeaders().getFirst("X-Sharer-User-Id"));
+        assertEquals(1, meterRegistry.get("shareit.gateway.upstream").tags("status", "201").timer().count());
+    }
+
+    @Test
+    @DisplayName("ответ с ошибкой передается со статусом и заголовками")
+    void passesErrorResponses() throws Exception {
+        for (int status : new int[]{404, 500}) {
+            byte[] body = ("{\"error\":\"" + status + "\"}").getBytes(StandardCharsets.UTF_8);
+            server.respond(status, Map.of("Content-Type", "application/json", "X-Error-Id", "e-" + status), body,
+                    false);
+
+            ResponseEntity<Object> response = transport(server.url())
+                    .send(HttpMethod.GET, "/1", null, entity(null), false).get();
+
+            assertEquals(status, response.getStatusCode().value());
+            assertEquals("e-" + status, response.getHeaders().getFirst("X-Error-Id"));
+            assertArrayEquals(body, (byte[]) response.getBody());
+        }
+    }
+
+    @Test
+    @DisplayName("ответ без тела передается без тела")
+    void emptyBody() throws Exception {
+        server.respond(200, Map.of(), new byte[0], false);
+
+        ResponseEntity<Object> response = transport(server.url())
+                .send(HttpMethod.DELETE, "/1", null, entity(null), false).get();
+
+        assertEquals(200, response.getStatusCode().value());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    @DisplayName("ошибка соединения с сервером - ResourceAccessException")
+    void connectionFailure() throws IOException {
+        CompletableFuture<ResponseEntity<Object>> response = transport(StubShareItServer.unreachableUrl())
+                .send(HttpMethod.GET, "/1", null, entity(null), false);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, response::get);
+        assertInstanceOf(ResourceAccessException.class, exception.getCause());
+        assertEquals(1, meterRegistry.get("shareit.gateway.upstream").tags("status", "IO_ERROR").timer().count());
+    }
+
+    @Test
+    @DisplayName("поток тела ответа учитывается при закрытии")
+    void streamedBodyIsCountedOnClose() throws Exception {
+        byte[] body = new byte[64 * 1024];
+        Arrays.fill(body, (byte) 'x');
+        server.respond(200, JSON, body, true);
+
+        ResponseEntity<Object> response = transport(server.url())
+                .send(HttpMethod.GET, "/export", null, entity(null), true).get();
+
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING));
+        DistributionSummary size = meterRegistry.find("shareit.gateway.upstream.response.size").summary();
+        assertNull(size);
+        InputStreamResource resource = assertInstanceOf(InputStreamResource.class, response.getBody());
+        try (InputStream stream = resource.getInputStream()) {
+            assertArrayEquals(body, stream.readAllBytes());
+        }
+        size = meterRegistry.get("shareit.gateway.upstream.response.size").summary();
+        assertEquals(1, size.count());
+        assertEquals(body.length, size.totalAmount());
+    }
+
+    @Test
+    @DisplayName("поток тела ответа можно закрыть, не дочитав")
+    void streamedBodyClosedEarly() throws Exception {
+        byte[] body = new byte[256 * 1024];
+        server.respond(200, JSON, body, true);
+
+        ResponseEntity<Object> response = transport(server.url())
+                .send(HttpMethod.GET, "/export", null, entity(null), true).get();
+        InputStreamResource resource = assertInstanceOf(InputStreamResource.class, response.getBody());
+        try (InputStream stream = resource.getInputStream()) {
+            assertEquals(1024, stream.readNBytes(1024).length);
+        }
+
+        assertEquals(1, meterRegistry.get("shareit.gateway.upstream.response.size").summary().count());
+        server.respond(200, JSON, "{}".getBytes(StandardCharsets.UTF_8), false);
+        assertEquals(200, transport(server.url()).send(HttpMethod.GET, "/1", null, entity(null), false).get()
+                .getStatusCode().value());
+    }
+
+    @Test
+    @DisplayName("запрос, не отправленный HttpClient, не остается в числе ожидающих ответа")
+    void synchronousSendFailureIsNotActive() {
+        HttpClient failing = mock(HttpClient.class);
+        when(failing.sendAsync(any(), any())).thenThrow(new IllegalArgumentException("unsupported request"));
+        HttpClientTransport transport = new HttpClientTransport(failing, new DefaultUriBuilderFactory(server.url()),
+                new ObjectMapper(), Duration.ofSeconds(5), new UpstreamMetrics(meterRegistry));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> transport.send(HttpMethod.GET, "/1", null, entity(null), false));
+
+        assertEquals(0, meterRegistry.get("shareit.gateway.upstream.active").gauge().value());
+        assertEquals(1, meterRegistry.get("shareit.gateway.upstream").tags("status", "IO_ERROR").timer().count());
+    }
+
+    private HttpClientTransport transport(String url) {
+        return new HttpClientTransport(httpClient, new DefaultUriBuilderFactory(url + "/items"), new ObjectMapper(),
+                Duration.ofSeconds(5), new UpstreamMetrics(meterRegistry));
+    }
+
+    private static HttpEntity<Object> entity(Object body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "7");
+        return new HttpEntity<>(body, headers);
+    }
+}
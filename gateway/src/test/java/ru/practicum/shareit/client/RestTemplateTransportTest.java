@@ -0,0 +1,221 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Тестирование RestTemplateTransport")
+class RestTemplateTransportTest {
+
+    private static final Map<String, String> JSON = Map.of("Content-Type", "application/json");
+
+    private StubShareItServer server;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private SimpleMeterRegistry meterRegistry;
+    private ClientHttpRequestFactory requestFactory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new StubShareItServer();
+        connectionManager = new PoolingHttpClientConnectionManager();
+        httpClient = HttpClients.custom().setConnectionManager(connectionManager).build();
+        meterRegistry = new SimpleMeterRegistry();
+        requestFactory = new MeteredClientHttpRequestFactory(new HttpComponentsClientHttpRequestFactory(httpClient),
+                new UpstreamMetrics(meterRegistry));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("успешный ответ разбирается из JSON, заголовки запроса передаются серверу")
+    void parsesSuccessfulResponse() {
+        server.respond(200, JSON, "{\"id\":1,\"name\":\"Дрель\"}".getBytes(StandardCharsets.UTF_8), false);
+
+        ResponseEntity<Object> response = transport(server.url(), false)
+                .send(HttpMethod.GET, "/{itemId}", Map.of("itemId", 1), entity(), false).join();
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(Map.of("id", 1, "name", "Дрель"), response.getBody());
+        assertEquals("7", server.lastRequestHeaders().getFirst("X-Sharer-User-Id"));
+    }
+
+    @Test
+    @DisplayName("ответ с ошибкой передается без разбора со статусом и заголовками")
+    void passesErrorResponses() throws IOException {
+        for (int status : new int[]{404, 500}) {
+            byte[] body = ("{\"error\":\"" + status + "\"}").getBytes(StandardCharsets.UTF_8);
+            server.respond(status, Map.of("Content-Type", "application/json", "X-Error-Id", "e-" + status), body,
+                    false);
+
+            ResponseEntity<Object> response = transport(server.url(), true)
+                    .send(HttpMethod.GET, "/1", null, entity(), false).join();
+
+            assertEquals(status, response.getStatusCode().value());
+            assertEquals("e-" + status, response.getHeaders().getFirst("X-Error-Id"));
+            assertEquals("application/json", response.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE));
+            assertArrayEquals(body, readAndClose(response));
+        }
+    }
+
+    @Test
+    @DisplayName("ответ с ошибкой в режиме разбора JSON сохраняет статус и тело")
+    void returnsErrorStatusWhenParsing() {
+        byte[] body = "{\"error\":\"conflict\"}".getBytes(StandardCharsets.UTF_8);
+        server.respond(409, JSON, body, false);
+
+        ResponseEntity<Object> response = transport(server.url(), false)
+                .send(HttpMethod.PATCH, "/1", null, entity(), false).join();
+
+        assertEquals(409, response.getStatusCode().value());
+        assertArrayEquals(body, (byte[]) response.getBody());
+    }
+
+    @Test
+    @DisplayName("ошибка соединения с сервером - ResourceAccessException")
+    void connectionFailure() throws IOException {
+        String url = StubShareItServer.unreachableUrl();
+
+        assertThrows(ResourceAccessException.class, () -> transport(url, true)
+                .send(HttpMethod.GET, "/1", null, entity(), false));
+        assertThrows(ResourceAccessException.class, () -> transport(url, false)
+                .send(HttpMethod.GET, "/1", null, entity(), false));
+        assertEquals(0, connectionManager.getTotalStats().getLeased());
+    }
+
+    @Test
+    @DisplayName("поток тела ответа удерживает соединение до закрытия")
+    void streamedBodyReleasesConnectionOnClose() throws IOException {
+        byte[] body = new byte[64 * 1024];
+        Arrays.fill(body, (byte) 'x');
+        server.respond(200, JSON, body, true);
+
+        ResponseEntity<Object> response = transport(server.url(), true)
+                .send(HttpMethod.GET, "/export", null, entity(), true).join();
+
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING));
+        assertEquals(1, connectionManager.getTotalStats().getLeased());
+        assertArrayEquals(body, readAndClose(response));
+        assertEquals(0, connectionManager.getTotalStats().getLeased());
+        DistributionSummary size = meterRegistry.get("shareit.gateway.upstream.response.size").summary();
+        assertEquals(1, size.count());
+        assertEquals(body.length, size.totalAmount());
+    }
+
+    @Test
+    @DisplayName("ответ без тела закрывается сразу")
+    void emptyBodyReleasesConnection() {
+        server.respond(200, Map.of(), new byte[0], false);
+
+        ResponseEntity<Object> response = transport(server.url(), true)
+                .send(HttpMethod.DELETE, "/1", null, entity(), false).join();
+
+        assertEquals(200, response.getStatusCode().value());
+        assertNull(response.getBody());
+        assertEquals(0, connectionManager.getTotalStats().getLeased());
+    }
+
+    @Test
+    @DisplayName("закрытие потока тела закрывает ответ сервера")
+    void closingBodyClosesServerResponse() throws IOException {
+        ClientHttpResponse serverResponse = mockServerResponse();
+        Mockito.when(serverResponse.getStatusCode()).thenReturn(HttpStatus.OK);
+
+        ResponseEntity<Object> response = mockedTransport(serverResponse)
+                .send(HttpMethod.GET, "/export", null, entity(), true).join();
+
+        Mockito.verify(serverResponse, Mockito.never()).close();
+        assertArrayEquals("body".getBytes(StandardCharsets.UTF_8), readAndClose(response));
+        Mockito.verify(serverResponse).close();
+    }
+
+    @Test
+    @DisplayName("ответ сервера закрывается при ошибке до передачи тела")
+    void failureBeforeBodyClosesServerResponse() throws IOException {
+        ClientHttpResponse serverResponse = mockServerResponse();
+        Mockito.when(serverResponse.getStatusCode()).thenThrow(new IllegalStateException("unknown status"));
+        RestTemplateTransport transport = mockedTransport(serverResponse);
+
+        assertThrows(IllegalStateException.class, () -> transport.send(HttpMethod.GET, "/1", null, entity(), false));
+        Mockito.verify(serverResponse).close();
+    }
+
+    private RestTemplateTransport transport(String url, boolean passThrough) {
+        return new RestTemplateTransport(new RestTemplateBuilder()
+                .uriTemplateHandler(new DefaultUriBuilderFactory(url + "/items"))
+                .requestFactory(() -> requestFactory)
+                .build(), passThrough);
+    }
+
+    private static ClientHttpResponse mockServerResponse() throws IOException {
+        ClientHttpResponse serverResponse = Mockito.mock(ClientHttpResponse.class);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_NDJSON);
+        Mockito.when(serverResponse.getHeaders()).thenReturn(headers);
+        Mockito.when(serverResponse.getBody())
+                .thenReturn(new ByteArrayInputStream("body".getBytes(StandardCharsets.UTF_8)));
+        return serverResponse;
+    }
+
+    private static RestTemplateTransport mockedTransport(ClientHttpResponse serverResponse) throws IOException {
+        ClientHttpRequest request = Mockito.mock(ClientHttpRequest.class);
+        Mockito.when(request.getHeaders()).thenReturn(new HttpHeaders());
+        Mockito.when(request.execute()).thenReturn(serverResponse);
+        return new RestTemplateTransport(new RestTemplateBuilder()
+                .uriTemplateHandler(new DefaultUriBuilderFactory("http://localhost/items"))
+                .requestFactory(() -> (uri, method) -> request)
+                .build(), true);
+    }
+
+    private static HttpEntity<Object> entity() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "7");
+        return new HttpEntity<>(headers);
+    }
+
+    private static byte[] readAndClose(ResponseEntity<Object> response) throws IOException {
+        InputStreamResource resource = assertInstanceOf(InputStreamResource.class, response.getBody());
+        try (InputStream body = resource.getInputStream()) {
+            return body.readAllBytes();
+        }
+    }
+}
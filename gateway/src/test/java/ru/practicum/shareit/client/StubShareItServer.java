@@ -0,0 +1,71 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Заглушка сервера ShareIt на локальном порту для тестов транспортов шлюза.
+ * Отвечает заданными статусом, заголовками и телом на любой запрос и запоминает заголовки последнего запроса.
+ */
+class StubShareItServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final AtomicReference<Headers> lastRequestHeaders = new AtomicReference<>();
+    private volatile Response response = new Response(200, Map.of(), new byte[0], false);
+
+    StubShareItServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            try (exchange) {
+                lastRequestHeaders.set(exchange.getRequestHeaders());
+                exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+                Response current = response;
+                current.headers().forEach(exchange.getResponseHeaders()::set);
+                long length = current.body().length == 0 ? -1 : current.body().length;
+                exchange.sendResponseHeaders(current.status(), current.chunked() ? 0 : length);
+                exchange.getResponseBody().write(current.body());
+            }
+        });
+        server.start();
+    }
+
+    /**
+     * Ответ на следующие запросы; chunked - передача тела частями без Content-Length.
+     */
+    void respond(int status, Map<String, String> headers, byte[] body, boolean chunked) {
+        response = new Response(status, headers, body, chunked);
+    }
+
+    String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    Headers lastRequestHeaders() {
+        return lastRequestHeaders.get();
+    }
+
+    /**
+     * Адрес порта, на котором никто не принимает соединения.
+     */
+    static String unreachableUrl() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            return "http://localhost:" + socket.getLocalPort();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private record Response(int status, Map<String, String> headers, byte[] body, boolean chunked) {
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class UserControllerTest {
+
+    private static final String USER = "{\"id\":1,\"name\":\"user\",\"email\":\"user@mail.ru\"}";
+
+    private static CompletableFuture<ResponseEntity<Object>> user() {
+        return CompletableFuture.completedFuture(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(USER));
+    }
+
+    @Nested
+    @WebMvcTest(UserController.class)
+    class Blocking {
+
+        @Autowired
+        private MockMvc mvc;
+
+        @MockBean
+        private UserClient userClient;
+
+        @Test
+        @DisplayName("В блокирующем режиме ответ пишется без асинхронной обработки запроса")
+        void respondsWithoutAsyncDispatch() throws Exception {
+            when(userClient.getUser(1)).thenReturn(user());
+
+            mvc.perform(get("/users/1"))
+                    .andExpect(request().asyncNotStarted())
+                    .andExpect(status().isOk())
+                    .andExpect(content().json(USER));
+        }
+    }
+
+    @Nested
+    @WebMvcTest(controllers = UserController.class, properties = "shareit-server.client=async")
+    class Async {
+
+        @Autowired
+        private MockMvc mvc;
+
+        @MockBean
+        private UserClient userClient;
+
+        @Test
+        @DisplayName("В неблокирующем режиме ответ дописывается после асинхронной обработки")
+        void respondsAfterAsyncDispatch() throws Exception {
+            when(userClient.getUser(1)).thenReturn(user());
+
+            MvcResult result = mvc.perform(get("/users/1"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().json(USER));
+        }
+    }
+}
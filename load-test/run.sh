@@ -0,0 +1,66 @@
+#!/usr/bin/env bash
+# Нагрузочный прогон ShareIt на одной машине: генерация данных, запуск сервера и шлюза, нагрузка через шлюз.
+#
+# Использование: load-test/run.sh [h2|postgresql] [параметры драйвера, например --duration=120 --concurrency=64]
+#
+# Объем данных: USERS, ITEMS, BOOKINGS, COMMENTS, REQUESTS.
+# PostgreSQL (локальный): PG_URL, PG_USER, PG_PASSWORD.
+# Параметры сервера и шлюза: SERVER_ARGS, GATEWAY_ARGS (например --shareit-server.client=async),
+# параметры JVM: SERVER_JAVA_OPTS, GATEWAY_JAVA_OPTS. Нужна Java 21 (берется из JAVA_HOME, если задан).
+# SKIP_BUILD=true - не пересобирать проект.
+# Журналы и отчет (summary.csv, гистограммы *.hgrm) сохраняются в load-test/target/run.
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+WORK="$ROOT/load-test/target/run"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+DB="${1:-h2}"
+shift || true
+cd "$ROOT"
+
+if [ "${SKIP_BUILD:-false}" != "true" ]; then
+  mvn -B -q package -DskipTests
+fi
+mkdir -p "$WORK"
+
+case "$DB" in
+  h2)
+    rm -f "$WORK"/shareit.*.db
+    DB_URL="jdbc:h2:file:$WORK/shareit"
+    DB_USER=test
+    DB_PASSWORD=test
+    SERVER_PROFILE=--spring.profiles.active=test
+    ;;
+  postgresql)
+    DB_URL="${PG_URL:-jdbc:postgresql://localhost:5432/shareit?reWriteBatchedInserts=true}"
+    DB_USER="${PG_USER:-shareit}"
+    DB_PASSWORD="${PG_PASSWORD:-shareit}"
+    SERVER_PROFILE=--spring.profiles.active=default
+    ;;
+  *)
+    echo "Неизвестная база данных: $DB (h2 или postgresql)" >&2
+    exit 1
+    ;;
+esac
+
+"$JAVA" -cp load-test/target/load-test.jar ru.practicum.shareit.loadtest.DataGenerator \
+  --url="$DB_URL" --username="$DB_USER" --password="$DB_PASSWORD" \
+  --users="${USERS:-1000}" --items="${ITEMS:-5000}" --bookings="${BOOKINGS:-50000}" \
+  --comments="${COMMENTS:-10000}" --requests="${REQUESTS:-2000}" \
+  --dataset="$WORK/dataset.properties"
+
+# shellcheck disable=SC2086
+"$JAVA" ${SERVER_JAVA_OPTS:-} -jar server/target/shareit-server-*-exec.jar "$SERVER_PROFILE" \
+  --spring.datasource.url="$DB_URL" --spring.datasource.username="$DB_USER" \
+  --spring.datasource.password="$DB_PASSWORD" \
+  --logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN \
+  ${SERVER_ARGS:-} > "$WORK/server.log" 2>&1 &
+SERVER_PID=$!
+# shellcheck disable=SC2086
+"$JAVA" ${GATEWAY_JAVA_OPTS:-} -jar gateway/target/shareit-gateway-*-exec.jar ${GATEWAY_ARGS:-} \
+  > "$WORK/gateway.log" 2>&1 &
+GATEWAY_PID=$!
+trap 'kill "$GATEWAY_PID" "$SERVER_PID" 2>/dev/null || true; wait 2>/dev/null || true' EXIT
+
+"$JAVA" -jar load-test/target/load-test.jar --gateway=http://localhost:8080 \
+  --dataset="$WORK/dataset.properties" --report="$WORK/report" "$@"
@@ -0,0 +1,191 @@
+package ru.practicum.shareit.loadtest;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Генератор набора данных для нагрузочного тестирования. Создает схему теми же скриптами, что и сервер
+ * при запуске (schema.sql и schema-{платформа}.sql), и заполняет таблицы пакетными вставками JDBC.
+ * Поддерживаются H2 (по умолчанию - файловая база, которую затем открывает сервер) и PostgreSQL.
+ * <p>
+ * Параметры: --url, --username, --password, --users, --items, --bookings, --comments, --requests,
+ * --batch-size, --dataset (файл с описанием набора для драйвера нагрузки), --reset (очистить таблицы).
+ */
+public final class DataGenerator {
+
+    private static final List<String> TABLES = List.of("comments", "item_booking_stats", "bookings", "items",
+            "requests", "users");
+
+    private final Connection connection;
+    private final Dataset dataset;
+    private final int batchSize;
+
+    private DataGenerator(Connection connection, Dataset dataset, int batchSize) {
+        this.connection = connection;
+        this.dataset = dataset;
+        this.batchSize = batchSize;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args);
+        String url = options.get("url", "jdbc:h2:file:./load-test/target/run/shareit");
+        String platform = platform(url);
+        Dataset dataset = new Dataset(options.getInt("users", 1_000),
+                options.getInt("items", 5_000),
+                options.getInt("bookings", 50_000),
+                options.getInt("comments", 10_000),
+                options.getInt("requests", 2_000),
+                LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS),
+                0);
+        Path datasetFile = Path.of(options.get("dataset", "load-test/target/run/dataset.properties"));
+
+        try (Connection connection = DriverManager.getConnection(url,
+                options.get("username", "test"), options.get("password", "test"))) {
+            connection.setAutoCommit(false);
+            DataGenerator generator = new DataGenerator(connection, dataset, options.getInt("batch-size", 1_000));
+            generator.createSchema(platform);
+            if (options.getBoolean("reset", true)) {
+                generator.clear(platform);
+            }
+            generator.generate();
+            generator.alignSequences(platform);
+        }
+        Files.createDirectories(datasetFile.toAbsolutePath().getParent());
+        dataset.store(datasetFile);
+        System.out.println("Описание набора данных записано в " + datasetFile);
+    }
+
+    private static String platform(String url) {
+        if (url.startsWith("jdbc:h2:")) {
+            return "h2";
+        }
+        if (url.startsWith("jdbc:postgresql:")) {
+            return "postgresql";
+        }
+        throw new IllegalArgumentException("Поддерживаются только H2 и PostgreSQL: " + url);
+    }
+
+    private void clear(String platform) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            if ("postgresql".equals(platform)) {
+                statement.execute("TRUNCATE " + String.join(", ", TABLES));
+            } else {
+                for (String table : TABLES) {
+                    statement.execute("DELETE FROM " + table);
+                }
+            }
+        }
+        connection.commit();
+    }
+
+    private void createSchema(String platform) {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource("schema.sql"));
+        ClassPathResource platformSchema = new ClassPathResource("schema-" + platform + ".sql");
+        if (platformSchema.exists()) {
+            populator.addScript(platformSchema);
+        }
+        populator.populate(connection);
+    }
+
+    private void generate() throws SQLException {
+        insert("users", "INSERT INTO users (id, name, email) VALUES (?, ?, ?)", dataset.users(),
+                (statement, id) -> {
+                    statement.setLong(1, id);
+                    statement.setString(2, "Пользователь " + id);
+                    statement.setString(3, "user" + id + "@load.test");
+                });
+        insert("requests", "INSERT INTO requests (id, description, requestor_id, created_date) VALUES (?, ?, ?, ?)",
+                dataset.requests(), (statement, id) -> {
+                    statement.setLong(1, id);
+                    statement.setString(2, "Нужна " + Dataset.NOUNS[(int) (id % Dataset.NOUNS.length)]
+                            + " на выходные");
+                    statement.setLong(3, dataset.requestor(id));
+                    statement.setObject(4, dataset.createdAt().minusMinutes(dataset.requests() - id));
+                });
+        insert("items", "INSERT INTO items (id, name, description, is_available, owner_id, request_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", dataset.items(), (statement, id) -> {
+                    statement.setLong(1, id);
+                    statement.setString(2, dataset.itemName(id));
+                    statement.setString(3, dataset.itemDescription(id));
+                    statement.setBoolean(4, dataset.itemAvailable(id));
+                    statement.setLong(5, dataset.itemOwner(id));
+                    Long requestId = dataset.itemRequest(id);
+                    if (requestId == null) {
+                        statement.setNull(6, Types.BIGINT);
+                    } else {
+                        statement.setLong(6, requestId);
+                    }
+                });
+        insert("bookings", "INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", dataset.bookings(), (statement, id) -> {
+                    statement.setLong(1, id);
+                    statement.setObject(2, dataset.bookingStart(id));
+                    statement.setObject(3, dataset.bookingEnd(id));
+                    statement.setLong(4, dataset.bookingItem(id));
+                    statement.setLong(5, dataset.bookingBooker(id));
+                    statement.setString(6, dataset.bookingStatus(id).name());
+                });
+        insert("comments", "INSERT INTO comments (id, text, item_id, author_id, created_date) VALUES (?, ?, ?, ?, ?)",
+                dataset.comments(), (statement, id) -> {
+                    statement.setLong(1, id);
+                    statement.setString(2, "Отзыв " + id + ": всё работает, рекомендую");
+                    statement.setLong(3, dataset.commentItem(id));
+                    statement.setLong(4, dataset.commentAuthor(id));
+                    statement.setObject(5, dataset.createdAt().minusMinutes(id));
+                });
+    }
+
+    private void insert(String table, String sql, int count, RowBinder binder) throws SQLException {
+        long start = System.nanoTime();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (long id = 1; id <= count; id++) {
+                binder.bind(statement, id);
+                statement.addBatch();
+                if (id % batchSize == 0 || id == count) {
+                    statement.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("%-9s %,10d строк за %6.1f с%n", table, count, seconds);
+    }
+
+    /**
+     * Последовательности ID поднимаются выше вставленных строк, чтобы сервер выдавал новым сущностям
+     * свободные идентификаторы. В PostgreSQL это делает и schema-postgresql.sql при запуске сервера.
+     */
+    private void alignSequences(String platform) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            Map<String, Integer> rows = Map.of("users", dataset.users(), "items", dataset.items(),
+                    "requests", dataset.requests(), "bookings", dataset.bookings(), "comments", dataset.comments());
+            for (Map.Entry<String, Integer> table : rows.entrySet()) {
+                long next = table.getValue() + 1L;
+                if ("postgresql".equals(platform)) {
+                    statement.execute("SELECT setval('" + table.getKey() + "_seq', " + next + ", false)");
+                } else {
+                    statement.execute("ALTER SEQUENCE " + table.getKey() + "_seq RESTART WITH " + next);
+                }
+            }
+        }
+        connection.commit();
+    }
+
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement statement, long id) throws SQLException;
+    }
+}
@@ -0,0 +1,170 @@
+package ru.practicum.shareit.loadtest;
+
+import ru.practicum.shareit.booking.enums.StatusEnum;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Properties;
+
+/**
+ * Описание сгенерированного набора данных. Связи между сущностями вычисляются из идентификаторов
+ * по фиксированным правилам, поэтому генератор и драйвер нагрузки получают одни и те же владельцев вещей,
+ * авторов бронирований и слова для поиска, не обращаясь к базе.
+ * <p>
+ * Идентификаторы всех сущностей идут подряд с 1. Бронирования каждой вещи следуют друг за другом
+ * без пересечений: первая половина в прошлом, вторая - в будущем. Бронирования, созданные драйвером нагрузки,
+ * занимают часовые интервалы после сгенерированных; число занятых интервалов сохраняется в описании набора,
+ * чтобы повторные прогоны на тех же данных не создавали пересекающихся бронирований.
+ */
+record Dataset(int users, int items, int bookings, int comments, int requests, LocalDateTime createdAt,
+               long usedBookingSlots) {
+
+    static final String[] NOUNS = {"дрель", "перфоратор", "шуруповерт", "лестница", "палатка", "велосипед",
+            "самокат", "пила", "гриль", "проектор", "удочка", "байдарка", "микроскоп", "телескоп", "генератор",
+            "компрессор", "сноуборд", "лобзик", "утюг", "мультиварка"};
+    static final String[] ADJECTIVES = {"ударная", "складная", "туристическая", "аккумуляторная", "детская",
+            "профессиональная", "компактная", "электрическая", "большая", "новая"};
+
+    private static final int BOOKING_DAYS = 2;
+
+    Dataset {
+        if (users < 2) {
+            throw new IllegalArgumentException("Нужно не меньше двух пользователей: владелец и арендатор");
+        }
+        if (items < 1) {
+            throw new IllegalArgumentException("Нужна хотя бы одна вещь");
+        }
+    }
+
+    long itemOwner(long itemId) {
+        return 1 + (itemId - 1) % users;
+    }
+
+    String itemName(long itemId) {
+        return capitalize(NOUNS[(int) ((itemId - 1) % NOUNS.length)]) + " " + itemId;
+    }
+
+    String itemDescription(long itemId) {
+        return ADJECTIVES[(int) ((itemId - 1) / NOUNS.length % ADJECTIVES.length)] + " "
+                + NOUNS[(int) ((itemId - 1) % NOUNS.length)] + ", выдается на выходные";
+    }
+
+    boolean itemAvailable(long itemId) {
+        return itemId % 10 != 0;
+    }
+
+    /**
+     * Каждая пятая вещь добавлена в ответ на запрос.
+     */
+    Long itemRequest(long itemId) {
+        return requests > 0 && itemId % 5 == 0 ? 1 + (itemId / 5 - 1) % requests : null;
+    }
+
+    long bookingItem(long bookingId) {
+        return 1 + (bookingId - 1) % items;
+    }
+
+    long bookingBooker(long bookingId) {
+        return nonOwner(bookingItem(bookingId), bookingId);
+    }
+
+    /**
+     * Пользователь, не являющийся владельцем вещи; выбор между ними определяется значением seed.
+     */
+    long nonOwner(long itemId, long seed) {
+        long ownerIndex = itemOwner(itemId) - 1;
+        return 1 + (ownerIndex + 1 + Math.floorMod(seed, users - 1)) % users;
+    }
+
+    /**
+     * Число пользователей, владеющих хотя бы одной вещью: владельцы - первые пользователи по порядку.
+     */
+    int owners() {
+        return Math.min(users, items);
+    }
+
+    LocalDateTime bookingStart(long bookingId) {
+        long ordinal = (bookingId - 1) / items;
+        return firstBookingStart().plusDays(ordinal * BOOKING_DAYS);
+    }
+
+    LocalDateTime bookingEnd(long bookingId) {
+        return bookingStart(bookingId).plusDays(1);
+    }
+
+    StatusEnum bookingStatus(long bookingId) {
+        if (bookingId % 10 == 0) {
+            return StatusEnum.REJECTED;
+        }
+        boolean past = bookingEnd(bookingId).isBefore(createdAt);
+        return past || bookingId % 2 == 0 ? StatusEnum.APPROVED : StatusEnum.WAITING;
+    }
+
+    long commentItem(long commentId) {
+        return 1 + (commentId - 1) % items;
+    }
+
+    /**
+     * Отзыв оставляет автор первого (прошедшего) бронирования вещи.
+     */
+    long commentAuthor(long commentId) {
+        return bookingBooker(commentItem(commentId));
+    }
+
+    long requestor(long requestId) {
+        return 1 + (requestId * 7) % users;
+    }
+
+    /**
+     * Начало часового интервала для нового бронирования с номером slot.
+     */
+    LocalDateTime bookingSlotStart(long slot) {
+        long perItem = (bookings + items - 1) / items;
+        return firstBookingStart().plusDays((perItem + 1) * BOOKING_DAYS).plusHours(slot);
+    }
+
+    Dataset withUsedBookingSlots(long slots) {
+        return new Dataset(users, items, bookings, comments, requests, createdAt, slots);
+    }
+
+    private LocalDateTime firstBookingStart() {
+        long perItem = (bookings + items - 1) / items;
+        return createdAt.minusDays(perItem / 2 * BOOKING_DAYS);
+    }
+
+    void store(Path path) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("users", String.valueOf(users));
+        properties.setProperty("items", String.valueOf(items));
+        properties.setProperty("bookings", String.valueOf(bookings));
+        properties.setProperty("comments", String.valueOf(comments));
+        properties.setProperty("requests", String.valueOf(requests));
+        properties.setProperty("created-at", createdAt.toString());
+        properties.setProperty("used-booking-slots", String.valueOf(usedBookingSlots));
+        try (Writer writer = Files.newBufferedWriter(path)) {
+            properties.store(writer, "ShareIt load test dataset");
+        }
+    }
+
+    static Dataset load(Path path) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path)) {
+            properties.load(reader);
+        }
+        return new Dataset(Integer.parseInt(properties.getProperty("users")),
+                Integer.parseInt(properties.getProperty("items")),
+                Integer.parseInt(properties.getProperty("bookings")),
+                Integer.parseInt(properties.getProperty("comments")),
+                Integer.parseInt(properties.getProperty("requests")),
+                LocalDateTime.parse(properties.getProperty("created-at")),
+                Long.parseLong(properties.getProperty("used-booking-slots", "0")));
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
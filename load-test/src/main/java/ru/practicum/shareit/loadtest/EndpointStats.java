@@ -0,0 +1,40 @@
+package ru.practicum.shareit.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Время ответа и ошибки одной операции. Время записывается в микросекундах в {@link Recorder},
+ * который позволяет без блокировок забрать накопленную гистограмму по окончании разогрева и замера.
+ */
+final class EndpointStats {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Recorder recorder = new Recorder(MAX_LATENCY_MICROS, 3);
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicReference<String> lastError = new AtomicReference<>();
+
+    void record(long latencyNanos) {
+        recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS));
+    }
+
+    void error(String description) {
+        errors.incrementAndGet();
+        lastError.set(description);
+    }
+
+    /**
+     * Возвращает гистограмму и число ошибок с момента предыдущего вызова и начинает новый интервал.
+     */
+    Interval reset() {
+        return new Interval(recorder.getIntervalHistogram(), errors.getAndSet(0), lastError.getAndSet(null));
+    }
+
+    record Interval(Histogram histogram, long errors, String lastError) {
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.function.Function;
+
+/**
+ * Вызовы API шлюза, из которых составляется нагрузка. Вес задает долю вызова в смеси по умолчанию.
+ */
+enum Operation {
+    USER_GET("users.get", "GET /users/{id}", 5, Workload::getUser),
+    ITEM_GET("items.get", "GET /items/{id}", 20, Workload::getItem),
+    ITEM_OWNER("items.owner", "GET /items", 8, Workload::getOwnerItems),
+    ITEM_SEARCH("items.search", "GET /items/search", 15, Workload::searchItems),
+    BOOKING_GET("bookings.get", "GET /bookings/{id}", 10, Workload::getBooking),
+    BOOKING_BOOKER("bookings.booker", "GET /bookings", 10, Workload::getBookerBookings),
+    BOOKING_OWNER("bookings.owner", "GET /bookings/owner", 10, Workload::getOwnerBookings),
+    BOOKING_CREATE("bookings.create", "POST /bookings", 5, Workload::createBooking),
+    REQUEST_OWN("requests.own", "GET /requests", 5, Workload::getOwnRequests),
+    REQUEST_ALL("requests.all", "GET /requests/all", 4, Workload::getAllRequests),
+    REQUEST_GET("requests.get", "GET /requests/{id}", 5, Workload::getRequest),
+    REQUEST_CREATE("requests.create", "POST /requests", 3, Workload::createRequest);
+
+    private final String key;
+    private final String endpoint;
+    private final int defaultWeight;
+    private final Function<Workload, HttpRequest> request;
+
+    Operation(String key, String endpoint, int defaultWeight, Function<Workload, HttpRequest> request) {
+        this.key = key;
+        this.endpoint = endpoint;
+        this.defaultWeight = defaultWeight;
+        this.request = request;
+    }
+
+    String key() {
+        return key;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    int defaultWeight() {
+        return defaultWeight;
+    }
+
+    HttpRequest request(Workload workload) {
+        return request.apply(workload);
+    }
+
+    static Operation byKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестная операция: " + key);
+    }
+}
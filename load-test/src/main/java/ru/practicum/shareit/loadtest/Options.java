@@ -0,0 +1,46 @@
+package ru.practicum.shareit.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Параметры командной строки вида --name=value.
+ */
+final class Options {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    Options(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Параметр должен иметь вид --name=value: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+    }
+
+    String get(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    int getInt(String name, int defaultValue) {
+        return values.containsKey(name) ? Integer.parseInt(values.get(name)) : defaultValue;
+    }
+
+    boolean getBoolean(String name, boolean defaultValue) {
+        return values.containsKey(name) ? Boolean.parseBoolean(values.get(name)) : defaultValue;
+    }
+
+    /**
+     * Длительность в секундах (60) или в формате ISO-8601 (PT1M).
+     */
+    Duration getDuration(String name, Duration defaultValue) {
+        if (!values.containsKey(name)) {
+            return defaultValue;
+        }
+        String value = values.get(name);
+        return value.startsWith("P") ? Duration.parse(value) : Duration.ofSeconds(Long.parseLong(value));
+    }
+}
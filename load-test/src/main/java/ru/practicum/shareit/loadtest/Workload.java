@@ -0,0 +1,140 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Построение запросов к шлюзу со случайными, но существующими в наборе данных идентификаторами:
+ * владельцы, авторы бронирований и запросов вычисляются по правилам {@link Dataset}.
+ * Новые бронирования получают непересекающиеся интервалы после всех сгенерированных и созданных
+ * в предыдущих прогонах.
+ */
+final class Workload {
+
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING"};
+    private static final int PAGE_SIZE = 20;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final Dataset dataset;
+    private final String gateway;
+    private final AtomicLong bookingSlots;
+
+    Workload(Dataset dataset, String gateway) {
+        this.dataset = dataset;
+        this.gateway = gateway;
+        this.bookingSlots = new AtomicLong(dataset.usedBookingSlots());
+    }
+
+    long usedBookingSlots() {
+        return bookingSlots.get();
+    }
+
+    HttpRequest getUser() {
+        return get("/users/" + anyUser(), null);
+    }
+
+    HttpRequest getItem() {
+        return get("/items/" + random(dataset.items()), anyUser());
+    }
+
+    HttpRequest getOwnerItems() {
+        return get("/items", anyOwner());
+    }
+
+    HttpRequest searchItems() {
+        String text = Dataset.NOUNS[ThreadLocalRandom.current().nextInt(Dataset.NOUNS.length)];
+        return get("/items/search?text=" + URLEncoder.encode(text, StandardCharsets.UTF_8)
+                + "&from=0&size=" + PAGE_SIZE, anyUser());
+    }
+
+    HttpRequest getBooking() {
+        if (dataset.bookings() == 0) {
+            return getBookerBookings();
+        }
+        long bookingId = random(dataset.bookings());
+        return get("/bookings/" + bookingId, dataset.bookingBooker(bookingId));
+    }
+
+    HttpRequest getBookerBookings() {
+        return get("/bookings?state=" + anyState() + "&size=" + PAGE_SIZE, anyUser());
+    }
+
+    HttpRequest getOwnerBookings() {
+        return get("/bookings/owner?state=" + anyState() + "&size=" + PAGE_SIZE, anyOwner());
+    }
+
+    HttpRequest createBooking() {
+        long itemId;
+        do {
+            itemId = random(dataset.items());
+        } while (!dataset.itemAvailable(itemId));
+        long slot = bookingSlots.getAndIncrement();
+        LocalDateTime start = dataset.bookingSlotStart(slot);
+        return post("/bookings", dataset.nonOwner(itemId, slot),
+                "{\"itemId\": " + itemId + ", \"start\": \"" + start + "\", \"end\": \"" + start.plusMinutes(30) + "\"}");
+    }
+
+    HttpRequest getOwnRequests() {
+        return get("/requests", anyUser());
+    }
+
+    HttpRequest getAllRequests() {
+        return get("/requests/all", anyUser());
+    }
+
+    HttpRequest getRequest() {
+        if (dataset.requests() == 0) {
+            return getAllRequests();
+        }
+        return get("/requests/" + random(dataset.requests()), anyUser());
+    }
+
+    HttpRequest createRequest() {
+        String noun = Dataset.NOUNS[ThreadLocalRandom.current().nextInt(Dataset.NOUNS.length)];
+        return post("/requests", anyUser(), "{\"description\": \"Нужна " + noun + " на выходные\"}");
+    }
+
+    private long anyUser() {
+        return random(dataset.users());
+    }
+
+    private long anyOwner() {
+        return random(dataset.owners());
+    }
+
+    private static String anyState() {
+        return STATES[ThreadLocalRandom.current().nextInt(STATES.length)];
+    }
+
+    private static long random(int count) {
+        return 1 + ThreadLocalRandom.current().nextInt(count);
+    }
+
+    private HttpRequest get(String path, Long userId) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(gateway + path))
+                .timeout(TIMEOUT)
+                .header("Accept", "application/json")
+                .GET();
+        if (userId != null) {
+            request.header(USER_HEADER, String.valueOf(userId));
+        }
+        return request.build();
+    }
+
+    private HttpRequest post(String path, long userId, String body) {
+        return HttpRequest.newBuilder(URI.create(gateway + path))
+                .timeout(TIMEOUT)
+                .header("Accept", "application/json")
+                .header("Content-Type", "application/json")
+                .header(USER_HEADER, String.valueOf(userId))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
@@ -0,0 +1,228 @@
+package ru.practicum.shareit.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Драйвер нагрузки: воспроизводит смесь вызовов API через шлюз и выводит по каждому эндпоинту пропускную
+ * способность и процентили времени ответа (p50, p99, p99.9).
+ * <p>
+ * По умолчанию нагрузка замкнутая: --concurrency виртуальных потоков отправляют запросы друг за другом.
+ * При заданном --rate запросы отправляются с постоянной интенсивностью, а время ответа отсчитывается
+ * от запланированного момента отправки, поэтому задержки при перегрузке не скрываются.
+ * <p>
+ * Параметры: --gateway, --dataset, --duration, --warmup, --concurrency, --rate (запросов в секунду),
+ * --mix (например items.get:20,items.search:10), --report (каталог для summary.csv и гистограмм *.hgrm),
+ * --await (ожидание готовности шлюза).
+ */
+public final class WorkloadDriver {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final HttpClient client;
+    private final Workload workload;
+    private final Operation[] schedule;
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+    private volatile boolean running = true;
+
+    private WorkloadDriver(HttpClient client, Workload workload, Map<Operation, Integer> mix) {
+        this.client = client;
+        this.workload = workload;
+        List<Operation> slots = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(operation);
+            }
+            stats.put(operation, new EndpointStats());
+        });
+        this.schedule = slots.toArray(Operation[]::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args);
+        String gateway = options.get("gateway", "http://localhost:8080");
+        Path datasetFile = Path.of(options.get("dataset", "load-test/target/run/dataset.properties"));
+        Dataset dataset = Dataset.load(datasetFile);
+        Duration duration = options.getDuration("duration", Duration.ofSeconds(60));
+        Duration warmup = options.getDuration("warmup", Duration.ofSeconds(15));
+        int concurrency = options.getInt("concurrency", 32);
+        int rate = options.getInt("rate", 0);
+        Path report = Path.of(options.get("report", "load-test/target/run/report"));
+
+        try (HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build()) {
+            awaitGateway(client, gateway, options.getDuration("await", Duration.ofSeconds(120)));
+            Workload workload = new Workload(dataset, gateway);
+            WorkloadDriver driver = new WorkloadDriver(client, workload, mix(options.get("mix", null)));
+            Map<Operation, EndpointStats.Interval> results = driver.run(warmup, duration, concurrency, rate);
+            dataset.withUsedBookingSlots(workload.usedBookingSlots()).store(datasetFile);
+            report(results, duration, System.out);
+            write(results, duration, report);
+        }
+    }
+
+    private Map<Operation, EndpointStats.Interval> run(Duration warmup, Duration duration, int concurrency, int rate)
+            throws InterruptedException {
+        System.out.printf("Разогрев %d с, замер %d с, потоков %d%s%n", warmup.toSeconds(), duration.toSeconds(),
+                concurrency, rate > 0 ? ", " + rate + " запросов/с" : "");
+        long intervalNanos = rate > 0 ? TimeUnit.SECONDS.toNanos(1) / rate : 0;
+        AtomicLong tickets = new AtomicLong();
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                executor.submit(() -> {
+                    while (running) {
+                        long scheduled = System.nanoTime();
+                        if (intervalNanos > 0) {
+                            scheduled = start + tickets.getAndIncrement() * intervalNanos;
+                            LockSupport.parkNanos(scheduled - System.nanoTime());
+                        }
+                        execute(schedule[ThreadLocalRandom.current().nextInt(schedule.length)], scheduled);
+                    }
+                });
+            }
+            Thread.sleep(warmup.toMillis());
+            stats.values().forEach(EndpointStats::reset);
+            Thread.sleep(duration.toMillis());
+            Map<Operation, EndpointStats.Interval> results = new EnumMap<>(Operation.class);
+            stats.forEach((operation, endpoint) -> results.put(operation, endpoint.reset()));
+            running = false;
+            return results;
+        }
+    }
+
+    /**
+     * @param scheduled момент, от которого отсчитывается время ответа: запланированное время отправки
+     *                  при постоянной интенсивности или фактическое при замкнутой нагрузке.
+     */
+    private void execute(Operation operation, long scheduled) {
+        EndpointStats endpoint = stats.get(operation);
+        try {
+            HttpResponse<String> response = client.send(operation.request(workload),
+                    HttpResponse.BodyHandlers.ofString());
+            endpoint.record(System.nanoTime() - scheduled);
+            if (response.statusCode() >= 400) {
+                endpoint.error(response.statusCode() + " " + response.body());
+            }
+        } catch (IOException e) {
+            endpoint.record(System.nanoTime() - scheduled);
+            endpoint.error(e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static Map<Operation, Integer> mix(String value) {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        if (value == null) {
+            for (Operation operation : Operation.values()) {
+                mix.put(operation, operation.defaultWeight());
+            }
+            return mix;
+        }
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            mix.put(Operation.byKey(parts[0]), parts.length > 1 ? Integer.parseInt(parts[1]) : 1);
+        }
+        return mix;
+    }
+
+    private static void awaitGateway(HttpClient client, String gateway, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        HttpRequest probe = HttpRequest.newBuilder(URI.create(gateway + "/users/1")).GET().build();
+        while (true) {
+            try {
+                if (client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // шлюз или сервер еще запускаются
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Шлюз " + gateway + " не отвечает на GET /users/1 за " + timeout);
+            }
+            Thread.sleep(1000);
+        }
+    }
+
+    private static void report(Map<Operation, EndpointStats.Interval> results, Duration duration, PrintStream out) {
+        out.printf("%-22s %9s %7s %9s %9s %9s %9s %9s%n",
+                "Эндпоинт", "Запросов", "Ошибок", "Запр/с", "p50 мс", "p99 мс", "p99.9 мс", "max мс");
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        for (Map.Entry<Operation, EndpointStats.Interval> result : results.entrySet()) {
+            EndpointStats.Interval interval = result.getValue();
+            out.println(line(result.getKey().endpoint(), interval.histogram(), interval.errors(), duration));
+            total.add(interval.histogram());
+            totalErrors += interval.errors();
+        }
+        out.println(line("Всего", total, totalErrors, duration));
+        results.forEach((operation, interval) -> {
+            if (interval.lastError() != null) {
+                String error = interval.lastError();
+                out.printf("Последняя ошибка %s: %s%n", operation.endpoint(),
+                        error.length() > 200 ? error.substring(0, 200) : error);
+            }
+        });
+    }
+
+    private static String line(String name, Histogram histogram, long errors, Duration duration) {
+        return String.format("%-22s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f", name,
+                histogram.getTotalCount(), errors, histogram.getTotalCount() / (double) duration.toSeconds(),
+                millis(histogram, 50.0), millis(histogram, 99.0), millis(histogram, 99.9),
+                histogram.getMaxValue() / MICROS_PER_MILLI);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    /**
+     * summary.csv - сводка по эндпоинтам, {операция}.hgrm - полное распределение времени ответа в миллисекундах
+     * в формате HdrHistogram.
+     */
+    private static void write(Map<Operation, EndpointStats.Interval> results, Duration duration, Path directory)
+            throws IOException {
+        Files.createDirectories(directory);
+        try (PrintStream summary = new PrintStream(Files.newOutputStream(directory.resolve("summary.csv")))) {
+            summary.println("operation,endpoint,requests,errors,throughput,p50_ms,p99_ms,p999_ms,max_ms");
+            for (Map.Entry<Operation, EndpointStats.Interval> result : results.entrySet()) {
+                Histogram histogram = result.getValue().histogram();
+                summary.printf(Locale.ROOT, "%s,%s,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f%n",
+                        result.getKey().key(), result.getKey().endpoint(), histogram.getTotalCount(),
+                        result.getValue().errors(), histogram.getTotalCount() / (double) duration.toSeconds(),
+                        millis(histogram, 50.0), millis(histogram, 99.0), millis(histogram, 99.9),
+                        histogram.getMaxValue() / MICROS_PER_MILLI);
+                try (PrintStream hgrm = new PrintStream(Files.newOutputStream(
+                        directory.resolve(result.getKey().key() + ".hgrm")))) {
+                    histogram.outputPercentileDistribution(hgrm, MICROS_PER_MILLI);
+                }
+            }
+        }
+        System.out.println("Отчет записан в " + directory);
+    }
+}
@@ -3,7 +3,11 @@ package ru.practicum.shareit.booking;
 import jakarta.validation.Valid;
 import jakarta.validation.ValidationException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Window;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -15,20 +19,28 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.enums.ExportFormat;
 import ru.practicum.shareit.booking.enums.RequestStates;
 import ru.practicum.shareit.booking.enums.StatusEnum;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingCursorMapper;
+import ru.practicum.shareit.booking.mapper.BookingExportWriter;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingApprovalResult;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exeptions.ForbiddenException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserExistenceService;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Контроллер для работы с бронированием.
@@ -38,13 +50,23 @@ import java.util.Collection;
 @RequestMapping("/bookings")
 public class BookingController {
 
+    /**
+     * Заголовок ответа с курсором следующей страницы списка бронирований.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookingService bookingService;
     private final ItemService itemService;
     private final UserService userService;
+    private final UserExistenceService userExistenceService;
     private final BookingMapper bookingMapper;
+    private final BookingCursorMapper bookingCursorMapper;
+    private final BookingExportWriter bookingExportWriter;
 
     /**
-     * Метод для обработки создания бронирования вещи.
+     * Метод для обработки создания бронирования вещи. Бронирование создается в статусе WAITING и отклоняется
+     * с кодом 409, если пересекается с подтвержденным бронированием вещи; ожидающие бронирования
+     * одной вещи могут пересекаться.
      *
      * @param bookerId         ID пользователя, который инициировал бронирование.
      * @param bookingCreateDto исходная информация для бронирования.
@@ -68,7 +90,8 @@ public class BookingController {
 
     /**
      * Метод для подтверждения/отклонения статуса бронирования вещи. Может быть выполнено только по запросу
-     * от владельца вещи.
+     * от владельца вещи. Подтверждение бронирования, пересекающегося с уже подтвержденным, отклоняется
+     * с кодом 409, бронирование остается в статусе WAITING.
      *
      * @param bookerId  ID пользователя, который инициировал бронирование.
      * @param bookingId ID бронирования для изменения статуса.
@@ -79,23 +102,29 @@ public class BookingController {
     public BookingDto approveBooking(@RequestHeader("X-Sharer-User-Id") long bookerId,
                                      @PathVariable("bookingId") long bookingId,
                                      @RequestParam("approved") Boolean approved) {
-        User booker = userService.get(bookerId);
-        Booking booking = bookingService.get(bookingId);
-        if (bookerId != booking.getItem().getOwner().getId()) {
-            throw new ForbiddenException(String
-                    .format("Пользователь - %s - не имеет права подтверждать/отклонять " +
-                            "бронирование, т.к. не является владельцем бронируемой вещи",
-                            booker));
-        }
-        if (approved) {
-            booking.setStatus(StatusEnum.APPROVED);
-        } else {
-            booking.setStatus(StatusEnum.REJECTED);
-        }
-        bookingService.save(booking);
+        userExistenceService.checkExists(bookerId);
+        Booking booking = bookingService.approve(bookingId, bookerId, approved);
         return bookingMapper.toDto(booking);
     }
 
+    /**
+     * Метод для пакетного подтверждения/отклонения бронирований владельцем вещей.
+     * Бронирования, которые не удалось обработать, не прерывают обработку остальных. Из пересекающихся
+     * бронирований одного запроса подтверждается первое по порядку, остальные возвращаются с ошибкой.
+     *
+     * @param ownerId    ID пользователя, от которого поступил запрос.
+     * @param approved   логическое значение статуса бронирований для подтверждения/отклонения.
+     * @param bookingIds список ID бронирований.
+     * @return результат обработки каждого бронирования.
+     */
+    @PatchMapping("/batch")
+    public List<BookingApprovalResult> approveBookings(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                                       @RequestParam("approved") Boolean approved,
+                                                       @RequestBody List<Long> bookingIds) {
+        userExistenceService.checkExists(ownerId);
+        return bookingService.approveAll(ownerId, bookingIds, approved);
+    }
+
     /**
      * Метод для просмотра владельцем вещи или автором бронирования сведений о бронировании.
      *
@@ -106,48 +135,97 @@ public class BookingController {
     @GetMapping("/{bookingId}")
     public BookingDto getBooking(@RequestHeader("X-Sharer-User-Id") long bookerId,
                                  @PathVariable("bookingId") long bookingId) {
-        User booker = userService.get(bookerId);
+        userExistenceService.checkExists(bookerId);
         Booking booking = bookingService.get(bookingId);
         if (bookerId != booking.getItem().getOwner().getId() && bookerId != booking.getBooker().getId()) {
             throw new ForbiddenException(String
                     .format("Пользователь - %s - не может получить информацию о бронировании, " +
-                            "т.к. не является ни владельцем вещи, ни автором бронирования.", booker));
+                            "т.к. не является ни владельцем вещи, ни автором бронирования.", bookerId));
         }
         return bookingMapper.toDto(booking);
     }
 
     /**
-     * Параметризованный метод для просмотра списка всех бронирований текущего пользователя
+     * Параметризованный метод для просмотра списка всех бронирований текущего пользователя.
+     * Выдача постраничная: курсор следующей страницы возвращается в заголовке X-Next-Cursor.
      *
      * @param bookerId ID пользователя, от которого поступил запрос на просмотр сведений.
      * @param state    необязательный параметр запроса. По умолчанию равен ALL. Возможные
      *                 значения: ALL,CURRENT,PAST,FUTURE,WAITING,REJECTED
+     * @param cursor   необязательный курсор, полученный вместе с предыдущей страницей.
+     * @param size     размер страницы.
      * @return список бронирований, отсортированных по дате от более новых к более старым.
      */
     @GetMapping
-    public Collection<BookingDto> getBookingsCurrentUserWithState(@RequestHeader("X-Sharer-User-Id") long bookerId,
-                                                                  @RequestParam(value = "state", defaultValue = "ALL")
-                                                                  RequestStates state) {
-        userService.get(bookerId);
-        Collection<Booking> bookings = bookingService.getBookingsCurrentUserWithState(bookerId, state);
-        return bookingMapper.toDto(bookings);
+    public ResponseEntity<Collection<BookingDto>> getBookingsCurrentUserWithState(
+            @RequestHeader("X-Sharer-User-Id") long bookerId,
+            @RequestParam(value = "state", defaultValue = "ALL") RequestStates state,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "100") int size) {
+        userExistenceService.checkExists(bookerId);
+        Window<BookingView> bookings = bookingService.getBookingsCurrentUserWithState(bookerId, state,
+                bookingCursorMapper.toPosition(cursor), size);
+        return toPageResponse(bookings);
     }
 
     /**
      * Метод для получения списка бронирований для всех вещей текущего пользователя.
+     * Выдача постраничная: курсор следующей страницы возвращается в заголовке X-Next-Cursor.
      *
      * @param ownerId ID пользователя (владельца), от которого поступил запрос на просмотр сведений.
      * @param state   необязательный параметр запроса. По умолчанию равен ALL. Возможные
      *                значения: ALL,CURRENT,PAST,FUTURE,WAITING,REJECTED
+     * @param cursor  необязательный курсор, полученный вместе с предыдущей страницей.
+     * @param size    размер страницы.
      * @return список бронирований, отсортированных по дате от более новых к более старым.
      */
     @GetMapping("/owner")
-    public Collection<BookingDto> getBookingsByOwner(@RequestHeader("X-Sharer-User-Id") long ownerId,
-                                                     @RequestParam(value = "state", defaultValue = "ALL")
-                                                     RequestStates state) {
-        userService.get(ownerId);
-        Collection<Booking> bookings = bookingService.getBookingsByOwner(ownerId, state);
-        return bookingMapper.toDto(bookings);
+    public ResponseEntity<Collection<BookingDto>> getBookingsByOwner(
+            @RequestHeader("X-Sharer-User-Id") long ownerId,
+            @RequestParam(value = "state", defaultValue = "ALL") RequestStates state,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "100") int size) {
+        userExistenceService.checkExists(ownerId);
+        Window<BookingView> bookings = bookingService.getBookingsByOwner(ownerId, state,
+                bookingCursorMapper.toPosition(cursor), size);
+        return toPageResponse(bookings);
+    }
+
+    /**
+     * Метод для выгрузки всех бронирований вещей текущего пользователя одним ответом.
+     * Строки формируются и отправляются клиенту по мере чтения из базы, не накапливаясь в памяти.
+     *
+     * @param ownerId ID пользователя (владельца), от которого поступил запрос на выгрузку.
+     * @param state   необязательный параметр запроса. По умолчанию равен ALL. Возможные
+     *                значения: ALL,CURRENT,PAST,FUTURE,WAITING,REJECTED
+     * @param format  необязательный формат выгрузки. По умолчанию равен NDJSON. Возможные значения: NDJSON,CSV
+     * @return бронирования, отсортированные по дате от более новых к более старым, по одному на строку.
+     */
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportBookingsByOwner(
+            @RequestHeader("X-Sharer-User-Id") long ownerId,
+            @RequestParam(value = "state", defaultValue = "ALL") RequestStates state,
+            @RequestParam(value = "format", defaultValue = "NDJSON") ExportFormat format) {
+        userExistenceService.checkExists(ownerId);
+        StreamingResponseBody body = out -> {
+            try (BookingExportWriter.Sink sink = bookingExportWriter.open(format, out)) {
+                bookingService.exportBookingsByOwner(ownerId, state, sink);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(bookingExportWriter.mediaType(format))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(bookingExportWriter.fileName(format)).build().toString())
+                .body(body);
+    }
+
+    private ResponseEntity<Collection<BookingDto>> toPageResponse(Window<BookingView> bookings) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        String nextCursor = bookingCursorMapper.toCursor(bookings);
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(bookingMapper.toDto(bookings.getContent()));
     }
 
 }
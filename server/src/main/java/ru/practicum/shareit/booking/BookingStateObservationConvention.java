@@ -0,0 +1,34 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.enums.RequestStates;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Добавляет к метрике http.server.requests тег state со значением параметра запроса state,
+ * чтобы время ответа списков бронирований можно было сравнивать по {@link RequestStates}.
+ * Тег есть у всех запросов, как того требует формат Prometheus: если параметр не передан
+ * или не является допустимым значением, тег равен none.
+ */
+@Component
+public class BookingStateObservationConvention extends DefaultServerRequestObservationConvention {
+
+    private static final String STATE = "state";
+    private static final KeyValue STATE_NONE = KeyValue.of(STATE, "none");
+    private static final Map<String, KeyValue> STATES = Arrays.stream(RequestStates.values())
+            .collect(Collectors.toMap(Enum::name, state -> KeyValue.of(STATE, state.name())));
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        String state = context.getCarrier().getParameter(STATE);
+        return super.getLowCardinalityKeyValues(context)
+                .and(state == null ? STATE_NONE : STATES.getOrDefault(state, STATE_NONE));
+    }
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking.enums;
+
+/**
+ * Роль пользователя по отношению к бронированию при выборке списка бронирований.
+ */
+public enum BookingRole {
+    BOOKER,
+    OWNER
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.booking.enums;
+
+/**
+ * Допустимый перечень значений для параметра format
+ * в endpoint - GET /bookings/owner/export?format={format}
+ */
+public enum ExportFormat {
+    NDJSON,
+    CSV
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.booking.mapper;
+
+import jakarta.validation.ValidationException;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.BookingView;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Преобразователь курсора постраничной выдачи бронирований.
+ * Курсор - непрозрачная для клиента строка, содержащая ключ последнего
+ * бронирования страницы (start_date, id).
+ */
+@Component
+public class BookingCursorMapper {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Преобразование курсора, полученного от клиента, в позицию для keyset-выборки.
+     *
+     * @param cursor курсор предыдущей страницы или null для первой страницы.
+     * @return позиция, с которой продолжается выборка.
+     */
+    public ScrollPosition toPosition(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            LocalDateTime startDate = LocalDateTime.parse(decoded.substring(0, separator));
+            Long id = Long.valueOf(decoded.substring(separator + 1));
+            return ScrollPosition.forward(Map.of("startDate", startDate, "id", id));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ValidationException(String.format("Некорректный курсор - %s", cursor));
+        }
+    }
+
+    /**
+     * Получение курсора для следующей страницы.
+     *
+     * @param window текущая страница бронирований.
+     * @return курсор следующей страницы или null, если страница последняя.
+     */
+    public String toCursor(Window<BookingView> window) {
+        if (!window.hasNext() || window.isEmpty()) {
+            return null;
+        }
+        BookingView last = window.getContent().getLast();
+        String key = last.startDate() + SEPARATOR + last.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+}
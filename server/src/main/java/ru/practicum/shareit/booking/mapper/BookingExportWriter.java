@@ -0,0 +1,156 @@
+package ru.practicum.shareit.booking.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.enums.ExportFormat;
+import ru.practicum.shareit.booking.model.BookingView;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Запись выгрузки бронирований в выходной поток по одной строке на бронирование.
+ * NDJSON содержит те же объекты, что и списочные endpoint-ы; CSV - плоский набор столбцов.
+ */
+@Component
+public class BookingExportWriter {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    private static final String CSV_HEADER =
+            "id,start,end,status,item_id,item_name,owner_id,booker_id,booker_name,booker_email";
+
+    private final BookingMapper bookingMapper;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter jsonWriter;
+
+    public BookingExportWriter(BookingMapper bookingMapper, ObjectMapper objectMapper) {
+        this.bookingMapper = bookingMapper;
+        this.objectMapper = objectMapper;
+        this.jsonWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Тип содержимого выгрузки.
+     */
+    public MediaType mediaType(ExportFormat format) {
+        return switch (format) {
+            case NDJSON -> MediaType.APPLICATION_NDJSON;
+            case CSV -> TEXT_CSV;
+        };
+    }
+
+    /**
+     * Имя файла выгрузки для заголовка Content-Disposition.
+     */
+    public String fileName(ExportFormat format) {
+        return "bookings." + format.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Открытие записи выгрузки. Бронирования, переданные в accept, буферизуются и записываются
+     * в out порциями; close дописывает буфер, не закрывая out.
+     *
+     * @param format формат выгрузки.
+     * @param out    выходной поток.
+     * @return приемник бронирований.
+     */
+    public Sink open(ExportFormat format, OutputStream out) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonSink(out);
+            case CSV -> new CsvSink(out);
+        };
+    }
+
+    /**
+     * Приемник бронирований выгрузки. Ошибки записи передаются как UncheckedIOException.
+     */
+    public interface Sink extends Consumer<BookingView>, Closeable {
+    }
+
+    private final class NdjsonSink implements Sink {
+        private final JsonGenerator generator;
+
+        private NdjsonSink(OutputStream out) throws IOException {
+            generator = objectMapper.getFactory().createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void accept(BookingView booking) {
+            try {
+                jsonWriter.writeValue(generator, bookingMapper.toDto(booking));
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static final class CsvSink implements Sink {
+        private final Writer writer;
+
+        private CsvSink(OutputStream out) throws IOException {
+            writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        @Override
+        public void accept(BookingView booking) {
+            try {
+                writer.write(String.join(",",
+                        String.valueOf(booking.id()),
+                        String.valueOf(booking.startDate()),
+                        String.valueOf(booking.endDate()),
+                        String.valueOf(booking.status()),
+                        String.valueOf(booking.itemId()),
+                        escape(booking.itemName()),
+                        String.valueOf(booking.ownerId()),
+                        String.valueOf(booking.bookerId()),
+                        escape(booking.bookerName()),
+                        escape(booking.bookerEmail())));
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+
+        /**
+         * Экранирование значения по RFC 4180: значения с запятыми, кавычками и переводами строк
+         * заключаются в кавычки, кавычки внутри удваиваются.
+         */
+        private static String escape(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                    && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
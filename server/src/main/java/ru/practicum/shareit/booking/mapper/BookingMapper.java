@@ -5,6 +5,7 @@ import ru.practicum.shareit.booking.enums.StatusEnum;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -54,16 +55,52 @@ public class BookingMapper {
     }
 
     /**
-     * Преобразование списка из Booking в список из BookingDto.
+     * Преобразование проекции BookingView в BookingDto.
+     * Вещь и пользователи собираются из столбцов проекции и не связаны с контекстом персистентности.
+     *
+     * @param view Исходная проекция для преобразования.
+     * @return объект BookingDto.
+     */
+    public BookingDto toDto(BookingView view) {
+        BookingDto dto = new BookingDto();
+        dto.setId(view.id());
+        dto.setStart(view.startDate());
+        dto.setEnd(view.endDate());
+        dto.setItem(Item.builder()
+                .id(view.itemId())
+                .name(view.itemName())
+                .description(view.itemDescription())
+                .isAvailable(view.itemAvailable())
+                .requestId(view.itemRequestId())
+                .owner(user(view.ownerId(), view.ownerName(), view.ownerEmail()))
+                .build());
+        dto.setBooker(user(view.bookerId(), view.bookerName(), view.bookerEmail()));
+        dto.setStatus(view.status());
+        return dto;
+    }
+
+    /**
+     * Преобразование списка из BookingView в список из BookingDto.
      *
      * @param bookings Исходный список для преобразования.
      * @return список BookingDto.
      */
-    public Collection<BookingDto> toDto(Collection<Booking> bookings) {
+    public Collection<BookingDto> toDto(Collection<BookingView> bookings) {
         Collection<BookingDto> dtoCollection = new ArrayList<>();
-        for (Booking booking : bookings) {
+        for (BookingView booking : bookings) {
             dtoCollection.add(toDto(booking));
         }
         return dtoCollection;
     }
+
+    private static User user(Long id, String name, String email) {
+        if (id == null) {
+            return null;
+        }
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        user.setEmail(email);
+        return user;
+    }
 }
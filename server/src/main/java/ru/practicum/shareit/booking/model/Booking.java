@@ -4,16 +4,23 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
 import ru.practicum.shareit.booking.enums.StatusEnum;
+import ru.practicum.shareit.config.IdGeneration;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -23,9 +30,21 @@ import java.time.LocalDateTime;
 @Setter
 @Entity
 @Table(name = "bookings")
+@NamedEntityGraph(name = Booking.DETAILS_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode(value = "item", subgraph = "item"),
+                @NamedAttributeNode("booker")
+        },
+        subgraphs = @NamedSubgraph(name = "item", attributeNodes = @NamedAttributeNode("owner")))
 public class Booking {
+    /**
+     * План загрузки бронирования вместе с вещью, ее владельцем и автором бронирования.
+     */
+    public static final String DETAILS_GRAPH = "Booking.details";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -35,11 +54,11 @@ public class Booking {
     @Column(name = "end_date")
     private LocalDateTime endDate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id")
     private Item item;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booker_id")
     private User booker;
 
@@ -47,4 +66,8 @@ public class Booking {
     @Enumerated(EnumType.STRING)
     @Column(name = "status")
     private StatusEnum status;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.model;
+
+import ru.practicum.shareit.booking.enums.StatusEnum;
+
+/**
+ * Результат подтверждения/отклонения одного бронирования в составе пакета.
+ *
+ * @param bookingId ID бронирования.
+ * @param success   true, если бронирование находится в запрошенном статусе.
+ * @param status    статус бронирования после обработки или null, если бронирование не найдено.
+ * @param error     причина отказа или null при успехе.
+ */
+public record BookingApprovalResult(Long bookingId,
+                                    boolean success,
+                                    StatusEnum status,
+                                    String error) {
+
+    public static BookingApprovalResult success(long bookingId, StatusEnum status) {
+        return new BookingApprovalResult(bookingId, true, status, null);
+    }
+
+    public static BookingApprovalResult failure(long bookingId, StatusEnum status, String error) {
+        return new BookingApprovalResult(bookingId, false, status, error);
+    }
+}
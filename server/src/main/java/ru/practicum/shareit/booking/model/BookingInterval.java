@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Интервал [startDate, endDate), на который забронирована вещь.
+ */
+public record BookingInterval(Long itemId,
+                              LocalDateTime startDate,
+                              LocalDateTime endDate) {
+
+    /**
+     * Пересечение с интервалом той же вещи.
+     */
+    public boolean overlaps(BookingInterval other) {
+        return itemId.equals(other.itemId)
+                && startDate.isBefore(other.endDate)
+                && endDate.isAfter(other.startDate);
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.model;
+
+import ru.practicum.shareit.booking.enums.StatusEnum;
+
+import java.time.LocalDateTime;
+
+/**
+ * Проекция бронирования для проверки прав на смену статуса: вещь, ее владелец, текущий статус и интервал.
+ */
+public record BookingOwnership(Long id,
+                               Long itemId,
+                               Long ownerId,
+                               StatusEnum status,
+                               LocalDateTime startDate,
+                               LocalDateTime endDate) {
+
+    /**
+     * Интервал бронирования.
+     */
+    public BookingInterval interval() {
+        return new BookingInterval(itemId, startDate, endDate);
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.booking.model;
+
+import ru.practicum.shareit.booking.enums.StatusEnum;
+
+import java.time.LocalDateTime;
+
+/**
+ * Проекция бронирования для списочной выдачи: плоский набор столбцов бронирования,
+ * вещи, ее владельца и автора бронирования без загрузки сущностей в контекст персистентности.
+ */
+public record BookingView(Long id,
+                          LocalDateTime startDate,
+                          LocalDateTime endDate,
+                          StatusEnum status,
+                          Long itemId,
+                          String itemName,
+                          String itemDescription,
+                          Boolean itemAvailable,
+                          Long itemRequestId,
+                          Long ownerId,
+                          String ownerName,
+                          String ownerEmail,
+                          Long bookerId,
+                          String bookerName,
+                          String bookerEmail) {
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.booking.enums.StatusEnum;
+
+import java.util.List;
+
+/**
+ * Пакетная смена статусов бронирований через JDBC.
+ */
+public interface BookingBatchRepository {
+
+    /**
+     * Смена статуса бронирований, находящихся в ожидаемом статусе, одним пакетом JDBC.
+     *
+     * @param ids      ID бронирований.
+     * @param expected статус, в котором должно находиться бронирование.
+     * @param status   новый статус.
+     * @return число измененных строк для каждого ID в порядке следования ids.
+     */
+    int[] compareAndSetStatuses(List<Long> ids, StatusEnum expected, StatusEnum status);
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.enums.StatusEnum;
+
+import java.util.List;
+
+/**
+ * Реализация пакетной смены статусов на JdbcTemplate. Запрос выполняется в соединении текущей
+ * транзакции, поэтому изменения фиксируются вместе с остальной работой сервиса.
+ */
+@RequiredArgsConstructor
+public class BookingBatchRepositoryImpl implements BookingBatchRepository {
+
+    private static final String COMPARE_AND_SET_STATUS = "UPDATE bookings SET status = ?, version = version + 1 "
+            + "WHERE id = ? AND status = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int[] compareAndSetStatuses(List<Long> ids, StatusEnum expected, StatusEnum status) {
+        if (ids.isEmpty()) {
+            return new int[0];
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(COMPARE_AND_SET_STATUS, ids, ids.size(), (statement, id) -> {
+            statement.setString(1, status.name());
+            statement.setLong(2, id);
+            statement.setString(3, expected.name());
+        });
+        return counts[0];
+    }
+}
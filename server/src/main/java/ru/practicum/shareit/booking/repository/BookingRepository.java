@@ -1,35 +1,87 @@
 package ru.practicum.shareit.booking.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.booking.enums.StatusEnum;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.model.BookingOwnership;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    Collection<Booking> findAllByBookerIdOrderByStartDateDesc(Long id);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingSearchRepository,
+        BookingBatchRepository {
 
-    Collection<Booking> findAllByBookerIdAndStartDateBeforeAndEndDateAfterOrderByStartDateDesc(Long bookerId, LocalDateTime now, LocalDateTime now1);
+    @Override
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    Optional<Booking> findById(Long id);
 
-    Collection<Booking> findAllByBookerIdAndEndDateBeforeOrderByStartDateDesc(Long bookerId, LocalDateTime now);
+    /**
+     * Проверка пересечения интервала [start, end) с бронированиями вещи в указанных статусах.
+     */
+    @Query("select count(b) > 0 from Booking b where b.item.id = :itemId and b.status in :statuses "
+            + "and b.startDate < :end and b.endDate > :start")
+    boolean existsOverlapping(@Param("itemId") long itemId,
+                              @Param("start") LocalDateTime start,
+                              @Param("end") LocalDateTime end,
+                              @Param("statuses") Collection<StatusEnum> statuses);
 
-    Collection<Booking> findAllByBookerIdAndStartDateAfterOrderByStartDateDesc(Long bookerId, LocalDateTime now);
+    /**
+     * Проверка пересечения интервала [start, end) с другими бронированиями вещи в указанных статусах.
+     */
+    @Query("select count(b) > 0 from Booking b where b.item.id = :itemId and b.id <> :bookingId "
+            + "and b.status in :statuses and b.startDate < :end and b.endDate > :start")
+    boolean existsOverlappingOthers(@Param("bookingId") long bookingId,
+                                    @Param("itemId") long itemId,
+                                    @Param("start") LocalDateTime start,
+                                    @Param("end") LocalDateTime end,
+                                    @Param("statuses") Collection<StatusEnum> statuses);
 
-    Collection<Booking> findAllByBookerIdAndStatusOrderByStartDateDesc(Long bookerId, StatusEnum status);
+    /**
+     * Смена статуса бронирования, если оно находится в ожидаемом статусе и вещь принадлежит указанному владельцу.
+     *
+     * @return число измененных строк: 1 при успешной смене статуса, иначе 0.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking b set b.status = :status, b.version = b.version + 1 "
+            + "where b.id = :id and b.status = :expected "
+            + "and b.item.id in (select i.id from Item i where i.owner.id = :ownerId)")
+    int compareAndSetStatus(@Param("id") long id,
+                            @Param("ownerId") long ownerId,
+                            @Param("expected") StatusEnum expected,
+                            @Param("status") StatusEnum status);
 
-    Collection<Booking> findAllByItemOwnerIdOrderByStartDateDesc(Long ownerId);
+    /**
+     * Получение вещи, ее владельца, статуса и интервала для набора бронирований одним запросом.
+     */
+    @Query("select new ru.practicum.shareit.booking.model.BookingOwnership(b.id, b.item.id, b.item.owner.id, "
+            + "b.status, b.startDate, b.endDate) from Booking b where b.id in :ids")
+    List<BookingOwnership> findOwnership(@Param("ids") Collection<Long> ids);
 
-    Collection<Booking> findAllByItemOwnerIdAndStartDateBeforeAndEndDateAfterOrderByStartDateDesc(Long ownerId, LocalDateTime now, LocalDateTime now1);
+    /**
+     * ID вещей набора бронирований без повторов.
+     */
+    @Query("select distinct b.item.id from Booking b where b.id in :ids")
+    List<Long> findItemIds(@Param("ids") Collection<Long> ids);
 
-    Collection<Booking> findAllByItemOwnerIdAndEndDateBeforeOrderByStartDateDesc(Long ownerId, LocalDateTime now);
-
-    Collection<Booking> findAllByItemOwnerIdAndStartDateAfterOrderByStartDateDesc(Long ownerId, LocalDateTime now);
-
-    Collection<Booking> findAllByItemOwnerIdAndStatusOrderByStartDateDesc(Long ownerId, StatusEnum status);
+    /**
+     * Интервалы бронирований вещей в указанных статусах, пересекающиеся с интервалом [start, end).
+     */
+    @Query("select new ru.practicum.shareit.booking.model.BookingInterval(b.item.id, b.startDate, b.endDate) "
+            + "from Booking b where b.item.id in :itemIds and b.status in :statuses "
+            + "and b.startDate < :end and b.endDate > :start")
+    List<BookingInterval> findIntervals(@Param("itemIds") Collection<Long> itemIds,
+                                        @Param("start") LocalDateTime start,
+                                        @Param("end") LocalDateTime end,
+                                        @Param("statuses") Collection<StatusEnum> statuses);
 
     Optional<Booking> findByItemIdAndBookerIdAndStartDateBeforeAndStatus(Long itemId, Long bookerId, LocalDateTime endDate, StatusEnum status);
 }
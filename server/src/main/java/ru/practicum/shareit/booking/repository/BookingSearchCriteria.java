@@ -0,0 +1,34 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.data.domain.ScrollPosition;
+import ru.practicum.shareit.booking.enums.BookingRole;
+import ru.practicum.shareit.booking.enums.RequestStates;
+
+import java.time.LocalDateTime;
+
+/**
+ * Параметры выборки списка бронирований.
+ */
+@Getter
+@Builder
+public class BookingSearchCriteria {
+    /**
+     * Роль пользователя: автор бронирований или владелец забронированных вещей.
+     */
+    private final BookingRole role;
+
+    private final long userId;
+
+    private final RequestStates state;
+
+    /**
+     * Момент времени, относительно которого вычисляются состояния CURRENT, PAST и FUTURE.
+     */
+    private final LocalDateTime now;
+
+    private final ScrollPosition position;
+
+    private final int size;
+}
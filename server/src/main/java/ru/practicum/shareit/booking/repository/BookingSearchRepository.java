@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Window;
+import ru.practicum.shareit.booking.model.BookingView;
+
+import java.util.stream.Stream;
+
+/**
+ * Выборка списков бронирований одним запросом для любой комбинации роли пользователя и состояния.
+ */
+public interface BookingSearchRepository {
+
+    Window<BookingView> search(BookingSearchCriteria criteria);
+
+    /**
+     * Потоковая выборка всех бронирований, подходящих под условия, в том же порядке, что и search.
+     * Строки читаются из курсора СУБД порциями по мере потребления потока; размер страницы
+     * из criteria не учитывается. Поток должен потребляться и закрываться внутри транзакции.
+     */
+    Stream<BookingView> stream(BookingSearchCriteria criteria);
+}
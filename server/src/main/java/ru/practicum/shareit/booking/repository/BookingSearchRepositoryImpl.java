@@ -0,0 +1,143 @@
+package ru.practicum.shareit.booking.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import ru.practicum.shareit.booking.enums.StatusEnum;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Реализация выборки бронирований на основе Criteria API.
+ * Роль, состояние и позиция курсора превращаются в условия одного SQL-запроса,
+ * упорядоченного по (start_date, id) от более новых к более старым.
+ * Выбираются только столбцы проекции BookingView, сущности не создаются.
+ * Строки проекции не попадают в контекст персистентности, поэтому потоковая выборка
+ * расходует память только на текущую порцию строк независимо от их общего числа.
+ */
+public class BookingSearchRepositoryImpl implements BookingSearchRepository {
+
+    private static final String START_DATE = "startDate";
+    private static final String END_DATE = "endDate";
+    private static final String ID = "id";
+    /**
+     * Число строк, получаемых от СУБД за одно обращение к курсору при потоковой выборке.
+     */
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Window<BookingView> search(BookingSearchCriteria criteria) {
+        int size = criteria.getSize();
+        List<BookingView> rows = entityManager.createQuery(query(criteria))
+                .setMaxResults(size + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > size;
+        List<BookingView> content = hasNext ? rows.subList(0, size) : rows;
+        return Window.from(content, index -> positionOf(content.get(index)), hasNext);
+    }
+
+    @Override
+    public Stream<BookingView> stream(BookingSearchCriteria criteria) {
+        return entityManager.createQuery(query(criteria))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    private CriteriaQuery<BookingView> query(BookingSearchCriteria criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingView> query = cb.createQuery(BookingView.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, Item> item = booking.join("item", JoinType.LEFT);
+        Join<Item, User> owner = item.join("owner", JoinType.LEFT);
+        Join<Booking, User> booker = booking.join("booker", JoinType.LEFT);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(rolePredicate(cb, query, booking, criteria));
+        Predicate state = statePredicate(cb, booking, criteria);
+        if (state != null) {
+            predicates.add(state);
+        }
+        Predicate keyset = keysetPredicate(cb, booking, criteria.getPosition());
+        if (keyset != null) {
+            predicates.add(keyset);
+        }
+
+        return query.select(cb.construct(BookingView.class,
+                        booking.get(ID), booking.get(START_DATE), booking.get(END_DATE), booking.get("status"),
+                        item.get(ID), item.get("name"), item.get("description"), item.get("isAvailable"),
+                        item.get("requestId"),
+                        owner.get(ID), owner.get("name"), owner.get("email"),
+                        booker.get(ID), booker.get("name"), booker.get("email")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(booking.get(START_DATE)), cb.desc(booking.get(ID)));
+    }
+
+    /**
+     * Условие на роль пользователя. Вещи владельца выбираются подзапросом, чтобы СУБД могла
+     * начать с индекса items(owner_id) и затем использовать индекс bookings(item_id, ...)
+     * независимо от присоединяемых для загрузки таблиц.
+     */
+    private static Predicate rolePredicate(CriteriaBuilder cb, CriteriaQuery<?> query, Root<Booking> booking,
+                                           BookingSearchCriteria criteria) {
+        return switch (criteria.getRole()) {
+            case BOOKER -> cb.equal(booking.get("booker").get(ID), criteria.getUserId());
+            case OWNER -> {
+                Subquery<Long> ownerItems = query.subquery(Long.class);
+                Root<Item> item = ownerItems.from(Item.class);
+                ownerItems.select(item.get(ID)).where(cb.equal(item.get("owner").get(ID), criteria.getUserId()));
+                yield booking.get("item").get(ID).in(ownerItems);
+            }
+        };
+    }
+
+    private static Predicate statePredicate(CriteriaBuilder cb, Root<Booking> booking, BookingSearchCriteria criteria) {
+        LocalDateTime now = criteria.getNow();
+        Path<LocalDateTime> start = booking.get(START_DATE);
+        Path<LocalDateTime> end = booking.get(END_DATE);
+        return switch (criteria.getState()) {
+            case ALL -> null;
+            case CURRENT -> cb.and(cb.lessThan(start, now), cb.greaterThan(end, now));
+            case PAST -> cb.lessThan(end, now);
+            case FUTURE -> cb.greaterThan(start, now);
+            case WAITING -> cb.equal(booking.get("status"), StatusEnum.WAITING);
+            case REJECTED -> cb.equal(booking.get("status"), StatusEnum.REJECTED);
+        };
+    }
+
+    private static Predicate keysetPredicate(CriteriaBuilder cb, Root<Booking> booking, ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset) || keyset.isInitial()) {
+            return null;
+        }
+        LocalDateTime lastStart = (LocalDateTime) keyset.getKeys().get(START_DATE);
+        Long lastId = (Long) keyset.getKeys().get(ID);
+        Path<LocalDateTime> start = booking.get(START_DATE);
+        return cb.or(cb.lessThan(start, lastStart),
+                cb.and(cb.equal(start, lastStart), cb.lessThan(booking.get(ID), lastId)));
+    }
+
+    private static ScrollPosition positionOf(BookingView booking) {
+        return ScrollPosition.forward(Map.of(START_DATE, booking.startDate(), ID, booking.id()));
+    }
+}
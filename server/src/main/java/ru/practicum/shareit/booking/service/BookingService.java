@@ -1,18 +1,55 @@
 package ru.practicum.shareit.booking.service;
 
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import ru.practicum.shareit.booking.enums.RequestStates;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingApprovalResult;
+import ru.practicum.shareit.booking.model.BookingView;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
     Booking create(Booking booking);
 
     Booking get(long bookingId);
 
-    void save(Booking booking);
+    /**
+     * Подтверждение или отклонение ожидающего бронирования владельцем вещи.
+     * Повторный вызов с тем же решением возвращает бронирование без изменений.
+     *
+     * @param bookingId ID бронирования.
+     * @param ownerId   ID пользователя, принимающего решение.
+     * @param approved  true - подтвердить, false - отклонить.
+     * @return бронирование в новом статусе.
+     */
+    Booking approve(long bookingId, long ownerId, boolean approved);
 
-    Collection<Booking> getBookingsCurrentUserWithState(long bookerId, RequestStates state);
+    /**
+     * Пакетное подтверждение или отклонение ожидающих бронирований владельцем вещей.
+     * Отказ по одному бронированию не влияет на обработку остальных.
+     *
+     * @param ownerId    ID пользователя, принимающего решение.
+     * @param bookingIds ID бронирований; повторяющиеся ID обрабатываются один раз.
+     * @param approved   true - подтвердить, false - отклонить.
+     * @return результат по каждому бронированию в порядке следования bookingIds.
+     */
+    List<BookingApprovalResult> approveAll(long ownerId, Collection<Long> bookingIds, boolean approved);
 
-    Collection<Booking> getBookingsByOwner(long ownerId, RequestStates state);
+    Window<BookingView> getBookingsCurrentUserWithState(long bookerId, RequestStates state, ScrollPosition position, int size);
+
+    Window<BookingView> getBookingsByOwner(long ownerId, RequestStates state, ScrollPosition position, int size);
+
+    /**
+     * Последовательная передача всех бронирований вещей владельца от более новых к более старым.
+     * Бронирования читаются из базы порциями по мере обработки, поэтому их число не ограничено
+     * объемом памяти. Выборка выполняется в одной транзакции, открытой на время вызова.
+     *
+     * @param ownerId ID владельца вещей.
+     * @param state   состояние бронирований.
+     * @param action  обработчик, вызываемый для каждого бронирования.
+     */
+    void exportBookingsByOwner(long ownerId, RequestStates state, Consumer<BookingView> action);
 }
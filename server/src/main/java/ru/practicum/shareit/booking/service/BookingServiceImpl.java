@@ -1,24 +1,82 @@
 package ru.practicum.shareit.booking.service;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.MeterTag;
+import jakarta.validation.ValidationException;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.enums.BookingRole;
 import ru.practicum.shareit.booking.enums.RequestStates;
 import ru.practicum.shareit.booking.enums.StatusEnum;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingApprovalResult;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.model.BookingOwnership;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingSearchCriteria;
+import ru.practicum.shareit.exeptions.ConflictException;
+import ru.practicum.shareit.exeptions.ForbiddenException;
 import ru.practicum.shareit.exeptions.NotFoundException;
 import ru.practicum.shareit.exeptions.ResourceUnavailableException;
+import ru.practicum.shareit.item.service.ItemBookingStatsService;
+import ru.practicum.shareit.lock.ItemLocks;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
+@Timed(value = "shareit.service", histogram = true)
 @AllArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    /**
+     * Максимальный размер страницы при постраничном получении бронирований.
+     */
+    public static final int MAX_PAGE_SIZE = 500;
+    /**
+     * Максимальное число бронирований в одном пакетном подтверждении/отклонении.
+     */
+    public static final int MAX_BATCH_SIZE = 500;
+    /**
+     * Статусы бронирований, занимающих вещь на свой интервал. Ожидающие подтверждения бронирования
+     * вещь не занимают и могут пересекаться между собой; пересечение проверяется при подтверждении.
+     */
+    public static final Set<StatusEnum> ACTIVE_STATUSES = EnumSet.of(StatusEnum.APPROVED);
+    /**
+     * SQLSTATE нарушения ограничения-исключения PostgreSQL (bookings_no_overlap).
+     */
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
     private final BookingRepository bookingRepository;
+    private final ItemBookingStatsService itemBookingStatsService;
+    private final ItemLocks itemLocks;
+    private final TransactionTemplate transactionTemplate;
 
+    /**
+     * Создание бронирования. Проверка пересечения с подтвержденными бронированиями вещи и вставка
+     * выполняются под блокировкой этой вещи, поэтому бронирования разных вещей не ждут друг друга.
+     */
     @Override
     public Booking create(Booking booking) {
         if (!booking.getItem().getIsAvailable()) {
@@ -26,78 +84,268 @@ public class BookingServiceImpl implements BookingService {
                     .format("Бронирование вещи %s не доступно", booking.getItem().getName()));
         }
 
-        return bookingRepository.save(booking);
+        long itemId = booking.getItem().getId();
+        Lock lock = itemLocks.forItem(itemId);
+        lock.lock();
+        try {
+            if (bookingRepository.existsOverlapping(itemId, booking.getStartDate(), booking.getEndDate(),
+                    ACTIVE_STATUSES)) {
+                throw overlap(booking);
+            }
+            Booking saved;
+            try {
+                saved = bookingRepository.save(booking);
+            } catch (DataIntegrityViolationException e) {
+                if (isExclusionViolation(e)) {
+                    throw overlap(booking);
+                }
+                throw e;
+            }
+            itemBookingStatsService.refresh(itemId);
+            return saved;
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
     public Booking get(long bookingId) {
         return bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new NotFoundException(String.format("Бронирование с ID - %s не найдено.", bookingId)));
+                .orElseThrow(() -> new NotFoundException(notFoundMessage(bookingId)));
     }
 
+    /**
+     * Смена статуса выполняется условным UPDATE (WAITING -> APPROVED/REJECTED), без чтения и
+     * последующей записи сущности. Если строка не изменилась, причина определяется по текущему состоянию:
+     * бронирования нет, пользователь не владелец вещи, решение уже принято (повтор запроса) или принято другое.
+     * Подтверждение выполняется под блокировкой вещи и отменяется, если интервал пересекается с уже
+     * подтвержденным бронированием; транзакция фиксируется до снятия блокировки.
+     * Между экземплярами приложения пересечения отсекает ограничение bookings_no_overlap в PostgreSQL.
+     */
     @Override
-    public void save(Booking booking) {
-        bookingRepository.save(booking);
+    public Booking approve(long bookingId, long ownerId, boolean approved) {
+        if (!approved) {
+            return transactionTemplate.execute(status -> decide(bookingId, ownerId, StatusEnum.REJECTED));
+        }
+        Lock lock = itemLocks.forItem(get(bookingId).getItem().getId());
+        lock.lock();
+        try {
+            return transactionTemplate.execute(status -> decide(bookingId, ownerId, StatusEnum.APPROVED));
+        } catch (DataIntegrityViolationException e) {
+            if (isExclusionViolation(e)) {
+                throw new ConflictException(overlapMessage(bookingId));
+            }
+            throw e;
+        } finally {
+            lock.unlock();
+        }
     }
 
+    /**
+     * Права, текущие статусы и интервалы всех бронирований проверяются одним запросом, после чего ожидающие
+     * бронирования переводятся в новый статус одним пакетом условных UPDATE. Бронирование, статус
+     * которого успел измениться между проверкой и обновлением, попадает в ответ как конфликт.
+     * При подтверждении блокируются все затронутые вещи, а бронирование, пересекающееся с подтвержденным
+     * ранее или с предыдущим бронированием того же пакета, не подтверждается и попадает в ответ как конфликт.
+     */
     @Override
-    public Collection<Booking> getBookingsCurrentUserWithState(long bookerId, RequestStates state) {
-        switch (state) {
-            case ALL -> {
-                return bookingRepository.findAllByBookerIdOrderByStartDateDesc(bookerId);
-            }
-            case CURRENT -> {
-                return bookingRepository.findAllByBookerIdAndStartDateBeforeAndEndDateAfterOrderByStartDateDesc(bookerId,
-                        LocalDateTime.now(), LocalDateTime.now());
-            }
-            case PAST -> {
-                return bookingRepository.findAllByBookerIdAndEndDateBeforeOrderByStartDateDesc(bookerId,
-                        LocalDateTime.now());
-            }
-            case FUTURE -> {
-                return bookingRepository.findAllByBookerIdAndStartDateAfterOrderByStartDateDesc(bookerId,
-                        LocalDateTime.now());
-            }
-            case WAITING -> {
-                return bookingRepository.findAllByBookerIdAndStatusOrderByStartDateDesc(bookerId,
-                        StatusEnum.WAITING);
-            }
-            case REJECTED -> {
-                return bookingRepository.findAllByBookerIdAndStatusOrderByStartDateDesc(bookerId,
-                        StatusEnum.REJECTED);
+    public List<BookingApprovalResult> approveAll(long ownerId, Collection<Long> bookingIds, boolean approved) {
+        Set<Long> ids = new LinkedHashSet<>(bookingIds);
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException(String
+                    .format("За один запрос можно обработать не более %s бронирований.", MAX_BATCH_SIZE));
+        }
+        if (!approved) {
+            return transactionTemplate.execute(status -> decideAll(ownerId, ids, StatusEnum.REJECTED));
+        }
+        List<Lock> locks = itemLocks.forItems(bookingRepository.findItemIds(ids));
+        locks.forEach(Lock::lock);
+        try {
+            return transactionTemplate.execute(status -> decideAll(ownerId, ids, StatusEnum.APPROVED));
+        } catch (DataIntegrityViolationException e) {
+            if (isExclusionViolation(e)) {
+                throw new ConflictException("Подтверждаемые бронирования пересекаются с бронированиями, "
+                        + "подтвержденными другим запросом.");
             }
-            default -> throw new IllegalStateException("Unexpected value: " + state);
+            throw e;
+        } finally {
+            locks.reversed().forEach(Lock::unlock);
         }
     }
 
     @Override
-    public Collection<Booking> getBookingsByOwner(long ownerId, RequestStates state) {
-        switch (state) {
-            case ALL -> {
-                return bookingRepository.findAllByItemOwnerIdOrderByStartDateDesc(ownerId);
+    @Transactional(readOnly = true)
+    @Timed(value = "shareit.booking.search", histogram = true)
+    public Window<BookingView> getBookingsCurrentUserWithState(long bookerId,
+                                                               @MeterTag("state") RequestStates state,
+                                                               ScrollPosition position, int size) {
+        return findBookings(BookingRole.BOOKER, bookerId, state, position, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Timed(value = "shareit.booking.search", histogram = true)
+    public Window<BookingView> getBookingsByOwner(long ownerId, @MeterTag("state") RequestStates state,
+                                                  ScrollPosition position, int size) {
+        return findBookings(BookingRole.OWNER, ownerId, state, position, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Timed(value = "shareit.booking.search", histogram = true)
+    public void exportBookingsByOwner(long ownerId, @MeterTag("state") RequestStates state,
+                                      Consumer<BookingView> action) {
+        try (Stream<BookingView> bookings = bookingRepository.stream(
+                criteria(BookingRole.OWNER, ownerId, state, ScrollPosition.keyset(), MAX_PAGE_SIZE))) {
+            bookings.forEach(action);
+        }
+    }
+
+    private Booking decide(long bookingId, long ownerId, StatusEnum target) {
+        int updated = bookingRepository.compareAndSetStatus(bookingId, ownerId, StatusEnum.WAITING, target);
+        Booking booking = get(bookingId);
+        if (updated == 0) {
+            if (ownerId != booking.getItem().getOwner().getId()) {
+                throw new ForbiddenException(notOwnerMessage(ownerId));
             }
-            case CURRENT -> {
-                return bookingRepository
-                        .findAllByItemOwnerIdAndStartDateBeforeAndEndDateAfterOrderByStartDateDesc(ownerId,
-                                LocalDateTime.now(), LocalDateTime.now());
+            if (booking.getStatus() != target) {
+                throw new ConflictException(alreadyDecidedMessage(bookingId, booking.getStatus()));
             }
-            case PAST -> {
-                return bookingRepository.findAllByItemOwnerIdAndEndDateBeforeOrderByStartDateDesc(ownerId,
-                        LocalDateTime.now());
+            return booking;
+        }
+        long itemId = booking.getItem().getId();
+        if (target == StatusEnum.APPROVED && bookingRepository.existsOverlappingOthers(bookingId, itemId,
+                booking.getStartDate(), booking.getEndDate(), ACTIVE_STATUSES)) {
+            // исключение откатывает транзакцию, бронирование остается в статусе WAITING
+            throw overlap(booking);
+        }
+        itemBookingStatsService.refresh(itemId);
+        return booking;
+    }
+
+    private List<BookingApprovalResult> decideAll(long ownerId, Set<Long> ids, StatusEnum target) {
+        Map<Long, BookingOwnership> bookings = bookingRepository.findOwnership(ids).stream()
+                .collect(Collectors.toMap(BookingOwnership::id, Function.identity()));
+
+        Map<Long, BookingApprovalResult> results = new LinkedHashMap<>();
+        List<Long> waiting = new ArrayList<>();
+        for (Long id : ids) {
+            BookingOwnership booking = bookings.get(id);
+            if (booking == null) {
+                results.put(id, BookingApprovalResult.failure(id, null, notFoundMessage(id)));
+            } else if (ownerId != booking.ownerId()) {
+                results.put(id, BookingApprovalResult.failure(id, booking.status(), notOwnerMessage(ownerId)));
+            } else if (booking.status() == StatusEnum.WAITING) {
+                results.put(id, null);
+                waiting.add(id);
+            } else if (booking.status() == target) {
+                results.put(id, BookingApprovalResult.success(id, target));
+            } else {
+                results.put(id, BookingApprovalResult.failure(id, booking.status(),
+                        alreadyDecidedMessage(id, booking.status())));
             }
-            case FUTURE -> {
-                return bookingRepository.findAllByItemOwnerIdAndStartDateAfterOrderByStartDateDesc(ownerId,
-                        LocalDateTime.now());
+        }
+        if (target == StatusEnum.APPROVED) {
+            waiting = withoutOverlaps(waiting, bookings, results);
+        }
+
+        int[] updated = bookingRepository.compareAndSetStatuses(waiting, StatusEnum.WAITING, target);
+        Set<Long> changedItems = new LinkedHashSet<>();
+        for (int i = 0; i < waiting.size(); i++) {
+            Long id = waiting.get(i);
+            if (updated[i] == 0) {
+                results.put(id, BookingApprovalResult.failure(id, null, String
+                        .format("Статус бронирования с ID - %s изменен другим запросом.", id)));
+            } else {
+                results.put(id, BookingApprovalResult.success(id, target));
+                changedItems.add(bookings.get(id).itemId());
             }
-            case WAITING -> {
-                return bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDateDesc(ownerId,
-                        StatusEnum.WAITING);
+        }
+        changedItems.forEach(itemBookingStatsService::refresh);
+        return new ArrayList<>(results.values());
+    }
+
+    /**
+     * Отбор ожидающих бронирований, которые можно подтвердить: подтвержденные бронирования затронутых вещей
+     * читаются одним запросом по общему интервалу пакета, бронирования пакета проверяются по порядку.
+     */
+    private List<Long> withoutOverlaps(List<Long> waiting, Map<Long, BookingOwnership> bookings,
+                                       Map<Long, BookingApprovalResult> results) {
+        if (waiting.isEmpty()) {
+            return waiting;
+        }
+        List<BookingOwnership> candidates = waiting.stream().map(bookings::get).toList();
+        LocalDateTime start = candidates.stream().map(BookingOwnership::startDate)
+                .min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime end = candidates.stream().map(BookingOwnership::endDate)
+                .max(Comparator.naturalOrder()).orElseThrow();
+        Set<Long> itemIds = candidates.stream().map(BookingOwnership::itemId).collect(Collectors.toSet());
+        Map<Long, List<BookingInterval>> occupied = bookingRepository
+                .findIntervals(itemIds, start, end, ACTIVE_STATUSES).stream()
+                .collect(Collectors.groupingBy(BookingInterval::itemId, Collectors.toCollection(ArrayList::new)));
+
+        List<Long> accepted = new ArrayList<>();
+        for (BookingOwnership candidate : candidates) {
+            BookingInterval interval = candidate.interval();
+            List<BookingInterval> itemIntervals = occupied.computeIfAbsent(candidate.itemId(),
+                    itemId -> new ArrayList<>());
+            if (itemIntervals.stream().anyMatch(interval::overlaps)) {
+                results.put(candidate.id(), BookingApprovalResult.failure(candidate.id(), candidate.status(),
+                        overlapMessage(candidate.id())));
+            } else {
+                itemIntervals.add(interval);
+                accepted.add(candidate.id());
             }
-            case REJECTED -> {
-                return bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDateDesc(ownerId,
-                        StatusEnum.REJECTED);
+        }
+        return accepted;
+    }
+
+    private static ConflictException overlap(Booking booking) {
+        return new ConflictException(String.format("Вещь %s уже забронирована на период с %s по %s",
+                booking.getItem().getName(), booking.getStartDate(), booking.getEndDate()));
+    }
+
+    private static String overlapMessage(long bookingId) {
+        return String.format("Бронирование с ID - %s пересекается с подтвержденным бронированием вещи.", bookingId);
+    }
+
+    private static String notFoundMessage(long bookingId) {
+        return String.format("Бронирование с ID - %s не найдено.", bookingId);
+    }
+
+    private static String notOwnerMessage(long userId) {
+        return String.format("Пользователь - %s - не имеет права подтверждать/отклонять " +
+                "бронирование, т.к. не является владельцем бронируемой вещи", userId);
+    }
+
+    private static String alreadyDecidedMessage(long bookingId, StatusEnum status) {
+        return String.format("Бронирование с ID - %s уже находится в статусе %s.", bookingId, status);
+    }
+
+    private static boolean isExclusionViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException
+                    && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
             }
-            default -> throw new IllegalStateException("Unexpected value: " + state);
         }
+        return false;
+    }
+
+    private Window<BookingView> findBookings(BookingRole role, long userId, RequestStates state,
+                                             ScrollPosition position, int size) {
+        return bookingRepository.search(criteria(role, userId, state, position, Math.clamp(size, 1, MAX_PAGE_SIZE)));
+    }
+
+    private static BookingSearchCriteria criteria(BookingRole role, long userId, RequestStates state,
+                                                  ScrollPosition position, int size) {
+        return BookingSearchCriteria.builder()
+                .role(role)
+                .userId(userId)
+                .state(state)
+                .now(LocalDateTime.now())
+                .position(position)
+                .size(size)
+                .build();
     }
 }
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.config;
+
+import com.github.benmanes.caffeine.jcache.CacheManagerImpl;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.net.URI;
+import java.util.Properties;
+
+/**
+ * Настройка кэша второго уровня Hibernate на основе Caffeine JCache.
+ * Регионы, их размер и время жизни записей описаны в файле, заданном свойством shareit.cache.config.
+ * Менеджер кэша создается отдельно для каждого контекста приложения, а не берется из общего
+ * для JVM реестра провайдера, поэтому контексты с разными базами данных не видят записи друг друга.
+ */
+@Configuration
+public class HibernateCacheConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${shareit.cache.config:classpath:caffeine.conf}") URI config) {
+        CaffeineCachingProvider provider = new CaffeineCachingProvider();
+        return new CacheManagerImpl(provider, false, config, provider.getDefaultClassLoader(), new Properties());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.config;
+
+/**
+ * Общие параметры генерации ID сущностей.
+ * ID выдаются последовательностями через оптимизатор pooled-lo: одно обращение к последовательности
+ * резервирует блок значений, которые затем раздаются без обращения к базе данных.
+ * Размер блока определяется шагом последовательности в базе (ALTER SEQUENCE ... INCREMENT BY):
+ * при расхождении с ALLOCATION_SIZE Hibernate берет шаг из базы
+ * (hibernate.id.sequence.increment_size_mismatch_strategy=fix), поэтому все экземпляры
+ * приложения резервируют блоки одного размера и не выдают одинаковых ID.
+ */
+public final class IdGeneration {
+    /**
+     * Размер блока ID по умолчанию; совпадает с шагом последовательностей в schema.sql.
+     */
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGeneration() {
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.common.annotation.ValueExpressionResolver;
+import io.micrometer.core.aop.MeterTagAnnotationHandler;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+/**
+ * Настройка метрик методов сервисов, отмеченных {@link io.micrometer.core.annotation.Timed}.
+ * Обработчик {@link io.micrometer.core.aop.MeterTag} передается в TimedAspect автоконфигурацией Spring Boot
+ * и добавляет к таймеру теги из аргументов метода: значение аргумента, результат выражения SpEL
+ * над аргументом или результат ValueResolver, объявленного бином.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public MeterTagAnnotationHandler meterTagAnnotationHandler(BeanFactory beanFactory) {
+        ExpressionParser parser = new SpelExpressionParser();
+        ValueExpressionResolver expressionResolver = (expression, parameter) ->
+                String.valueOf(parser.parseExpression(expression).getValue(parameter));
+        return new MeterTagAnnotationHandler(beanFactory::getBean, type -> expressionResolver);
+    }
+}
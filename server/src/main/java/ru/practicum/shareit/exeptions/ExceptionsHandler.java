@@ -62,6 +62,13 @@ public class ExceptionsHandler {
                 .body(new ErrorMessage(e.getMessage()));
     }
 
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ErrorMessage> handleConflictException(ConflictException e) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new ErrorMessage(e.getMessage()));
+    }
+
     @ExceptionHandler(ResourceUnavailableException.class)
     public ResponseEntity<ErrorMessage> handleResourceUnavailableException(ResourceUnavailableException e) {
         return ResponseEntity
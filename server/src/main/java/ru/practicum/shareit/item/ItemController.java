@@ -4,6 +4,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -24,9 +25,12 @@ import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemImportResult;
 import ru.practicum.shareit.item.model.ItemOwnerView;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -42,6 +46,7 @@ public class ItemController {
      * Зависимость контроллера от ItemService
      */
     private final ItemService itemService;
+    private final ItemImportService itemImportService;
     private final ItemMapper itemMapper;
     private final CommentMapper commentMapper;
 
@@ -61,6 +66,24 @@ public class ItemController {
         return itemMapper.toDto(item);
     }
 
+    /**
+     * Метод для массового импорта вещей владельцем. Тело запроса - JSON-массив ItemCreateDto
+     * или последовательность таких объектов по одному на строку (NDJSON); оно читается потоком,
+     * без загрузки в память целиком.
+     *
+     * @param ownerId ID пользователя-владельца, отправившего запрос
+     * @param items   тело запроса
+     * @return число импортированных и отклоненных записей с причинами отклонения
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ItemImportResult importItems(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                        InputStream items) {
+        log.info("Importing items by owner with id {}", ownerId);
+        ItemImportResult result = itemImportService.importItems(ownerId, items);
+        log.info("Imported {} items, rejected {}", result.imported(), result.rejected());
+        return result;
+    }
+
     /**
      * Метод для редактирования вещи. Изменить можно название, описание и статус доступа к аренде.
      * Редактировать вещь может только её владелец.
@@ -116,13 +139,17 @@ public class ItemController {
      *
      * @param userId ID пользователя, направившего запрос.
      * @param text   текст для поиска вещей.
+     * @param from   количество пропускаемых результатов.
+     * @param size   максимальное количество результатов.
      * @return список найденных вещей согласно условиям запроса.
      */
     @GetMapping("/search")
     public List<ItemDto> getItemsWithText(@RequestHeader("X-Sharer-User-Id") long userId,
-                                          @RequestParam("text") String text) {
+                                          @RequestParam("text") String text,
+                                          @RequestParam(value = "from", defaultValue = "0") int from,
+                                          @RequestParam(value = "size", defaultValue = "100") int size) {
         log.info("Getting items by text {} from user with id {}", text, userId);
-        List<Item> items = itemService.getItemsWithText(text);
+        List<Item> items = itemService.getItemsWithText(text, from, size);
         return itemMapper.toDto(items);
     }
 
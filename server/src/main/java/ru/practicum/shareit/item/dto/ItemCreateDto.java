@@ -2,6 +2,7 @@ package ru.practicum.shareit.item.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 /**
@@ -10,8 +11,10 @@ import lombok.Data;
 @Data
 public class ItemCreateDto {
     @NotBlank(message = "Поле наименование должно быть заполнено")
+    @Size(max = 255, message = "Наименование не должно быть длиннее 255 символов")
     private String name;
     @NotBlank(message = "Поле описания должно быть заполнено")
+    @Size(max = 512, message = "Описание не должно быть длиннее 512 символов")
     private String description;
     @NotNull(message = "Доступность вещи должна быть определена")
     private Boolean available;
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.item.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Предрасчитанные сведения о последнем и следующем бронировании вещи.
+ * Запись актуальна до момента validUntil: в этот момент одно из бронирований
+ * начинается или завершается, и значения нужно пересчитать.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "item_booking_stats")
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemBookingStats {
+    @Id
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(name = "last_booking")
+    private LocalDateTime lastBooking;
+
+    @Column(name = "next_booking")
+    private LocalDateTime nextBooking;
+
+    @Column(name = "valid_until")
+    private LocalDateTime validUntil;
+}
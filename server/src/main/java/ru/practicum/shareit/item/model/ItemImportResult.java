@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.model;
+
+import java.util.List;
+
+/**
+ * Итог массового импорта вещей.
+ *
+ * @param imported число сохраненных вещей.
+ * @param rejected число отклоненных записей.
+ * @param errors   причины отклонения первых записей, не более ItemImportServiceImpl.MAX_REPORTED_ERRORS.
+ */
+public record ItemImportResult(long imported,
+                               long rejected,
+                               List<Rejection> errors) {
+
+    /**
+     * Причина отклонения записи.
+     *
+     * @param index   порядковый номер записи во входных данных, начиная с 0.
+     * @param message описание ошибки.
+     */
+    public record Rejection(long index,
+                        String message) {
+    }
+}
@@ -2,7 +2,6 @@ package ru.practicum.shareit.item.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
@@ -40,7 +39,7 @@ public class ItemOwnerView {
     @Column(name = "nextbooking")
     private LocalDateTime nextBooking;
 
-    @OneToMany(fetch = FetchType.EAGER)
+    @OneToMany
     @JoinColumn(name = "item_id")
     private List<CommentSimple> comments;
 }
\ No newline at end of file
@@ -1,40 +0,0 @@
-package ru.practicum.shareit.item.model;
-
-import jakarta.persistence.Column;
-import jakarta.persistence.Entity;
-import jakarta.persistence.Id;
-import jakarta.persistence.Table;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
-
-@Getter
-@Setter
-@Builder
-@Entity
-@Table(name = "items")
-@NoArgsConstructor
-@AllArgsConstructor
-public class ItemSimple {
-    @Id
-    @Column(name = "id", nullable = false)
-    private Long id;
-
-    @Column(name = "name")
-    private String name;
-
-    @Column(name = "description")
-    private String description;
-
-    @Column(name = "is_available")
-    private Boolean isAvailable;
-
-    @Column(name = "owner_id")
-    private Long ownerId;
-
-    @Column(name = "request_id")
-    private Long requestId;
-
-}
\ No newline at end of file
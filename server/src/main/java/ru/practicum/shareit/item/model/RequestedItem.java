@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.model;
+
+/**
+ * Проекция вещи, добавленной в ответ на запрос: только поля, выдаваемые вместе с запросом.
+ */
+public interface RequestedItem {
+
+    Long getRequestId();
+
+    Long getId();
+
+    String getName();
+
+    Long getOwnerId();
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Результат агрегации бронирований одной вещи на заданный момент времени.
+ *
+ * @param lastBooking  окончание последнего завершенного подтвержденного бронирования.
+ * @param nextBooking  начало ближайшего будущего бронирования (подтвержденного или ожидающего).
+ * @param nearestEnd   ближайшее окончание еще не завершенного подтвержденного бронирования.
+ */
+public record ItemBookingBounds(LocalDateTime lastBooking, LocalDateTime nextBooking, LocalDateTime nearestEnd) {
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.item.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.model.ItemBookingStats;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ItemBookingStatsRepository extends JpaRepository<ItemBookingStats, Long>,
+        ItemBookingStatsUpsertRepository {
+
+    @Query("""
+            select new ru.practicum.shareit.item.repository.ItemBookingBounds(
+                max(case when b.status = ru.practicum.shareit.booking.enums.StatusEnum.APPROVED
+                         and b.endDate < :now then b.endDate end),
+                min(case when b.status in (ru.practicum.shareit.booking.enums.StatusEnum.APPROVED,
+                                           ru.practicum.shareit.booking.enums.StatusEnum.WAITING)
+                         and b.startDate > :now then b.startDate end),
+                min(case when b.status = ru.practicum.shareit.booking.enums.StatusEnum.APPROVED
+                         and b.endDate >= :now then b.endDate end))
+            from Booking b
+            where b.item.id = :itemId""")
+    ItemBookingBounds aggregate(@Param("itemId") long itemId, @Param("now") LocalDateTime now);
+
+    /**
+     * ID вещей, сведения о бронированиях которых устарели к моменту now, начиная с самых старых.
+     */
+    @Query("select s.itemId from ItemBookingStats s where s.validUntil <= :now order by s.validUntil")
+    List<Long> findStaleItemIds(@Param("now") LocalDateTime now, Limit limit);
+}
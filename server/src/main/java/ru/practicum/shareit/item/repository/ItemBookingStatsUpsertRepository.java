@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Запись предрасчитанных сведений о бронированиях вещи одним запросом.
+ */
+public interface ItemBookingStatsUpsertRepository {
+
+    /**
+     * Вставка сведений о бронированиях вещи или замена существующих.
+     *
+     * @param itemId      ID вещи.
+     * @param lastBooking окончание последнего завершенного бронирования.
+     * @param nextBooking начало ближайшего будущего бронирования.
+     * @param validUntil  момент, до которого сведения актуальны.
+     */
+    void upsert(long itemId, LocalDateTime lastBooking, LocalDateTime nextBooking, LocalDateTime validUntil);
+}
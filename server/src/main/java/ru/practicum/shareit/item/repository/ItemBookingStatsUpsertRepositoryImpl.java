@@ -0,0 +1,51 @@
+package ru.practicum.shareit.item.repository;
+
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import java.sql.DatabaseMetaData;
+import java.sql.Types;
+import java.time.LocalDateTime;
+
+/**
+ * Реализация записи сведений о бронированиях на JdbcTemplate. Вместо save() сущности (SELECT и затем
+ * INSERT или UPDATE) выполняется один атомарный запрос, поэтому параллельные пересчеты одной вещи
+ * не приводят к нарушению первичного ключа. Запрос зависит от СУБД, которая определяется по метаданным
+ * источника данных: INSERT ... ON CONFLICT для PostgreSQL, MERGE INTO ... KEY для остальных (H2).
+ */
+public class ItemBookingStatsUpsertRepositoryImpl implements ItemBookingStatsUpsertRepository {
+
+    private static final String POSTGRESQL_UPSERT = """
+            INSERT INTO item_booking_stats (item_id, last_booking, next_booking, valid_until)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (item_id) DO UPDATE SET last_booking = EXCLUDED.last_booking,
+                                                next_booking = EXCLUDED.next_booking,
+                                                valid_until  = EXCLUDED.valid_until""";
+    private static final String H2_UPSERT = """
+            MERGE INTO item_booking_stats (item_id, last_booking, next_booking, valid_until)
+                KEY (item_id)
+                VALUES (?, ?, ?, ?)""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String upsert;
+
+    public ItemBookingStatsUpsertRepositoryImpl(JdbcTemplate jdbcTemplate) throws MetaDataAccessException {
+        this.jdbcTemplate = jdbcTemplate;
+        String productName = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                DatabaseMetaData::getDatabaseProductName);
+        this.upsert = DatabaseDriver.fromProductName(productName) == DatabaseDriver.POSTGRESQL
+                ? POSTGRESQL_UPSERT : H2_UPSERT;
+    }
+
+    @Override
+    public void upsert(long itemId, LocalDateTime lastBooking, LocalDateTime nextBooking, LocalDateTime validUntil) {
+        jdbcTemplate.update(upsert, statement -> {
+            statement.setLong(1, itemId);
+            statement.setObject(2, lastBooking, Types.TIMESTAMP);
+            statement.setObject(3, nextBooking, Types.TIMESTAMP);
+            statement.setObject(4, validUntil, Types.TIMESTAMP);
+        });
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.ItemOwnerView;
 
@@ -9,7 +10,9 @@ import java.util.Optional;
 @Repository
 public interface ItemOwnerViewRepository extends ReadOnlyRepository<ItemOwnerView, Long> {
 
+    @EntityGraph(attributePaths = "comments")
     List<ItemOwnerView> findAllByOwnerId(Long ownerId);
 
+    @EntityGraph(attributePaths = "comments")
     Optional<ItemOwnerView> findById(Long itemId);
 }
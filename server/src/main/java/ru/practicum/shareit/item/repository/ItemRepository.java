@@ -1,13 +1,49 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.RequestedItem;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    List<Item> findByIsAvailableIsTrueAndNameLikeIgnoreCaseOrDescriptionLikeIgnoreCase(String name, String description);
+    @Override
+    @EntityGraph(Item.WITH_OWNER_GRAPH)
+    Optional<Item> findById(Long id);
+
+    @Override
+    @EntityGraph(Item.WITH_OWNER_GRAPH)
+    List<Item> findAllById(Iterable<Long> ids);
+
+    @Query("select i.id from Item i where i.owner.id = :ownerId")
+    List<Long> findIdsByOwnerId(@Param("ownerId") long ownerId);
+
+    @Query("select i.requestId as requestId, i.id as id, i.name as name, i.owner.id as ownerId "
+            + "from Item i where i.requestId in :requestIds order by i.id")
+    List<RequestedItem> findRequestedItems(@Param("requestIds") Collection<Long> requestIds);
+
+    /**
+     * Вещи, добавленные в ответ на запросы пользователя. Запросы отбираются подзапросом
+     * по тому же условию, что и сам список запросов, а не списком их ID.
+     */
+    @Query("select i.requestId as requestId, i.id as id, i.name as name, i.owner.id as ownerId "
+            + "from Item i where i.requestId in "
+            + "(select r.id from ItemRequest r where r.requestorId = :requestorId) order by i.id")
+    List<RequestedItem> findItemsRequestedBy(@Param("requestorId") long requestorId);
+
+    /**
+     * Вещи, добавленные в ответ на запросы остальных пользователей.
+     */
+    @Query("select i.requestId as requestId, i.id as id, i.name as name, i.owner.id as ownerId "
+            + "from Item i where i.requestId in "
+            + "(select r.id from ItemRequest r where r.requestorId <> :requestorId) order by i.id")
+    List<RequestedItem> findItemsRequestedByOthers(@Param("requestorId") long requestorId);
 }
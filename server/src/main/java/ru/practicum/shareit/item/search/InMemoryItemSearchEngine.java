@@ -0,0 +1,221 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Поиск вещей по индексу триграмм в памяти приложения.
+ * Результаты совпадают с {@link JpqlItemSearchEngine}: вещь найдена, если текст запроса целиком
+ * (без учета регистра) входит в название или описание; сначала идут вещи с запросом в названии отдельными
+ * словами, затем в описании отдельными словами, затем с вхождением подстрокой в название и в описание,
+ * внутри групп - по возрастанию ID.
+ * Индекс сопоставляет каждой триграмме названия и описания ID вещей; кандидаты - вещи, содержащие
+ * все триграммы запроса, вхождение проверяется по сохраненному тексту. Запросы короче трех символов
+ * проверяются перебором всех вещей.
+ * Индекс строится при создании бина, до приема запросов, и обновляется при создании, изменении
+ * и удалении вещей через ItemService, а также при удалении владельца вещей.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+
+    private static final int REBUILD_BATCH_SIZE = 1_000;
+    private static final int GRAM = 3;
+    private static final long[] EMPTY = new long[0];
+
+    private final ItemRepository itemRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, LongPostingList> gramIndex = new HashMap<>();
+    private final NavigableMap<Long, IndexedItem> indexedItems = new TreeMap<>();
+
+    /**
+     * Построение индекса по всем вещам из базы данных.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            gramIndex.clear();
+            indexedItems.clear();
+            Page<Item> page = itemRepository.findAll(PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id")));
+            page.forEach(this::add);
+            while (page.hasNext()) {
+                page = itemRepository.findAll(page.nextPageable());
+                page.forEach(this::add);
+            }
+            log.info("Item search index built: {} items, {} trigrams", indexedItems.size(), gramIndex.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Long> search(String text, int from, int size) {
+        String query = text.toLowerCase(Locale.ROOT);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        String word = " " + query + " ";
+        List<List<Long>> groups = List.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        lock.readLock().lock();
+        try {
+            for (long id : candidates(query)) {
+                IndexedItem item = indexedItems.get(id);
+                if ((" " + item.name() + " ").contains(word)) {
+                    groups.get(0).add(id);
+                } else if ((" " + item.description() + " ").contains(word)) {
+                    groups.get(1).add(id);
+                } else if (item.name().contains(query)) {
+                    groups.get(2).add(id);
+                } else if (item.description().contains(query)) {
+                    groups.get(3).add(id);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Long> matches = groups.stream().flatMap(List::stream).toList();
+        if (from >= matches.size()) {
+            return List.of();
+        }
+        return List.copyOf(matches.subList(from, Math.min(matches.size(), from + size)));
+    }
+
+    @Override
+    public void index(Item item) {
+        lock.writeLock().lock();
+        try {
+            removeIndexed(item.getId());
+            add(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeIndexed(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * ID вещей, которые могут содержать запрос, по возрастанию.
+     */
+    private long[] candidates(String query) {
+        if (query.length() < GRAM) {
+            return indexedItems.keySet().stream().mapToLong(Long::longValue).toArray();
+        }
+        List<LongPostingList> postings = new ArrayList<>();
+        for (String gram : grams(query)) {
+            LongPostingList list = gramIndex.get(gram);
+            if (list == null) {
+                return EMPTY;
+            }
+            postings.add(list);
+        }
+        postings.sort(Comparator.comparingInt(LongPostingList::size));
+        long[] result = toArray(postings.getFirst());
+        for (int i = 1; i < postings.size() && result.length > 0; i++) {
+            result = intersect(result, toArray(postings.get(i)));
+        }
+        return result;
+    }
+
+    private void add(Item item) {
+        if (!Boolean.TRUE.equals(item.getIsAvailable())) {
+            return;
+        }
+        IndexedItem indexed = new IndexedItem(lowerCase(item.getName()), lowerCase(item.getDescription()));
+        for (String gram : indexed.grams()) {
+            gramIndex.computeIfAbsent(gram, key -> new LongPostingList()).add(item.getId());
+        }
+        indexedItems.put(item.getId(), indexed);
+    }
+
+    private void removeIndexed(long itemId) {
+        IndexedItem indexed = indexedItems.remove(itemId);
+        if (indexed == null) {
+            return;
+        }
+        for (String gram : indexed.grams()) {
+            LongPostingList postings = gramIndex.get(gram);
+            if (postings != null) {
+                postings.remove(itemId);
+                if (postings.isEmpty()) {
+                    gramIndex.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static long[] toArray(LongPostingList list) {
+        long[] ids = new long[list.size()];
+        list.copyTo(ids, 0);
+        return ids;
+    }
+
+    private static long[] intersect(long[] first, long[] second) {
+        long[] result = new long[Math.min(first.length, second.length)];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                result[size++] = first[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static String lowerCase(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private record IndexedItem(String name, String description) {
+
+        /**
+         * Триграммы названия и описания по отдельности: триграмма на стыке не может входить в совпадение.
+         */
+        Set<String> grams() {
+            Set<String> grams = InMemoryItemSearchEngine.grams(name);
+            grams.addAll(InMemoryItemSearchEngine.grams(description));
+            return grams;
+        }
+    }
+}
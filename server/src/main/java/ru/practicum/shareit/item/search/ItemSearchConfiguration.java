@@ -0,0 +1,44 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Выбор реализации поиска вещей.
+ * Свойство shareit.items.search.engine задает движок: db (по умолчанию) - поиск средствами СУБД,
+ * memory - индекс в памяти приложения. Для db реализация зависит от СУБД, которая определяется
+ * по метаданным источника данных: полнотекстовый поиск для PostgreSQL, переносимый JPQL для остальных.
+ * Индекс в памяти строится при создании бина, то есть до запуска веб-сервера, поэтому поиск
+ * не возвращает пустых результатов в первые секунды работы; время запуска растет с числом вещей.
+ */
+@Configuration
+public class ItemSearchConfiguration {
+
+    private static final String MEMORY = "memory";
+
+    @Bean
+    public ItemSearchEngine itemSearchEngine(@Value("${shareit.items.search.engine:db}") String engine,
+                                             DataSource dataSource,
+                                             EntityManager entityManager,
+                                             ItemRepository itemRepository) throws MetaDataAccessException {
+        if (MEMORY.equalsIgnoreCase(engine)) {
+            InMemoryItemSearchEngine inMemoryEngine = new InMemoryItemSearchEngine(itemRepository);
+            inMemoryEngine.rebuild();
+            return inMemoryEngine;
+        }
+        String productName = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        if (DatabaseDriver.fromProductName(productName) == DatabaseDriver.POSTGRESQL) {
+            return new PostgresItemSearchEngine(entityManager);
+        }
+        return new JpqlItemSearchEngine(entityManager);
+    }
+}
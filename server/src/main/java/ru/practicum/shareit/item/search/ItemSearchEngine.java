@@ -0,0 +1,38 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Поиск доступных для аренды вещей по тексту в названии или описании.
+ */
+public interface ItemSearchEngine {
+
+    /**
+     * Поиск вещей, упорядоченных по убыванию релевантности.
+     *
+     * @param text непустой текст для поиска.
+     * @param from количество пропускаемых результатов.
+     * @param size максимальное количество результатов.
+     * @return ID найденных вещей в порядке релевантности.
+     */
+    List<Long> search(String text, int from, int size);
+
+    /**
+     * Учет созданной или измененной вещи. Реализации, работающие поверх базы данных,
+     * получают изменения из самой базы, поэтому по умолчанию ничего не делают.
+     *
+     * @param item сохраненная вещь.
+     */
+    default void index(Item item) {
+    }
+
+    /**
+     * Исключение удаленной вещи из поиска.
+     *
+     * @param itemId ID удаленной вещи.
+     */
+    default void remove(long itemId) {
+    }
+}
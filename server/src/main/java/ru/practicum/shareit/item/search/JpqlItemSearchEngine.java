@@ -0,0 +1,42 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Переносимая реализация поиска вещей на JPQL для СУБД без полнотекстового поиска (H2 в тестах).
+ * Порядок приближает ранжирование {@link PostgresItemSearchEngine}: сначала вещи, у которых запрос входит
+ * в название отдельными словами, затем - в описание отдельными словами, затем вхождения подстрокой
+ * в название и в описание; внутри групп - по возрастанию ID. Границей слова считаются пробел и край текста,
+ * а не знаки препинания, как у парсера PostgreSQL; порядок внутри групп PostgreSQL определяет по ts_rank
+ * и сходству триграмм.
+ */
+@RequiredArgsConstructor
+public class JpqlItemSearchEngine implements ItemSearchEngine {
+
+    private static final String QUERY = """
+            select i.id from Item i
+            where i.isAvailable = true
+              and (lower(i.name) like :pattern escape '\\' or lower(i.description) like :pattern escape '\\')
+            order by case
+                         when concat(' ', lower(i.name), ' ') like :word escape '\\' then 0
+                         when concat(' ', lower(i.description), ' ') like :word escape '\\' then 1
+                         when lower(i.name) like :pattern escape '\\' then 2
+                         else 3
+                     end,
+                     i.id""";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Long> search(String text, int from, int size) {
+        return entityManager.createQuery(QUERY, Long.class)
+                .setParameter("pattern", SearchPatterns.contains(text))
+                .setParameter("word", SearchPatterns.word(text))
+                .setFirstResult(from)
+                .setMaxResults(size)
+                .getResultList();
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Полнотекстовый поиск вещей средствами PostgreSQL.
+ * Основной путь - сопоставление с генерируемым столбцом search_vector (GIN-индекс),
+ * запасной - триграммный индекс pg_trgm для подстрок и неполных слов.
+ * Столбец и индексы создаются в schema-postgresql.sql.
+ * Любая вещь, содержащая текст запроса целиком, находится, как и в {@link JpqlItemSearchEngine}
+ * и {@link InMemoryItemSearchEngine}; дополнительно находятся вещи со всеми словами запроса в любом порядке,
+ * а порядок результатов определяется релевантностью: веса ts_rank (название - A, описание - B) ставят
+ * совпадения слов в названии выше совпадений в описании, вхождения только подстрокой (ts_rank = 0) идут
+ * последними по сходству триграмм.
+ */
+@RequiredArgsConstructor
+public class PostgresItemSearchEngine implements ItemSearchEngine {
+
+    private static final String QUERY = """
+            SELECT i.id
+            FROM items i,
+                 websearch_to_tsquery('simple', :text) q
+            WHERE i.is_available
+              AND (i.search_vector @@ q
+                OR (coalesce(i.name, '') || ' ' || coalesce(i.description, '')) ILIKE :pattern)
+            ORDER BY ts_rank(i.search_vector, q) DESC,
+                     similarity(coalesce(i.name, '') || ' ' || coalesce(i.description, ''), :text) DESC,
+                     i.id
+            OFFSET :from LIMIT :size""";
+
+    private final EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Long> search(String text, int from, int size) {
+        List<Number> ids = entityManager.createNativeQuery(QUERY)
+                .setParameter("text", text)
+                .setParameter("pattern", SearchPatterns.contains(text))
+                .setParameter("from", from)
+                .setParameter("size", size)
+                .getResultList();
+        return ids.stream()
+                .map(Number::longValue)
+                .toList();
+    }
+}
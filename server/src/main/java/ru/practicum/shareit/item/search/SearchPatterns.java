@@ -0,0 +1,40 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Locale;
+
+/**
+ * Построение LIKE-шаблонов для поиска подстроки и отдельных слов.
+ */
+final class SearchPatterns {
+
+    private SearchPatterns() {
+    }
+
+    /**
+     * Шаблон "содержит" для текста в нижнем регистре с экранированием служебных символов LIKE.
+     *
+     * @param text искомый текст.
+     * @return шаблон вида %text%.
+     */
+    static String contains(String text) {
+        return "%" + escape(text) + "%";
+    }
+
+    /**
+     * Шаблон "содержит отдельными словами" для текста, дополненного пробелами с обеих сторон:
+     * вхождение запроса должно начинаться и заканчиваться на границе слова (пробел или край текста).
+     *
+     * @param text искомый текст.
+     * @return шаблон вида % text %.
+     */
+    static String word(String text) {
+        return "% " + escape(text) + " %";
+    }
+
+    private static String escape(String text) {
+        return text.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
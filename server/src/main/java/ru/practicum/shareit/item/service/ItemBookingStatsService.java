@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.service;
+
+/**
+ * Поддержка предрасчитанных сведений о последнем и следующем бронировании вещей.
+ */
+public interface ItemBookingStatsService {
+
+    /**
+     * Пересчет сведений о бронированиях вещи. Вызывается после создания бронирования
+     * или изменения его статуса. Внутри транзакции пересчет откладывается до ее фиксации.
+     *
+     * @param itemId ID вещи.
+     */
+    void refresh(long itemId);
+
+    /**
+     * Пересчет всех сведений о бронированиях, срок актуальности которых истек.
+     * Выполняется периодически, пакетами по shareit.items.booking-stats.refresh-batch-size вещей.
+     */
+    void refreshStale();
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.item.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.repository.ItemBookingBounds;
+import ru.practicum.shareit.item.repository.ItemBookingStatsRepository;
+import ru.practicum.shareit.lock.ItemLocks;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Реализация поддержки предрасчитанных сведений о бронированиях вещей.
+ * Пересчет затрагивает только бронирования одной вещи, поэтому чтение вещей
+ * не зависит от общего объема таблицы бронирований.
+ * <p>
+ * Пересчеты одной вещи выполняются последовательно под той же блокировкой {@link ItemLocks}, что и создание
+ * бронирований, каждый в отдельной транзакции: агрегат читается и записывается одним upsert внутри блокировки,
+ * поэтому более поздний пересчет всегда видит данные не старее предыдущего. Пересчет, запрошенный внутри
+ * транзакции (смена статуса бронирования), выполняется после ее фиксации, чтобы учесть новый статус.
+ * <p>
+ * Чтение вещей сведения не пересчитывает: устаревшие записи обновляет периодическая задача
+ * {@link #refreshStale()}, поэтому после начала или окончания бронирования сведения отстают
+ * не более чем на интервал shareit.items.booking-stats.refresh-interval.
+ */
+@Service
+public class ItemBookingStatsServiceImpl implements ItemBookingStatsService {
+
+    private final ItemBookingStatsRepository itemBookingStatsRepository;
+    private final ItemLocks itemLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final int refreshBatchSize;
+
+    public ItemBookingStatsServiceImpl(ItemBookingStatsRepository itemBookingStatsRepository,
+                                       ItemLocks itemLocks,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${shareit.items.booking-stats.refresh-batch-size:500}")
+                                       int refreshBatchSize) {
+        this.itemBookingStatsRepository = itemBookingStatsRepository;
+        this.itemLocks = itemLocks;
+        this.refreshBatchSize = refreshBatchSize;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void refresh(long itemId) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recalculate(itemId);
+                }
+            });
+        } else {
+            recalculate(itemId);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${shareit.items.booking-stats.refresh-interval:PT10S}")
+    public void refreshStale() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> itemIds;
+        do {
+            itemIds = itemBookingStatsRepository.findStaleItemIds(now, Limit.of(refreshBatchSize));
+            itemIds.forEach(this::recalculate);
+        } while (itemIds.size() == refreshBatchSize);
+    }
+
+    private void recalculate(long itemId) {
+        Lock lock = itemLocks.forItem(itemId);
+        lock.lock();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                ItemBookingBounds bounds = itemBookingStatsRepository.aggregate(itemId, LocalDateTime.now());
+                itemBookingStatsRepository.upsert(itemId, bounds.lastBooking(), bounds.nextBooking(),
+                        earliest(bounds.nextBooking(), bounds.nearestEnd()));
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static LocalDateTime earliest(LocalDateTime first, LocalDateTime second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        return first.isBefore(second) ? first : second;
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.item.model.ItemImportResult;
+
+import java.io.InputStream;
+
+/**
+ * Массовый импорт вещей одного владельца.
+ */
+public interface ItemImportService {
+
+    /**
+     * Импорт вещей из потока JSON: массива ItemCreateDto или последовательности объектов
+     * (NDJSON). Поток читается по одной записи, вещи сохраняются порциями в отдельных транзакциях.
+     * Некорректные записи пропускаются и попадают в отчет; при нарушении синтаксиса JSON чтение
+     * прекращается, а уже прочитанные корректные записи сохраняются.
+     *
+     * @param ownerId ID владельца вещей.
+     * @param items   поток входных данных.
+     * @return число сохраненных и отклоненных записей с причинами отклонения.
+     */
+    ItemImportResult importItems(long ownerId, InputStream items);
+}
@@ -0,0 +1,154 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exeptions.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingStats;
+import ru.practicum.shareit.item.model.ItemImportResult;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserExistenceService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Реализация массового импорта вещей. Владелец проверяется один раз на весь импорт, записи
+ * разбираются из потока по одной, а каждая порция сохраняется одной транзакцией пакетными
+ * вставками JDBC (ID берутся блоками из последовательности items_seq). У новых вещей нет
+ * бронирований, поэтому вместе с ними сохраняются пустые сведения о бронированиях - иначе первый
+ * просмотр списка вещей владельца пересчитывал бы их для каждой вещи. Импортируемые вещи
+ * не помещаются в кэш второго уровня, чтобы не вытеснять из него часто читаемые данные.
+ */
+@Service
+public class ItemImportServiceImpl implements ItemImportService {
+    /**
+     * Максимальное число причин отклонения записей в отчете об импорте.
+     */
+    public static final int MAX_REPORTED_ERRORS = 100;
+
+    private final ObjectReader reader;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ItemRepository itemRepository;
+    private final ItemMapper itemMapper;
+    private final ItemSearchEngine itemSearchEngine;
+    private final UserExistenceService userExistenceService;
+    private final Validator validator;
+    private final int chunkSize;
+
+    public ItemImportServiceImpl(ObjectMapper objectMapper,
+                                 TransactionTemplate transactionTemplate,
+                                 EntityManager entityManager,
+                                 ItemRepository itemRepository,
+                                 ItemMapper itemMapper,
+                                 ItemSearchEngine itemSearchEngine,
+                                 UserExistenceService userExistenceService,
+                                 Validator validator,
+                                 @Value("${shareit.items.import.chunk-size:1000}") int chunkSize) {
+        this.reader = objectMapper.readerFor(ItemCreateDto.class);
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.itemRepository = itemRepository;
+        this.itemMapper = itemMapper;
+        this.itemSearchEngine = itemSearchEngine;
+        this.userExistenceService = userExistenceService;
+        this.validator = validator;
+        this.chunkSize = Math.max(chunkSize, 1);
+    }
+
+    @Override
+    public ItemImportResult importItems(long ownerId, InputStream items) {
+        if (!userExistenceService.exists(ownerId)) {
+            throw new NotFoundException(String.format("Пользователь с id: %s не найден", ownerId));
+        }
+        List<ItemCreateDto> chunk = new ArrayList<>(chunkSize);
+        List<ItemImportResult.Rejection> errors = new ArrayList<>();
+        long imported = 0;
+        long rejected = 0;
+        long index = 0;
+        try (MappingIterator<ItemCreateDto> values = reader.readValues(items)) {
+            while (values.hasNextValue()) {
+                ItemCreateDto dto = values.nextValue();
+                String violations = validate(dto);
+                if (violations.isEmpty()) {
+                    chunk.add(dto);
+                    if (chunk.size() == chunkSize) {
+                        imported += save(ownerId, chunk);
+                        chunk.clear();
+                    }
+                } else {
+                    rejected++;
+                    report(errors, index, violations);
+                }
+                index++;
+            }
+        } catch (JsonProcessingException e) {
+            rejected++;
+            report(errors, index, "Некорректный JSON: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        imported += save(ownerId, chunk);
+        return new ItemImportResult(imported, rejected, errors);
+    }
+
+    private int save(long ownerId, List<ItemCreateDto> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        List<Item> saved = transactionTemplate.execute(status -> {
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+            User owner = entityManager.getReference(User.class, ownerId);
+            List<Item> batch = new ArrayList<>(chunk.size());
+            for (ItemCreateDto dto : chunk) {
+                Item item = itemMapper.fromCreateDto(dto);
+                item.setOwner(owner);
+                batch.add(item);
+            }
+            List<Item> items = itemRepository.saveAll(batch);
+            items.forEach(item -> entityManager.persist(new ItemBookingStats(item.getId(), null, null, null)));
+            return items;
+        });
+        saved.forEach(itemSearchEngine::index);
+        return saved.size();
+    }
+
+    /**
+     * Проверка записи по ограничениям {@link ItemCreateDto} - тем же, что и при создании одной вещи,
+     * включая размеры столбцов: запись, не помещающаяся в таблицу, иначе отменила бы сохранение всей порции.
+     *
+     * @return описание нарушений через "; ", упорядоченных по имени поля, или пустая строка, если запись корректна.
+     */
+    private String validate(ItemCreateDto dto) {
+        return validator.validate(dto).stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.joining("; "));
+    }
+
+    private static void report(List<ItemImportResult.Rejection> errors, long index, String message) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new ItemImportResult.Rejection(index, message));
+        }
+    }
+}
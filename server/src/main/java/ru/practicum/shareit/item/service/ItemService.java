@@ -20,7 +20,7 @@ public interface ItemService {
 
     Item getItem(long itemId);
 
-    List<Item> getItemsWithText(String text);
+    List<Item> getItemsWithText(String text, int from, int size);
 
     Comment addComment(long bookerId, long itemId, CommentCreateDto commentCreateDto);
 
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.item.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.enums.StatusEnum;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exeptions.ForbiddenException;
@@ -17,19 +19,30 @@ import ru.practicum.shareit.item.model.ItemOwnerView;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemOwnerViewRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceService;
 
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Реализация бизнес-логики для работы с вещами.
  */
 @Service
+@Timed(value = "shareit.service", histogram = true)
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
+    /**
+     * Максимальный размер страницы результатов поиска вещей.
+     */
+    public static final int MAX_PAGE_SIZE = 500;
 
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
@@ -37,6 +50,8 @@ public class ItemServiceImpl implements ItemService {
     private final CommentRepository commentRepository;
     private final BookingRepository bookingRepository;
     private final ItemOwnerViewRepository itemOwnerViewRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final UserExistenceService userExistenceService;
 
     /**
      * Метод для создания новой вещи
@@ -50,7 +65,9 @@ public class ItemServiceImpl implements ItemService {
         User owner = checkUser(ownerId);
         Item item = itemMapper.fromCreateDto(itemCreateDto);
         item.setOwner(owner);
-        return itemRepository.save(item);
+        Item saved = itemRepository.save(item);
+        itemSearchEngine.index(saved);
+        return saved;
     }
 
     /**
@@ -63,7 +80,7 @@ public class ItemServiceImpl implements ItemService {
      */
     @Override
     public Item patchItem(long ownerId, long itemId, ItemPatchDto itemPatchDto) {
-        checkUser(ownerId);
+        checkUserExists(ownerId);
         Item patchItem = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException(String
                         .format("Вещь с указанным id: %s не найдена", itemId)));
@@ -80,7 +97,9 @@ public class ItemServiceImpl implements ItemService {
         if (itemPatchDto.getDescription() != null) {
             patchItem.setDescription(itemPatchDto.getDescription());
         }
-        return itemRepository.save(patchItem);
+        Item saved = itemRepository.save(patchItem);
+        itemSearchEngine.index(saved);
+        return saved;
     }
 
     /**
@@ -105,6 +124,7 @@ public class ItemServiceImpl implements ItemService {
      * @return полученная информация о запрошенной вещи.
      */
     @Override
+    @Transactional(readOnly = true)
     public ItemOwnerView getItemForOwnerView(long itemId) {
         return itemOwnerViewRepository.findById(itemId).orElseThrow(() -> new NotFoundException(String
                 .format("Вещь с id - %s не найдена", itemId)));
@@ -117,21 +137,33 @@ public class ItemServiceImpl implements ItemService {
      * @return список всех вещей владельца с указанным ID.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<ItemOwnerView> getItemsForOwner(long ownerId) {
-        checkUser(ownerId);
+        checkUserExists(ownerId);
         return itemOwnerViewRepository.findAllByOwnerId(ownerId);
     }
 
     /**
      * Метод для поиска вещей по тексту, содержащемуся в названии или описании.
-     * Поиск возвращает только доступные для аренды вещи.
+     * Поиск возвращает только доступные для аренды вещи, упорядоченные по релевантности.
      *
      * @param text текст для поиска вещей.
+     * @param from количество пропускаемых результатов.
+     * @param size максимальное количество результатов.
      * @return список найденных вещей согласно условиям запроса.
      */
     @Override
-    public List<Item> getItemsWithText(String text) {
-        return itemRepository.findByIsAvailableIsTrueAndNameLikeIgnoreCaseOrDescriptionLikeIgnoreCase(text, text);
+    public List<Item> getItemsWithText(String text, int from, int size) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<Long> ids = itemSearchEngine.search(text.strip(), Math.max(from, 0), Math.clamp(size, 1, MAX_PAGE_SIZE));
+        Map<Long, Item> items = itemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return ids.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     /**
@@ -166,7 +198,7 @@ public class ItemServiceImpl implements ItemService {
      */
     @Override
     public void deleteItem(long ownerId, long itemId) {
-        checkUser(ownerId);
+        checkUserExists(ownerId);
         Item deletedItem = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException(String
                         .format("Вещь с указанным id: %s не найдена", itemId)));
@@ -175,10 +207,21 @@ public class ItemServiceImpl implements ItemService {
                     .format("Пользователь с id: %s не является владельцем вещи", ownerId));
         }
         itemRepository.deleteById(itemId);
+        itemSearchEngine.remove(itemId);
     }
 
     private User checkUser(long userId) {
         return userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException(String.format("Пользователь с id: %s не найден", userId)));
+                .orElseThrow(() -> userNotFound(userId));
+    }
+
+    private void checkUserExists(long userId) {
+        if (!userExistenceService.exists(userId)) {
+            throw userNotFound(userId);
+        }
+    }
+
+    private static NotFoundException userNotFound(long userId) {
+        return new NotFoundException(String.format("Пользователь с id: %s не найден", userId));
     }
 }
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.lock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Блокировки, разделенные по идентификатору вещи (lock striping). Общие для бронирований и сведений
+ * о бронированиях вещей: операции над одной вещью выполняются последовательно, над разными вещами - параллельно,
+ * за исключением редких совпадений номера полосы. Число полос округляется вверх до степени двойки.
+ */
+@Component
+public class ItemLocks {
+
+    private final Lock[] stripes;
+    private final int mask;
+
+    public ItemLocks(@Value("${shareit.items.lock-stripes:1024}") int stripes) {
+        int size = Integer.highestOneBit(Math.max(stripes - 1, 1)) << 1;
+        this.stripes = new Lock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Блокировка, закрепленная за вещью.
+     *
+     * @param itemId ID вещи.
+     * @return одна и та же блокировка для одного и того же ID вещи.
+     */
+    public Lock forItem(long itemId) {
+        return stripes[stripe(itemId)];
+    }
+
+    /**
+     * Блокировки набора вещей без повторов, упорядоченные по номеру полосы. Захват в этом порядке
+     * исключает взаимную блокировку потоков, одновременно работающих с пересекающимися наборами вещей.
+     *
+     * @param itemIds ID вещей.
+     * @return блокировки в порядке захвата.
+     */
+    public List<Lock> forItems(Collection<Long> itemIds) {
+        return itemIds.stream()
+                .mapToInt(this::stripe)
+                .sorted()
+                .distinct()
+                .mapToObj(stripe -> stripes[stripe])
+                .toList();
+    }
+
+    int size() {
+        return stripes.length;
+    }
+
+    private int stripe(long itemId) {
+        long hash = itemId * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & mask;
+    }
+}
@@ -11,7 +11,7 @@ import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
-import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.user.service.UserExistenceService;
 
 import java.util.List;
 
@@ -24,7 +24,7 @@ import java.util.List;
 public class ItemRequestController {
 
     private final ItemRequestService itemRequestService;
-    private final UserService userService;
+    private final UserExistenceService userExistenceService;
 
     /**
      * Добавление нового запроса вещи.
@@ -37,7 +37,7 @@ public class ItemRequestController {
     @PostMapping
     public ItemRequestDto addRequest(@RequestHeader("X-Sharer-User-Id") long requestorId,
                                      @RequestBody ItemRequestCreateDto itemRequestCreateDto) {
-        userService.get(requestorId);
+        userExistenceService.checkExists(requestorId);
         return itemRequestService.addRequest(requestorId, itemRequestCreateDto);
     }
 
@@ -49,7 +49,7 @@ public class ItemRequestController {
      */
     @GetMapping
     public List<ItemRequestDto> getOwnRequests(@RequestHeader("X-Sharer-User-Id") long requestorId) {
-        userService.get(requestorId);
+        userExistenceService.checkExists(requestorId);
         return itemRequestService.getOwnRequests(requestorId);
     }
 
@@ -61,7 +61,7 @@ public class ItemRequestController {
      */
     @GetMapping("/all")
     public List<ItemRequestDto> getAllRequests(@RequestHeader("X-Sharer-User-Id") long requestorId) {
-        userService.get(requestorId);
+        userExistenceService.checkExists(requestorId);
         return itemRequestService.getAllRequests(requestorId);
     }
 
@@ -75,7 +75,7 @@ public class ItemRequestController {
     @GetMapping("/{requestId}")
     public ItemRequestDto getRequest(@RequestHeader("X-Sharer-User-Id") long requestorId,
                                      @PathVariable("requestId") long requestId) {
-        userService.get(requestorId);
+        userExistenceService.checkExists(requestorId);
         return itemRequestService.getRequest(requestorId, requestId);
     }
 }
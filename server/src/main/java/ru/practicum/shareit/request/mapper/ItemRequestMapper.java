@@ -2,15 +2,18 @@ package ru.practicum.shareit.request.mapper;
 
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.item.model.ItemShort;
+import ru.practicum.shareit.item.model.RequestedItem;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
-import ru.practicum.shareit.request.model.ItemRequestWithItems;
+import ru.practicum.shareit.request.model.ItemRequestSummary;
 
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Component
 public class ItemRequestMapper {
@@ -31,24 +34,25 @@ public class ItemRequestMapper {
         return itemRequestDto;
     }
 
-    public ItemRequestDto toItemRequestDto(ItemRequestWithItems itemRequestWithItems) {
+    public ItemRequestDto toItemRequestDto(ItemRequestSummary summary, List<RequestedItem> items) {
         ItemRequestDto itemRequestDto = new ItemRequestDto();
-        itemRequestDto.setId(itemRequestWithItems.getId());
-        itemRequestDto.setDescription(itemRequestWithItems.getDescription());
-        itemRequestDto.setCreated(itemRequestWithItems.getCreatedDate());
-        itemRequestDto.setItems(itemRequestWithItems.getItems()
-                .stream()
-                .map(itemSimple -> new ItemShort(itemSimple.getId(),
-                        itemSimple.getName(),
-                        itemSimple.getOwnerId()))
+        itemRequestDto.setId(summary.getId());
+        itemRequestDto.setDescription(summary.getDescription());
+        itemRequestDto.setCreated(summary.getCreatedDate());
+        itemRequestDto.setItems(items.stream()
+                .map(item -> new ItemShort(item.getId(),
+                        item.getName(),
+                        item.getOwnerId()))
                 .toList());
         return itemRequestDto;
     }
 
-    public List<ItemRequestDto> toItemRequestDto(List<ItemRequestWithItems> itemRequestWithItems) {
+    public List<ItemRequestDto> toItemRequestDto(List<ItemRequestSummary> summaries, List<RequestedItem> items) {
+        Map<Long, List<RequestedItem>> itemsByRequest = items.stream()
+                .collect(Collectors.groupingBy(RequestedItem::getRequestId));
         List<ItemRequestDto> itemRequestDtos = new ArrayList<>();
-        for (ItemRequestWithItems itemRequestWithItem : itemRequestWithItems) {
-            itemRequestDtos.add(toItemRequestDto(itemRequestWithItem));
+        for (ItemRequestSummary summary : summaries) {
+            itemRequestDtos.add(toItemRequestDto(summary, itemsByRequest.getOrDefault(summary.getId(), List.of())));
         }
         return itemRequestDtos;
     }
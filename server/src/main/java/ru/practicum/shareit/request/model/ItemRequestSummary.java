@@ -0,0 +1,15 @@
+package ru.practicum.shareit.request.model;
+
+import java.sql.Timestamp;
+
+/**
+ * Проекция запроса вещи для чтения: только поля, выдаваемые клиенту.
+ */
+public interface ItemRequestSummary {
+
+    Long getId();
+
+    String getDescription();
+
+    Timestamp getCreatedDate();
+}
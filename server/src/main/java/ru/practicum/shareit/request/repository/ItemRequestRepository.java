@@ -3,7 +3,17 @@ package ru.practicum.shareit.request.repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestSummary;
+
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Integer> {
+
+    Optional<ItemRequestSummary> findSummaryById(Long id);
+
+    List<ItemRequestSummary> findAllByRequestorIdOrderByCreatedDateDesc(Long requestorId);
+
+    List<ItemRequestSummary> findAllByRequestorIdIsNotOrderByCreatedDateDesc(Long requestorId);
 }
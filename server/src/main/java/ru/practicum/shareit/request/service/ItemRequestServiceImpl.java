@@ -1,24 +1,27 @@
 package ru.practicum.shareit.request.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
-import ru.practicum.shareit.request.model.ItemRequestWithItems;
+import ru.practicum.shareit.request.model.ItemRequestSummary;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
-import ru.practicum.shareit.request.repository.ItemRequestWithItemsRepository;
 
 import java.util.List;
 
 @Service
+@Timed(value = "shareit.service", histogram = true)
 @RequiredArgsConstructor
 public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final ItemRequestMapper itemRequestMapper;
     private final ItemRequestRepository itemRequestRepository;
-    private final ItemRequestWithItemsRepository itemRequestWithItemsRepository;
+    private final ItemRepository itemRepository;
 
     @Override
     public ItemRequestDto addRequest(long requestorId, ItemRequestCreateDto itemRequestCreateDto) {
@@ -28,25 +31,32 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestDto> getOwnRequests(long requestorId) {
-        List<ItemRequestWithItems> itemRequestWithItems = itemRequestWithItemsRepository
-                .findAllByRequestorIdOrderByCreatedDateDesc(requestorId);
-        return itemRequestMapper.toItemRequestDto(itemRequestWithItems);
+        List<ItemRequestSummary> requests = itemRequestRepository.findAllByRequestorIdOrderByCreatedDateDesc(requestorId);
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        return itemRequestMapper.toItemRequestDto(requests, itemRepository.findItemsRequestedBy(requestorId));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestDto> getAllRequests(long requestorId) {
-        List<ItemRequestWithItems> itemRequestWithItems = itemRequestWithItemsRepository
+        List<ItemRequestSummary> requests = itemRequestRepository
                 .findAllByRequestorIdIsNotOrderByCreatedDateDesc(requestorId);
-        return itemRequestMapper.toItemRequestDto(itemRequestWithItems);
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        return itemRequestMapper.toItemRequestDto(requests, itemRepository.findItemsRequestedByOthers(requestorId));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ItemRequestDto getRequest(long requestorId, long requestId) {
-        ItemRequestWithItems request = itemRequestWithItemsRepository.findById(requestId).orElse(null);
-        if (request == null) {
-            return null;
-        }
-        return itemRequestMapper.toItemRequestDto(request);
+        return itemRequestRepository.findSummaryById(requestId)
+                .map(request -> itemRequestMapper.toItemRequestDto(request,
+                        itemRepository.findRequestedItems(List.of(request.getId()))))
+                .orElse(null);
     }
 }
@@ -0,0 +1,154 @@
+package ru.practicum.shareit.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import net.ttddyy.dsproxy.listener.logging.DefaultQueryLogEntryCreator;
+import net.ttddyy.dsproxy.listener.logging.QueryLogEntryCreator;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Статистика SQL-запросов, выполненных через прокси источника данных.
+ * Для каждого текста запроса накапливаются число выполнений, ошибок, суммарное и максимальное время;
+ * время выполнения также публикуется метрикой shareit.sql.statements с тегами type и outcome.
+ * Запросы, выполнявшиеся не меньше порога, записываются в журнал вместе с параметрами
+ * и учитываются метрикой shareit.sql.slow.
+ * Число различных текстов запросов ограничено: запросы сверх лимита учитываются только в метриках.
+ */
+@Slf4j
+public class SqlStatistics implements QueryExecutionListener {
+
+    private static final String START = SqlStatistics.class.getName() + ".start";
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final Map<String, StatementStatistics> statements = new ConcurrentHashMap<>();
+    private final Map<QueryType, Timer> successTimers = new EnumMap<>(QueryType.class);
+    private final Map<QueryType, Timer> errorTimers = new EnumMap<>(QueryType.class);
+    private final Counter slowQueries;
+    private final QueryLogEntryCreator logEntryCreator = new DefaultQueryLogEntryCreator();
+    private final long slowQueryNanos;
+    private final int maxStatements;
+
+    public SqlStatistics(MeterRegistry registry, Duration slowQueryThreshold, int maxStatements) {
+        for (QueryType type : QueryType.values()) {
+            successTimers.put(type, timer(registry, type, "success"));
+            errorTimers.put(type, timer(registry, type, "error"));
+        }
+        this.slowQueries = Counter.builder("shareit.sql.slow")
+                .description("Запросы, выполнявшиеся дольше порога shareit.sql.statistics.slow-query-threshold")
+                .register(registry);
+        this.slowQueryNanos = slowQueryThreshold.toNanos();
+        this.maxStatements = maxStatements;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START, Long.class);
+        if (start == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        String sql = sql(queryInfoList);
+        StatementStatistics statement = statements.get(sql);
+        if (statement == null && statements.size() < maxStatements) {
+            statement = statements.computeIfAbsent(sql, StatementStatistics::new);
+        }
+        QueryType type = statement != null ? statement.type : QueryUtils.getQueryType(sql);
+        (execInfo.isSuccess() ? successTimers : errorTimers).get(type).record(elapsed, TimeUnit.NANOSECONDS);
+        if (statement != null) {
+            statement.record(elapsed, execInfo.isSuccess());
+        }
+        if (elapsed >= slowQueryNanos) {
+            slowQueries.increment();
+            log.warn("Медленный запрос, {} мс: {}", String.format(Locale.ROOT, "%.1f", elapsed / NANOS_PER_MILLI),
+                    logEntryCreator.getLogEntry(execInfo, queryInfoList, false, false, false));
+        }
+    }
+
+    /**
+     * Запросы с наибольшим значением показателя, например суммарного или среднего времени.
+     */
+    public List<StatementSummary> top(Comparator<StatementSummary> order, int limit) {
+        return statements.values().stream()
+                .map(StatementStatistics::summary)
+                .sorted(order.reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    public int size() {
+        return statements.size();
+    }
+
+    public void reset() {
+        statements.clear();
+    }
+
+    private static String sql(List<QueryInfo> queryInfoList) {
+        if (queryInfoList.size() == 1) {
+            return queryInfoList.get(0).getQuery();
+        }
+        return queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining(";\n"));
+    }
+
+    private static Timer timer(MeterRegistry registry, QueryType type, String outcome) {
+        return Timer.builder("shareit.sql.statements")
+                .description("Время выполнения SQL-запросов")
+                .tag("type", type.name().toLowerCase(Locale.ROOT))
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static final class StatementStatistics {
+
+        private final String sql;
+        private final QueryType type;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private StatementStatistics(String sql) {
+            this.sql = sql;
+            this.type = QueryUtils.getQueryType(sql);
+        }
+
+        private void record(long nanos, boolean success) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            if (!success) {
+                errors.increment();
+            }
+        }
+
+        private StatementSummary summary() {
+            long executions = count.sum();
+            double total = totalNanos.sum() / NANOS_PER_MILLI;
+            return new StatementSummary(sql, executions, errors.sum(), total,
+                    executions > 0 ? total / executions : 0, maxNanos.get() / NANOS_PER_MILLI);
+        }
+    }
+}
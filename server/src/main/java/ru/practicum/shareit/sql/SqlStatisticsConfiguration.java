@@ -0,0 +1,55 @@
+package ru.practicum.shareit.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Сбор статистики SQL-запросов. Включается свойством shareit.sql.statistics.enabled=true:
+ * источник данных оборачивается прокси datasource-proxy, который передает каждое выполнение
+ * запроса в {@link SqlStatistics}. При выключенной статистике прокси не создается и запросы
+ * выполняются напрямую через пул соединений.
+ * Порог журнала медленных запросов - shareit.sql.statistics.slow-query-threshold,
+ * лимит различных запросов в статистике - shareit.sql.statistics.max-statements.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.sql.statistics.enabled", havingValue = "true")
+public class SqlStatisticsConfiguration {
+
+    @Bean
+    public SqlStatistics sqlStatistics(
+            MeterRegistry meterRegistry,
+            @Value("${shareit.sql.statistics.slow-query-threshold:500ms}") Duration slowQueryThreshold,
+            @Value("${shareit.sql.statistics.max-statements:1000}") int maxStatements) {
+        return new SqlStatistics(meterRegistry, slowQueryThreshold, maxStatements);
+    }
+
+    @Bean
+    public SqlStatsEndpoint sqlStatsEndpoint(SqlStatistics sqlStatistics) {
+        return new SqlStatsEndpoint(sqlStatistics);
+    }
+
+    @Bean
+    public static BeanPostProcessor sqlStatisticsDataSourceProxy(ObjectProvider<SqlStatistics> sqlStatistics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(sqlStatistics.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
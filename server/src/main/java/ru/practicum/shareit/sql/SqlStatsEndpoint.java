@@ -0,0 +1,48 @@
+package ru.practicum.shareit.sql;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Эндпоинт actuator sqlstats: GET /actuator/sqlstats?limit=N - N запросов с наибольшим суммарным
+ * и наибольшим средним временем выполнения (по умолчанию 10), DELETE /actuator/sqlstats - сброс статистики.
+ */
+@Endpoint(id = "sqlstats")
+public class SqlStatsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final SqlStatistics statistics;
+
+    public SqlStatsEndpoint(SqlStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @ReadOperation
+    public SqlStatsReport sqlStats(@Nullable Integer limit) {
+        int top = limit != null && limit > 0 ? limit : DEFAULT_LIMIT;
+        return new SqlStatsReport(statistics.size(),
+                statistics.top(Comparator.comparingDouble(StatementSummary::totalMs), top),
+                statistics.top(Comparator.comparingDouble(StatementSummary::meanMs), top));
+    }
+
+    @DeleteOperation
+    public void reset() {
+        statistics.reset();
+    }
+
+    /**
+     * @param statements  число различных запросов в статистике.
+     * @param byTotalTime запросы по убыванию суммарного времени выполнения.
+     * @param byMeanTime  запросы по убыванию среднего времени выполнения.
+     */
+    public record SqlStatsReport(int statements,
+                                 List<StatementSummary> byTotalTime,
+                                 List<StatementSummary> byMeanTime) {
+    }
+}
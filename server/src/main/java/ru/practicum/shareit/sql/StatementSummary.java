@@ -0,0 +1,19 @@
+package ru.practicum.shareit.sql;
+
+/**
+ * Накопленная статистика одного SQL-запроса.
+ *
+ * @param sql     текст запроса; для пакета из разных запросов - тексты через точку с запятой.
+ * @param count   число выполнений.
+ * @param errors  число выполнений, завершившихся ошибкой.
+ * @param totalMs суммарное время выполнения, мс.
+ * @param meanMs  среднее время выполнения, мс.
+ * @param maxMs   максимальное время выполнения, мс.
+ */
+public record StatementSummary(String sql,
+                               long count,
+                               long errors,
+                               double totalMs,
+                               double meanMs,
+                               double maxMs) {
+}
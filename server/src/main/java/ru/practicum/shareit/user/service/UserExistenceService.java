@@ -0,0 +1,17 @@
+package ru.practicum.shareit.user.service;
+
+/**
+ * Проверка существования пользователя без загрузки его данных.
+ * Используется там, где идентификатор из заголовка X-Sharer-User-Id нужно только проверить.
+ */
+public interface UserExistenceService {
+
+    boolean exists(long userId);
+
+    /**
+     * Проверка существования пользователя с тем же исключением, что и при его получении через UserService.
+     *
+     * @param userId ID проверяемого пользователя.
+     */
+    void checkExists(long userId);
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.user.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.exeptions.ForbiddenException;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+/**
+ * Проверка существования пользователя.
+ * Сначала проверяется наличие записи в кэше второго уровня, который Hibernate поддерживает
+ * согласованным при изменении и удалении пользователей; при промахе выполняется запрос existsById
+ * по первичному ключу без чтения строки и создания сущности.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserExistenceServiceImpl implements UserExistenceService {
+
+    private final UserRepository userRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public boolean exists(long userId) {
+        return entityManagerFactory.getCache().contains(User.class, userId) || userRepository.existsById(userId);
+    }
+
+    @Override
+    public void checkExists(long userId) {
+        if (!exists(userId)) {
+            throw new ForbiddenException("Пользователь с id " + userId + " не найден.");
+        }
+    }
+}
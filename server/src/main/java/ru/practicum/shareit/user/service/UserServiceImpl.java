@@ -1,19 +1,31 @@
 package ru.practicum.shareit.user.service;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exeptions.ForbiddenException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.user.dto.UserPatchDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.util.List;
+
 @Slf4j
 @Service
+@Timed(value = "shareit.service", histogram = true)
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ItemRepository itemRepository;
+    private final ItemSearchEngine itemSearchEngine;
 
     @Override
     public User save(User user) {
@@ -26,9 +38,20 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new ForbiddenException("Пользователь с id " + userId + " не найден."));
     }
 
+    /**
+     * Удаление пользователя. Его вещи удаляются каскадно средствами СУБД в обход Hibernate,
+     * поэтому они явно вытесняются из кэша второго уровня и исключаются из поиска; кэшированные
+     * вещи других владельцев остаются в кэше.
+     */
     @Override
     public void delete(long userId) {
+        List<Long> itemIds = itemRepository.findIdsByOwnerId(userId);
         userRepository.deleteById(userId);
+        Cache cache = entityManagerFactory.getCache();
+        itemIds.forEach(itemId -> {
+            cache.evict(Item.class, itemId);
+            itemSearchEngine.remove(itemId);
+        });
     }
 
     @Override
@@ -0,0 +1,69 @@
+-- Indexes (набор v1), только PostgreSQL
+-- Частичные индексы по статусу бронирования: в них попадают лишь строки,
+-- участвующие в расчете последнего/следующего бронирования и в выборках ожидающих подтверждения.
+
+CREATE INDEX IF NOT EXISTS bookings_approved_item_end_idx ON bookings (item_id, end_date)
+    WHERE status = 'APPROVED';
+CREATE INDEX IF NOT EXISTS bookings_approved_item_start_idx ON bookings (item_id, start_date)
+    WHERE status = 'APPROVED';
+CREATE INDEX IF NOT EXISTS bookings_waiting_item_start_idx ON bookings (item_id, start_date)
+    WHERE status = 'WAITING';
+CREATE INDEX IF NOT EXISTS bookings_waiting_booker_start_idx ON bookings (booker_id, start_date)
+    WHERE status = 'WAITING';
+
+-- Полнотекстовый поиск вещей
+-- search_vector - взвешенный tsvector (название важнее описания) для websearch_to_tsquery,
+-- триграммный индекс обслуживает поиск подстрок и неполных слов через ILIKE.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE items
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+        GENERATED ALWAYS AS (setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+                             setweight(to_tsvector('simple', coalesce(description, '')), 'B')) STORED;
+
+CREATE INDEX IF NOT EXISTS items_search_vector_idx ON items USING GIN (search_vector)
+    WHERE is_available;
+CREATE INDEX IF NOT EXISTS items_search_trgm_idx ON items
+    USING GIN ((coalesce(name, '') || ' ' || coalesce(description, '')) gin_trgm_ops)
+    WHERE is_available;
+
+-- Запрет пересекающихся бронирований одной вещи
+-- Подтвержденные бронирования вещи не могут пересекаться по интервалу [start_date, end_date); ожидающие
+-- подтверждения бронирования вещь не занимают. Ограничение создается блоком DO, так как ALTER TABLE не поддерживает
+-- IF NOT EXISTS для ограничений; тело блока записано в одинарных кавычках, чтобы скрипт корректно делился на команды.
+-- Ограничение прежней версии, учитывавшее и ожидающие бронирования, пересоздается.
+-- Если в базе уже есть пересекающиеся подтвержденные бронирования, скрипт завершается ошибкой и приложение
+-- не запускается: такие бронирования нужно отклонить вручную (status = 'REJECTED'), после чего запустить повторно.
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+DO '
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ''bookings_no_overlap''
+               AND pg_get_constraintdef(oid) LIKE ''%WAITING%'') THEN
+        ALTER TABLE bookings DROP CONSTRAINT bookings_no_overlap;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ''bookings_no_overlap'') THEN
+        ALTER TABLE bookings
+            ADD CONSTRAINT bookings_no_overlap EXCLUDE USING gist
+                (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+                WHERE (status = ''APPROVED'');
+    END IF;
+EXCEPTION
+    WHEN exclusion_violation THEN
+        RAISE EXCEPTION ''Ограничение bookings_no_overlap не создано, есть пересекающиеся подтвержденные бронирования: %'',
+            SQLERRM
+            USING HINT = ''Отклоните лишние бронирования (status = REJECTED) и перезапустите приложение.'';
+END';
+
+-- Согласование последовательностей ID с существующими строками
+-- Строки, созданные до перехода на последовательности, получали ID из IDENTITY-столбцов. Значение каждой
+-- последовательности поднимается до максимального ID таблицы и никогда не уменьшается, поэтому повторный
+-- запуск скрипта безопасен.
+
+SELECT setval('users_seq', GREATEST((SELECT coalesce(max(id), 0) FROM users), (SELECT last_value FROM users_seq), 1));
+SELECT setval('items_seq', GREATEST((SELECT coalesce(max(id), 0) FROM items), (SELECT last_value FROM items_seq), 1));
+SELECT setval('requests_seq', GREATEST((SELECT coalesce(max(id), 0) FROM requests), (SELECT last_value FROM requests_seq), 1));
+SELECT setval('bookings_seq', GREATEST((SELECT coalesce(max(id), 0) FROM bookings), (SELECT last_value FROM bookings_seq), 1));
+SELECT setval('comments_seq', GREATEST((SELECT coalesce(max(id), 0) FROM comments), (SELECT last_value FROM comments_seq), 1));
@@ -1,10 +1,23 @@
 -- DROP VIEW items_owner_dto;
+-- DROP TABLE IF EXISTS item_booking_stats;
 -- DROP TABLE IF EXISTS comments;
 -- DROP TABLE IF EXISTS bookings;
 -- DROP TABLE IF EXISTS requests;
 -- DROP TABLE IF EXISTS items;
 -- DROP TABLE IF EXISTS users;
 
+-- Sequences
+-- ID всех сущностей выдаются последовательностями: Hibernate резервирует блок значений размером
+-- в шаг последовательности за одно обращение (оптимизатор pooled-lo), поэтому вставки объединяются
+-- в пакеты JDBC. Размер блока меняется через ALTER SEQUENCE ... INCREMENT BY, приложение берет его из базы.
+-- IDENTITY-столбцы сохранены для совместимости с существующими базами; приложение всегда передает ID явно.
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+
 -- Table: users
 
 CREATE TABLE IF NOT EXISTS users
@@ -72,6 +85,11 @@ CREATE TABLE IF NOT EXISTS bookings
         ON DELETE NO ACTION
 );
 
+-- Версия строки для оптимистической блокировки; добавляется отдельно, чтобы появиться и в существующих базах.
+
+ALTER TABLE bookings
+    ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+
 -- Table: comments
 
 CREATE TABLE IF NOT EXISTS comments
@@ -84,30 +102,56 @@ CREATE TABLE IF NOT EXISTS comments
     CONSTRAINT comments_pkey PRIMARY KEY (id)
 );
 
+-- Table: item_booking_stats
+
+CREATE TABLE IF NOT EXISTS item_booking_stats
+(
+    item_id      bigint NOT NULL,
+    last_booking timestamp without time zone,
+    next_booking timestamp without time zone,
+    valid_until  timestamp without time zone,
+    CONSTRAINT item_booking_stats_pkey PRIMARY KEY (item_id),
+    CONSTRAINT item_booking_stats_item_fkey FOREIGN KEY (item_id)
+        REFERENCES items (id)
+        ON DELETE CASCADE
+);
+
+COMMENT ON TABLE item_booking_stats
+    IS 'Предрасчитанные последнее и следующее бронирования вещи, актуальные до valid_until';
+
+-- Вещи с бронированиями без предрасчитанных сведений (данные, загруженные в обход приложения) получают
+-- заведомо устаревшую запись: ее пересчитает периодическая задача сервера, чтение вещей сведения не пересчитывает.
+
+INSERT INTO item_booking_stats (item_id, valid_until)
+SELECT DISTINCT b.item_id, TIMESTAMP '1970-01-01 00:00:00'
+FROM bookings b
+WHERE NOT EXISTS (SELECT 1 FROM item_booking_stats s WHERE s.item_id = b.item_id);
+
+-- Indexes (набор v1)
+-- Общие для всех СУБД индексы под фильтры репозиториев.
+-- Частичные индексы PostgreSQL находятся в schema-postgresql.sql.
+
+CREATE INDEX IF NOT EXISTS bookings_booker_start_idx ON bookings (booker_id, start_date, id);
+CREATE INDEX IF NOT EXISTS bookings_item_status_start_idx ON bookings (item_id, status, start_date);
+CREATE INDEX IF NOT EXISTS items_owner_idx ON items (owner_id);
+CREATE INDEX IF NOT EXISTS items_request_idx ON items (request_id);
+CREATE INDEX IF NOT EXISTS comments_item_idx ON comments (item_id);
+CREATE INDEX IF NOT EXISTS item_booking_stats_valid_until_idx ON item_booking_stats (valid_until);
+CREATE INDEX IF NOT EXISTS requests_requestor_created_idx ON requests (requestor_id, created_date);
+
 -- View: items_owner_dto
+-- Сведения о последнем и следующем бронировании берутся из предрасчитанной таблицы item_booking_stats,
+-- которую сервер обновляет при изменении бронирований и периодически по истечении valid_until.
 
 CREATE OR REPLACE VIEW items_owner_dto
 AS
-SELECT b.id,
-       b.name,
-       b.description,
-       b.is_available,
-       b.owner_id,
-       lb.lastbooking,
-       nb.nextbooking
-FROM items b
-         LEFT JOIN (SELECT bookings.item_id,
-                           max(bookings.end_date) AS lastbooking
-                    FROM bookings
-                    WHERE bookings.start_date < current_date
-                      AND bookings.end_date < current_date
-                      AND bookings.status = 'APPROVED'
-                    GROUP BY bookings.item_id) lb ON b.id = lb.item_id
-         LEFT JOIN (SELECT bookings.item_id,
-                           min(bookings.start_date) AS nextbooking
-                    FROM bookings
-                    WHERE bookings.start_date > now()
-                      AND (bookings.status = ANY
-                           (ARRAY ['APPROVED', 'WAITING']))
-                    GROUP BY bookings.item_id) nb ON b.id = nb.item_id
-ORDER BY b.id;
\ No newline at end of file
+SELECT i.id,
+       i.name,
+       i.description,
+       i.is_available,
+       i.owner_id,
+       s.last_booking AS lastbooking,
+       s.next_booking AS nextbooking
+FROM items i
+         LEFT JOIN item_booking_stats s ON s.item_id = i.id
+ORDER BY i.id;
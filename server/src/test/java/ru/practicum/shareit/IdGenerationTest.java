@@ -0,0 +1,60 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.config.IdGeneration;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверка генерации ID последовательностями: ID резервируются блоками, а вставки
+ * нескольких сущностей в одной транзакции объединяются в пакеты JDBC.
+ */
+@SpringBootTest(classes = ShareItServer.class)
+@AutoConfigureTestDatabase
+class IdGenerationTest {
+
+    private static final int USERS = 120;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void insertsAreBatched() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<User> users = transactionTemplate.execute(status -> userRepository.saveAll(IntStream.range(0, USERS)
+                .mapToObj(IdGenerationTest::user)
+                .toList()));
+
+        assertEquals(USERS, users.stream().map(User::getId).distinct().count());
+        assertEquals(USERS, statistics.getEntityInsertCount());
+        int blocks = USERS / IdGeneration.ALLOCATION_SIZE + 1;
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= 2L * (blocks + 1), "Выполнено запросов: " + statements);
+    }
+
+    private static User user(int index) {
+        User user = new User();
+        user.setName("sequence user " + index);
+        user.setEmail("sequence.user" + index + "@example.com");
+        return user;
+    }
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Проверка метрик времени выполнения: эндпоинты, методы сервисов и запросы к репозиториям
+ * записываются в таймеры с гистограммами и публикуются в формате Prometheus.
+ */
+@SpringBootTest(classes = ShareItServer.class)
+@AutoConfigureTestDatabase
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void bookingSearchIsTimedByState() throws Exception {
+        User owner = new User();
+        owner.setName("metrics");
+        owner.setEmail("metrics.owner@example.com");
+        owner = userService.save(owner);
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .param("state", "PAST"))
+                .andExpect(status().isOk());
+
+        Timer endpoint = meterRegistry.find("http.server.requests")
+                .tags("uri", "/bookings/owner", "state", "PAST").timer();
+        assertNotNull(endpoint);
+        assertEquals(1, endpoint.count());
+        Timer service = meterRegistry.find("shareit.booking.search")
+                .tags("method", "getBookingsByOwner", "state", "PAST").timer();
+        assertNotNull(service);
+        assertEquals(1, service.count());
+        assertNotNull(meterRegistry.find("shareit.service").tags("method", "save").timer());
+        assertNotNull(meterRegistry.find("spring.data.repository.invocations")
+                .tags("repository", "BookingRepository").timer());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("shareit_booking_search_seconds_bucket")))
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket")));
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * PostgreSQL в контейнере для тестов, проверяющих поведение на рабочей СУБД. Тестовый класс подключает
+ * конфигурацию через @Import, включает профили test и postgres (настройки H2 заменяются на PostgreSQL)
+ * и отмечается @Testcontainers(disabledWithoutDocker = true): без Docker тесты пропускаются.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class PostgresTestConfiguration {
+
+    @Bean
+    @ServiceConnection
+    public PostgreSQLContainer<?> postgres() {
+        return new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"));
+    }
+}
@@ -0,0 +1,326 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.booking.enums.RequestStates;
+import ru.practicum.shareit.booking.enums.StatusEnum;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * Проверка планов выполнения запросов репозиториев на PostgreSQL.
+ * Все SELECT-запросы, выполненные сервисами на заполненной базе, повторяются через EXPLAIN с теми же
+ * значениями параметров, с которыми их выполнило приложение: от значений зависит, подходит ли частичный индекс.
+ * На небольших тестовых таблицах планировщик предпочитает полный просмотр и при наличии индекса, поэтому
+ * EXPLAIN выполняется с enable_seqscan = off: полный просмотр таблицы (Seq Scan или Index Scan без условия
+ * по индексу) остается в плане, только если подходящего индекса нет. Тест падает на таком запросе, если его
+ * источник - метод репозитория или класса приложения - не указан в {@link #FULL_SCAN_ALLOWED}.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(classes = ShareItServer.class)
+@ActiveProfiles({"test", "postgres"})
+@Import({PostgresTestConfiguration.class, QueryPlanTest.CapturingConfiguration.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+    private static final int USERS = 100;
+    private static final int ITEMS = 1_000;
+    private static final int REQUESTS = 300;
+    private static final int BOOKINGS = 5_000;
+    private static final int COMMENTS = 1_000;
+
+    /**
+     * Запросы, которым полный просмотр необходим по смыслу: источник запроса и пояснение причины.
+     */
+    private static final Map<String, String> FULL_SCAN_ALLOWED = Map.of(
+            "ItemRequestRepository.findAllByRequestorIdIsNotOrderByCreatedDateDesc",
+            "выборка запросов всех пользователей, кроме текущего",
+            "ItemRepository.findItemsRequestedByOthers",
+            "вещи, созданные по запросам всех пользователей, кроме текущего");
+
+    private static final List<String> PLANNER_SETTINGS = List.of(
+            "enable_seqscan = off", "enable_hashjoin = off", "enable_mergejoin = off");
+    private static final Set<String> SCAN_NODES = Set.of("Seq Scan", "Index Scan", "Index Only Scan");
+    private static final String APPLICATION_PACKAGE = "ru.practicum.shareit.";
+
+    private static final Queue<CapturedQuery> QUERIES = new ConcurrentLinkedQueue<>();
+    private static volatile boolean capturing;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    @BeforeAll
+    void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, name, email) VALUES (?, ?, ?)",
+                rows(USERS, i -> new Object[]{i, "user" + i, "plan" + i + "@example.com"}));
+        jdbcTemplate.batchUpdate("INSERT INTO requests (id, description, requestor_id, created_date) VALUES (?, ?, ?, ?)",
+                rows(REQUESTS, i -> new Object[]{i, "request " + i, 1 + i % USERS,
+                        Timestamp.valueOf(now.minusHours(i))}));
+        jdbcTemplate.batchUpdate("INSERT INTO items (id, name, description, is_available, owner_id, request_id) VALUES (?, ?, ?, ?, ?, ?)",
+                rows(ITEMS, i -> new Object[]{i, "item " + i, "description " + i, i % 3 != 0, 1 + i % USERS,
+                        i % 4 == 0 ? 1 + i % REQUESTS : null}));
+        StatusEnum[] statuses = StatusEnum.values();
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status) VALUES (?, ?, ?, ?, ?, ?)",
+                rows(BOOKINGS, i -> new Object[]{i, Timestamp.valueOf(now.plusHours(i - BOOKINGS / 2)),
+                        Timestamp.valueOf(now.plusHours(i - BOOKINGS / 2 + 3)), 1 + i % ITEMS, 1 + (i * 7) % USERS,
+                        statuses[i % statuses.length].name()}));
+        jdbcTemplate.batchUpdate("INSERT INTO item_booking_stats (item_id, last_booking, next_booking, valid_until) VALUES (?, ?, ?, ?)",
+                rows(ITEMS, i -> new Object[]{i, Timestamp.valueOf(now.minusHours(1)),
+                        Timestamp.valueOf(now.plusHours(1)), Timestamp.valueOf(now.plusHours(1))}));
+        jdbcTemplate.batchUpdate("INSERT INTO comments (id, text, item_id, author_id, created_date) VALUES (?, ?, ?, ?, ?)",
+                rows(COMMENTS, i -> new Object[]{i, "comment " + i, 1 + i % ITEMS, 1 + i % USERS,
+                        Timestamp.valueOf(now.minusDays(1))}));
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void repositoryQueriesUseIndexes() throws Exception {
+        QUERIES.clear();
+        long userId = 5;
+        long itemId = 5;
+        capturing = true;
+        try {
+            userService.get(userId);
+            itemService.getItem(itemId);
+            itemService.getItemForOwnerView(itemId);
+            itemService.getItemsForOwner(userId);
+            itemService.getItemsWithText("item 1", 0, 10);
+            bookingService.get(10);
+            for (RequestStates state : RequestStates.values()) {
+                bookingService.getBookingsCurrentUserWithState(userId, state, ScrollPosition.keyset(), 10);
+                bookingService.getBookingsByOwner(userId, state, ScrollPosition.keyset(), 10);
+            }
+            bookingService.getBookingsCurrentUserWithState(userId, RequestStates.ALL,
+                    ScrollPosition.forward(Map.of("startDate", LocalDateTime.now(), "id", (long) BOOKINGS)), 10);
+            bookingRepository.findByItemIdAndBookerIdAndStartDateBeforeAndStatus(itemId, userId,
+                    LocalDateTime.now(), StatusEnum.APPROVED);
+            bookingRepository.existsOverlapping(itemId, LocalDateTime.now(), LocalDateTime.now().plusDays(1),
+                    BookingServiceImpl.ACTIVE_STATUSES);
+            bookingRepository.findOwnership(List.of(10L, 20L, 30L));
+            bookingService.exportBookingsByOwner(userId, RequestStates.ALL, booking -> { });
+            itemRequestService.getOwnRequests(userId);
+            itemRequestService.getAllRequests(userId);
+            itemRequestService.getRequest(userId, 1);
+        } finally {
+            capturing = false;
+        }
+
+        List<CapturedQuery> selects = QUERIES.stream()
+                .filter(query -> query.sql().stripLeading().toLowerCase(Locale.ROOT).startsWith("select"))
+                .toList();
+        assertThat(selects, not(empty()));
+
+        Map<String, String> fullScans = new TreeMap<>();
+        try (Connection connection = jdbcTemplate.getDataSource().getConnection();
+             Statement settings = connection.createStatement()) {
+            for (String setting : PLANNER_SETTINGS) {
+                settings.execute("SET " + setting);
+            }
+            for (CapturedQuery query : selects) {
+                List<String> scans = fullScans(explain(connection, query));
+                if (!scans.isEmpty() && !FULL_SCAN_ALLOWED.containsKey(query.origin())) {
+                    fullScans.put(query.origin(), scans + " in " + query.sql());
+                }
+            }
+        }
+        assertThat(fullScans.toString(), fullScans.entrySet(), empty());
+    }
+
+    private JsonNode explain(Connection connection, CapturedQuery query) throws Exception {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + query.sql())) {
+            for (Bind bind : query.binds()) {
+                bind.method().invoke(statement, bind.arguments());
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return objectMapper.readTree(resultSet.getString(1)).get(0).get("Plan");
+            }
+        }
+    }
+
+    /**
+     * Узлы плана, читающие таблицу целиком: Seq Scan и Index Scan без условия по индексу.
+     */
+    private static List<String> fullScans(JsonNode plan) {
+        List<String> scans = new ArrayList<>();
+        String nodeType = plan.path("Node Type").asText();
+        if (SCAN_NODES.contains(nodeType) && !plan.has("Index Cond")) {
+            scans.add(nodeType + " on " + plan.path("Relation Name").asText());
+        }
+        for (JsonNode child : plan.path("Plans")) {
+            scans.addAll(fullScans(child));
+        }
+        return scans;
+    }
+
+    private static List<Object[]> rows(int count, IntFunction<Object[]> row) {
+        List<Object[]> rows = new ArrayList<>(count);
+        IntStream.rangeClosed(1, count).forEach(i -> rows.add(row.apply(i)));
+        return rows;
+    }
+
+    /**
+     * Источник запроса: ближайший к JDBC метод репозитория (по интерфейсу прокси Spring Data)
+     * или класса приложения.
+     */
+    private static String origin() {
+        return StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE).walk(frames -> frames
+                .map(frame -> {
+                    Class<?> type = frame.getDeclaringClass();
+                    if (Proxy.isProxyClass(type)) {
+                        return Arrays.stream(type.getInterfaces())
+                                .filter(face -> face.getName().startsWith(APPLICATION_PACKAGE))
+                                .findFirst()
+                                .map(face -> face.getSimpleName() + "." + frame.getMethodName())
+                                .orElse(null);
+                    }
+                    String name = type.getName();
+                    if (name.startsWith(APPLICATION_PACKAGE) && !name.contains("$$")
+                            && !name.startsWith(QueryPlanTest.class.getName())) {
+                        return type.getSimpleName() + "." + frame.getMethodName();
+                    }
+                    return null;
+                })
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse("unknown"));
+    }
+
+    private record Bind(Method method, Object[] arguments) {
+    }
+
+    private record CapturedQuery(String origin, String sql, List<Bind> binds) {
+    }
+
+    /**
+     * Источник данных приложения, запоминающий выполненные запросы с их источником и значениями параметров.
+     */
+    @TestConfiguration(proxyBeanMethods = false)
+    static class CapturingConfiguration {
+
+        @Bean
+        static BeanPostProcessor capturingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? new CapturingDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    private static final class CapturingDataSource extends DelegatingDataSource {
+
+        private CapturingDataSource(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return capture(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return capture(super.getConnection(username, password));
+        }
+
+        private static Connection capture(Connection connection) {
+            return proxy(Connection.class, connection, (method, arguments, result) ->
+                    capturing && method.getName().startsWith("prepareStatement")
+                            ? capture((PreparedStatement) result, (String) arguments[0])
+                            : result);
+        }
+
+        private static PreparedStatement capture(PreparedStatement statement, String sql) {
+            Map<Integer, Bind> binds = new LinkedHashMap<>();
+            return proxy(PreparedStatement.class, statement, (method, arguments, result) -> {
+                String name = method.getName();
+                if (method.getDeclaringClass() == PreparedStatement.class && name.startsWith("set")) {
+                    binds.put((Integer) arguments[0], new Bind(method, arguments));
+                } else if (name.equals("clearParameters")) {
+                    binds.clear();
+                } else if (name.equals("executeQuery") || name.equals("execute")) {
+                    QUERIES.add(new CapturedQuery(origin(), sql, List.copyOf(binds.values())));
+                }
+                return result;
+            });
+        }
+
+        private static <T> T proxy(Class<T> type, T target, Interceptor interceptor) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, arguments) -> {
+                        try {
+                            return interceptor.after(method, arguments, method.invoke(target, arguments));
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }));
+        }
+    }
+
+    @FunctionalInterface
+    private interface Interceptor {
+        Object after(Method method, Object[] arguments, Object result);
+    }
+}
@@ -0,0 +1,105 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.exeptions.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemPatchDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserPatchDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверка кэша второго уровня для пользователей и вещей: повторное чтение по ключу не обращается к базе,
+ * а изменения и удаления сразу видны при следующем чтении.
+ */
+@SpringBootTest(classes = ShareItServer.class)
+@AutoConfigureTestDatabase
+class SecondLevelCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void repeatedLookupsAreServedFromCache() {
+        User owner = userService.save(user("cache.owner"));
+        Item item = itemService.addNewItem(owner.getId(), itemCreateDto());
+        userService.get(owner.getId());
+        itemService.getItem(item.getId());
+
+        statistics.clear();
+        for (int i = 0; i < 10; i++) {
+            userService.get(owner.getId());
+            itemService.getItem(item.getId());
+        }
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(10, statistics.getDomainDataRegionStatistics(User.CACHE_REGION).getHitCount());
+        assertEquals(10, statistics.getDomainDataRegionStatistics(Item.CACHE_REGION).getHitCount());
+    }
+
+    @Test
+    void updatesAndDeletesAreVisibleAfterCaching() {
+        User owner = userService.save(user("cache.updated"));
+        Item item = itemService.addNewItem(owner.getId(), itemCreateDto());
+        userService.get(owner.getId());
+        itemService.getItem(item.getId());
+
+        UserPatchDto userPatchDto = new UserPatchDto();
+        userPatchDto.setName("renamed");
+        userService.update(userService.get(owner.getId()), userPatchDto);
+        assertEquals("renamed", userService.get(owner.getId()).getName());
+
+        ItemPatchDto itemPatchDto = new ItemPatchDto();
+        itemPatchDto.setAvailable(false);
+        itemService.patchItem(owner.getId(), item.getId(), itemPatchDto);
+        assertFalse(itemService.getItem(item.getId()).getIsAvailable());
+
+        User otherOwner = userService.save(user("cache.other"));
+        Item otherItem = itemService.addNewItem(otherOwner.getId(), itemCreateDto());
+        itemService.getItem(otherItem.getId());
+
+        userService.delete(owner.getId());
+        assertThrows(NotFoundException.class, () -> itemService.getItem(item.getId()));
+        assertTrue(entityManagerFactory.getCache().contains(Item.class, otherItem.getId()));
+    }
+
+    private static User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@example.com");
+        return user;
+    }
+
+    private static ItemCreateDto itemCreateDto() {
+        ItemCreateDto itemCreateDto = new ItemCreateDto();
+        itemCreateDto.setName("cached item");
+        itemCreateDto.setDescription("cached item description");
+        itemCreateDto.setAvailable(true);
+        return itemCreateDto;
+    }
+}
@@ -0,0 +1,130 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.BookingController;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.enums.RequestStates;
+import ru.practicum.shareit.item.ItemController;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.ItemRequestController;
+import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.UserController;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Проверка того, что списочные эндпоинты выполняют фиксированное число SQL-запросов
+ * независимо от размера результата (отсутствие N+1 при загрузке связанных сущностей).
+ * Ответ сериализуется в JSON вне сессии Hibernate, поэтому незагруженная связь приводит к ошибке.
+ */
+@SpringBootTest(classes = ShareItServer.class)
+@AutoConfigureTestDatabase
+class StatementCountTest {
+
+    private static final int ROWS_PER_ROUND = 4;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UserController userController;
+    @Autowired
+    private ItemController itemController;
+    @Autowired
+    private BookingController bookingController;
+    @Autowired
+    private ItemRequestController itemRequestController;
+
+    @Test
+    void listEndpointsRunFixedNumberOfStatements() {
+        User owner = user("count.owner");
+        User booker = user("count.booker");
+        User requestor = user("count.requestor");
+        Map<String, Supplier<Object>> endpoints = Map.of(
+                "GET /bookings", () -> bookingController
+                        .getBookingsCurrentUserWithState(booker.getId(), RequestStates.ALL, null, 100).getBody(),
+                "GET /bookings/owner", () -> bookingController
+                        .getBookingsByOwner(owner.getId(), RequestStates.ALL, null, 100).getBody(),
+                "GET /items", () -> itemController.getItems(owner.getId()),
+                "GET /items/search", () -> itemController.getItemsWithText(booker.getId(), "counted", 0, 100),
+                "GET /requests", () -> itemRequestController.getOwnRequests(requestor.getId()),
+                "GET /requests/all", () -> itemRequestController.getAllRequests(owner.getId()));
+
+        addRound(owner, booker, requestor, 0);
+        Map<String, Long> small = countStatements(endpoints);
+        addRound(owner, booker, requestor, 1);
+        addRound(owner, booker, requestor, 2);
+        Map<String, Long> large = countStatements(endpoints);
+
+        assertEquals(small, large);
+    }
+
+    private void addRound(User owner, User booker, User requestor, int round) {
+        for (int i = 0; i < ROWS_PER_ROUND; i++) {
+            ItemRequestCreateDto requestCreateDto = new ItemRequestCreateDto();
+            requestCreateDto.setDescription("request " + round + "-" + i);
+            ItemRequestDto request = itemRequestController.addRequest(requestor.getId(), requestCreateDto);
+
+            ItemCreateDto itemCreateDto = new ItemCreateDto();
+            itemCreateDto.setName("Counted item " + round + "-" + i);
+            itemCreateDto.setDescription("counted");
+            itemCreateDto.setAvailable(true);
+            itemCreateDto.setRequestId(request.getId());
+            ItemDto item = itemController.createItem(owner.getId(), itemCreateDto);
+
+            BookingCreateDto bookingCreateDto = new BookingCreateDto();
+            bookingCreateDto.setItemId(item.getId());
+            bookingCreateDto.setStart(LocalDateTime.now().plusDays(round * 10L + i + 1));
+            bookingCreateDto.setEnd(bookingCreateDto.getStart().plusHours(1));
+            long bookingId = bookingController.createBooking(booker.getId(), bookingCreateDto).getId();
+            bookingController.approveBooking(owner.getId(), bookingId, true);
+        }
+    }
+
+    /**
+     * Подсчет запросов для каждого эндпоинта. Первый вызов прогревает предрасчитанные сведения
+     * о бронированиях вещей, учитывается второй.
+     */
+    private Map<String, Long> countStatements(Map<String, Supplier<Object>> endpoints) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Long> counts = new TreeMap<>();
+        endpoints.forEach((name, endpoint) -> {
+            serialize(endpoint.get());
+            statistics.clear();
+            serialize(endpoint.get());
+            counts.put(name, statistics.getPrepareStatementCount());
+        });
+        return counts;
+    }
+
+    private void serialize(Object response) {
+        try {
+            objectMapper.writeValueAsString(response);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@example.com");
+        return userController.createUser(user);
+    }
+}
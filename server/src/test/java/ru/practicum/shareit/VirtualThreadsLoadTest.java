@@ -0,0 +1,168 @@
+package ru.practicum.shareit;
+
+import jakarta.servlet.Filter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Сравнение обработки запросов пулом платформенных потоков Tomcat и виртуальными потоками.
+ * Сервер запускается в каждом режиме на отдельной базе, после чего одинаковая нагрузка с числом
+ * одновременных запросов больше размера пула Tomcat подается по HTTP; пропускная способность
+ * и 99-й процентиль времени ответа выводятся в журнал. Тест проверяет, что в обоих режимах
+ * все запросы выполнены успешно и что в режиме виртуальных потоков запросы действительно
+ * обрабатываются в них.
+ * Тест длится десятки секунд и запускается только профилем load:
+ * {@code mvn -Pload -pl server test -Dtest=VirtualThreadsLoadTest}.
+ */
+@Slf4j
+@Tag("load")
+class VirtualThreadsLoadTest {
+
+    private static final int CONCURRENCY = 300;
+    private static final int REQUESTS = 2_000;
+    private static final int ITEMS = 20;
+    private static final int BOOKINGS_PER_ITEM = 5;
+
+    @Test
+    void virtualThreadsServeLoadWithoutErrors() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+        log.info("Платформенные потоки: {}", platform);
+        log.info("Виртуальные потоки: {}", virtual);
+
+        assertThat(platform.errors(), equalTo(0));
+        assertThat(virtual.errors(), equalTo(0));
+        assertThat(platform.virtualThreadRequests(), equalTo(0));
+        assertThat(virtual.virtualThreadRequests(), equalTo(virtual.requests()));
+    }
+
+    private static Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItServer.class, ThreadProbe.class)
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + virtualThreads,
+                        "--logging.level.root=WARN",
+                        "--logging.level." + VirtualThreadsLoadTest.class.getName() + "=INFO");
+             HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String base = "http://localhost:" + port;
+            seed(client, base);
+            ThreadProbe.VIRTUAL.set(0);
+
+            List<String> paths = List.of("/users/1", "/items/1", "/bookings/owner?state=ALL&size=50", "/items");
+            Semaphore inFlight = new Semaphore(CONCURRENCY);
+            long[] latencies = new long[REQUESTS];
+            AtomicInteger errors = new AtomicInteger();
+            List<Future<?>> futures = new ArrayList<>(REQUESTS);
+            long start = System.nanoTime();
+            for (int i = 0; i < REQUESTS; i++) {
+                int index = i;
+                inFlight.acquire();
+                futures.add(executor.submit(() -> {
+                    long requestStart = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(get(base + paths.get(index % paths.size())),
+                                HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        latencies[index] = System.nanoTime() - requestStart;
+                        inFlight.release();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - start;
+            Arrays.sort(latencies);
+            return new Result(REQUESTS, errors.get(), ThreadProbe.VIRTUAL.get(),
+                    REQUESTS * 1_000_000_000.0 / elapsed, latencies[(int) (REQUESTS * 0.99) - 1] / 1_000_000.0);
+        }
+    }
+
+    private static void seed(HttpClient client, String base) throws Exception {
+        post(client, base + "/users", null, "{\"name\": \"owner\", \"email\": \"load.owner@example.com\"}");
+        post(client, base + "/users", null, "{\"name\": \"booker\", \"email\": \"load.booker@example.com\"}");
+        for (int item = 1; item <= ITEMS; item++) {
+            post(client, base + "/items", 1L,
+                    "{\"name\": \"item " + item + "\", \"description\": \"load\", \"available\": true}");
+            for (int booking = 0; booking < BOOKINGS_PER_ITEM; booking++) {
+                LocalDateTime start = LocalDateTime.now().plusDays(booking + 1L);
+                post(client, base + "/bookings", 2L, "{\"itemId\": " + item + ", \"start\": \"" + start
+                        + "\", \"end\": \"" + start.plusHours(1) + "\"}");
+            }
+        }
+    }
+
+    private static void post(HttpClient client, String uri, Long userId, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(uri))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (userId != null) {
+            request.header("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.body(), response.statusCode(), equalTo(201));
+    }
+
+    private static HttpRequest get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header("X-Sharer-User-Id", "1")
+                .GET()
+                .build();
+    }
+
+    private record Result(int requests, int errors, int virtualThreadRequests, double throughput, double p99Millis) {
+        @Override
+        public String toString() {
+            return String.format("%d запросов, ошибок - %d, %.0f запросов/с, p99 - %.1f мс",
+                    requests, errors, throughput, p99Millis);
+        }
+    }
+
+    /**
+     * Фильтр, подсчитывающий запросы, обработанные в виртуальных потоках.
+     */
+    @Configuration
+    static class ThreadProbe {
+        static final AtomicInteger VIRTUAL = new AtomicInteger();
+
+        @Bean
+        Filter threadProbeFilter() {
+            return (request, response, chain) -> {
+                if (Thread.currentThread().isVirtual()) {
+                    VIRTUAL.incrementAndGet();
+                }
+                chain.doFilter(request, response);
+            };
+        }
+    }
+}
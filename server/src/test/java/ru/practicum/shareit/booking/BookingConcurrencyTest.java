@@ -0,0 +1,149 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exeptions.ConflictException;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Нагрузочная проверка создания и подтверждения бронирований: тысячи параллельных POST /bookings
+ * на пересекающиеся интервалы небольшого набора вещей с немедленным подтверждением владельцем не должны
+ * приводить к пересечению подтвержденных бронирований одной вещи. Создание завершается либо созданием (201),
+ * либо конфликтом с подтвержденным бронированием (409), подтверждение - успехом либо конфликтом.
+ */
+@SpringBootTest(classes = ShareItServer.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureTestDatabase
+class BookingConcurrencyTest {
+
+    private static final int ITEMS = 8;
+    private static final int REQUESTS = 2_000;
+    private static final int THREADS = 32;
+    private static final int SLOTS = 200;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void concurrentBookingsNeverOverlap() throws Exception {
+        User owner = userService.save(user("concurrency.owner"));
+        User booker = userService.save(user("concurrency.booker"));
+        List<Long> itemIds = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            ItemCreateDto itemCreateDto = new ItemCreateDto();
+            itemCreateDto.setName("concurrent item " + i);
+            itemCreateDto.setDescription("concurrent item " + i);
+            itemCreateDto.setAvailable(true);
+            itemIds.add(itemService.addNewItem(owner.getId(), itemCreateDto).getId());
+        }
+        LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+
+        List<Future<Boolean>> responses = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < REQUESTS; i++) {
+                long itemId = itemIds.get(i % ITEMS);
+                responses.add(executor.submit(() -> bookAndApprove(owner.getId(), booker.getId(), itemId, base)));
+            }
+        }
+
+        int approved = 0;
+        for (Future<Boolean> response : responses) {
+            if (response.get()) {
+                approved++;
+            }
+        }
+
+        List<Map<String, Object>> bookings = jdbcTemplate.queryForList("SELECT item_id, start_date, end_date "
+                + "FROM bookings WHERE booker_id = ? AND status = 'APPROVED' "
+                + "ORDER BY item_id, start_date", booker.getId());
+        assertEquals(approved, bookings.size());
+        for (int i = 1; i < bookings.size(); i++) {
+            Map<String, Object> previous = bookings.get(i - 1);
+            Map<String, Object> current = bookings.get(i);
+            if (previous.get("item_id").equals(current.get("item_id"))) {
+                Timestamp previousEnd = (Timestamp) previous.get("end_date");
+                Timestamp currentStart = (Timestamp) current.get("start_date");
+                assertTrue(!currentStart.before(previousEnd), () -> "Пересечение бронирований: " + previous
+                        + " и " + current);
+            }
+        }
+        assertTrue(approved >= ITEMS);
+    }
+
+    /**
+     * Создание бронирования и его подтверждение владельцем.
+     *
+     * @return true, если бронирование создано и подтверждено.
+     */
+    private boolean bookAndApprove(long ownerId, long bookerId, long itemId, LocalDateTime base) {
+        ResponseEntity<BookingDto> response = book(bookerId, itemId, base);
+        HttpStatus status = HttpStatus.valueOf(response.getStatusCode().value());
+        assertTrue(Set.of(HttpStatus.CREATED, HttpStatus.CONFLICT).contains(status), status::toString);
+        if (status != HttpStatus.CREATED) {
+            return false;
+        }
+        try {
+            bookingService.approve(response.getBody().getId(), ownerId, true);
+            return true;
+        } catch (ConflictException e) {
+            return false;
+        }
+    }
+
+    private ResponseEntity<BookingDto> book(long bookerId, long itemId, LocalDateTime base) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        BookingCreateDto bookingCreateDto = new BookingCreateDto();
+        bookingCreateDto.setItemId(itemId);
+        bookingCreateDto.setStart(base.plusHours(random.nextInt(SLOTS)));
+        bookingCreateDto.setEnd(bookingCreateDto.getStart().plusHours(1 + random.nextInt(3)));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Sharer-User-Id", String.valueOf(bookerId));
+        return restTemplate.postForEntity("/bookings", new HttpEntity<>(bookingCreateDto, headers), BookingDto.class);
+    }
+
+    private static User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@example.com");
+        return user;
+    }
+}
@@ -7,32 +7,55 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.enums.RequestStates;
+import ru.practicum.shareit.booking.enums.StatusEnum;
+import ru.practicum.shareit.booking.mapper.BookingCursorMapper;
+import ru.practicum.shareit.booking.mapper.BookingExportWriter;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingApprovalResult;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exeptions.ConflictException;
 import ru.practicum.shareit.exeptions.ExceptionsHandler;
+import ru.practicum.shareit.exeptions.ForbiddenException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserExistenceService;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,7 +68,13 @@ class BookingControllerTest {
     @Mock
     private UserService userService;
     @Mock
+    private UserExistenceService userExistenceService;
+    @Mock
     private BookingMapper bookingMapper;
+    @Mock
+    private BookingCursorMapper bookingCursorMapper;
+    @Spy
+    private BookingExportWriter bookingExportWriter = new BookingExportWriter(new BookingMapper(), new ObjectMapper());
 
     @InjectMocks
     private BookingController bookingController;
@@ -114,14 +143,9 @@ class BookingControllerTest {
 
     @Test
     void approveBooking() throws Exception {
-        user.setId(5L);
-        Item item = new Item();
-        item.setId(1L);
-        item.setOwner(user);
-        booking.setItem(item);
-
-        when(userService.get(anyLong())).thenReturn(user);
-        when(bookingService.get(anyLong())).thenReturn(booking);
+        when(bookingService.approve(1L, 1L, true)).thenThrow(new ForbiddenException("not owner"));
+        when(bookingService.approve(1L, 5L, true)).thenReturn(booking);
+        when(bookingService.approve(1L, 5L, false)).thenThrow(new ConflictException("already approved"));
         when(bookingMapper.toDto(booking)).thenReturn(bookingDto);
 
         mockMvc.perform(patch("/bookings/{bookingId}", 1)
@@ -146,7 +170,29 @@ class BookingControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON)
                         .param("approved", "false"))
-                .andExpect(status().isOk());
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("already approved"));
+    }
+
+    @Test
+    void approveBookings() throws Exception {
+        when(bookingService.approveAll(5L, List.of(1L, 2L), true)).thenReturn(List.of(
+                BookingApprovalResult.success(1L, StatusEnum.APPROVED),
+                BookingApprovalResult.failure(2L, null, "not found")));
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", 5)
+                        .characterEncoding("UTF-8")
+                        .content(mapper.writeValueAsString(List.of(1L, 2L)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .param("approved", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bookingId").value(1))
+                .andExpect(jsonPath("$[0].success").value(true))
+                .andExpect(jsonPath("$[0].status").value("APPROVED"))
+                .andExpect(jsonPath("$[1].success").value(false))
+                .andExpect(jsonPath("$[1].error").value("not found"));
     }
 
     @Test
@@ -159,7 +205,6 @@ class BookingControllerTest {
         booking.setBooker(user);
 
 
-        when(userService.get(anyLong())).thenReturn(user);
         when(bookingService.get(anyLong())).thenReturn(booking);
         when(bookingMapper.toDto(booking)).thenReturn(bookingDto);
 
@@ -180,21 +225,28 @@ class BookingControllerTest {
 
     @Test
     void getBookingsCurrentUserWithState() throws Exception {
-        when(bookingService.getBookingsCurrentUserWithState(anyLong(),any())).thenReturn(List.of(booking));
+        Window<BookingView> window = Window.from(List.of(bookingView()), ScrollPosition::offset, true);
+        when(bookingCursorMapper.toPosition("cursor")).thenReturn(ScrollPosition.keyset());
+        when(bookingCursorMapper.toCursor(window)).thenReturn("next");
+        when(bookingService.getBookingsCurrentUserWithState(anyLong(), any(), any(), anyInt())).thenReturn(window);
         when(bookingMapper.toDto(anyList())).thenReturn(List.of(bookingDto));
 
         mockMvc.perform(get("/bookings")
                         .header("X-Sharer-User-Id",5)
                         .param("state", "FUTURE")
+                        .param("cursor", "cursor")
+                        .param("size", "1")
                         .characterEncoding("UTF-8")
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(header().string(BookingController.NEXT_CURSOR_HEADER, "next"));
     }
 
     @Test
     void getBookingsByOwner() throws Exception {
-        when(bookingService.getBookingsByOwner(anyLong(),any())).thenReturn(List.of(booking));
+        Window<BookingView> window = Window.from(List.of(bookingView()), ScrollPosition::offset);
+        when(bookingService.getBookingsByOwner(anyLong(), any(), any(), anyInt())).thenReturn(window);
         when(bookingMapper.toDto(anyList())).thenReturn(List.of(bookingDto));
 
         mockMvc.perform(get("/bookings/owner")
@@ -203,6 +255,40 @@ class BookingControllerTest {
                         .characterEncoding("UTF-8")
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(BookingController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void exportBookingsByOwner() throws Exception {
+        BookingView view = bookingView();
+        doAnswer(invocation -> {
+            Consumer<BookingView> action = invocation.getArgument(2);
+            action.accept(view);
+            return null;
+        }).when(bookingService).exportBookingsByOwner(anyLong(), any(), any());
+
+        MvcResult result = mockMvc.perform(get("/bookings/owner/export")
+                        .header("X-Sharer-User-Id", 5)
+                        .param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings.csv\""))
+                .andExpect(content().string(
+                        "id,start,end,status,item_id,item_name,owner_id,booker_id,booker_name,booker_email\n"
+                                + "1," + view.startDate() + "," + view.endDate()
+                                + ",WAITING,1,Дрель,1,5,booker,booker@mail.ru\n"));
+        verify(bookingService).exportBookingsByOwner(eq(5L), eq(RequestStates.ALL), any());
+    }
+
+    private static BookingView bookingView() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        return new BookingView(1L, start, start.plusDays(1), StatusEnum.WAITING,
+                1L, "Дрель", "Простая дрель", true, null,
+                1L, "owner", "owner@mail.ru", 5L, "booker", "booker@mail.ru");
     }
-}
\ No newline at end of file
+}
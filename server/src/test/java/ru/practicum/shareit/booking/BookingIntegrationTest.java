@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
@@ -7,25 +8,40 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.ShareItServer;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.enums.ExportFormat;
 import ru.practicum.shareit.booking.enums.RequestStates;
 import ru.practicum.shareit.booking.enums.StatusEnum;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingApprovalResult;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exeptions.ConflictException;
 import ru.practicum.shareit.item.ItemController;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemOwnerView;
+import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.UserController;
 import ru.practicum.shareit.user.model.User;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SpringBootTest(classes = ShareItServer.class)
 @AutoConfigureTestDatabase
@@ -39,6 +55,12 @@ public class BookingIntegrationTest {
     private ItemController itemController;
     @Autowired
     private UserController userController;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @Test
     void testBooking() {
@@ -66,9 +88,182 @@ public class BookingIntegrationTest {
         assertThat(booking.getId(), notNullValue());
         assertThat(booking.getStatus(), equalTo(StatusEnum.WAITING));
 
-        Collection<BookingDto> bookingDtos = bookingController.getBookingsByOwner(user.getId(), RequestStates.ALL);
+        Collection<BookingDto> bookingDtos = bookingController
+                .getBookingsByOwner(user.getId(), RequestStates.ALL, null, 100).getBody();
         assertThat(bookingDtos.size(), equalTo(1));
 
+        bookingCreateDto.setStart(LocalDateTime.now().plusDays(3));
+        bookingCreateDto.setEnd(LocalDateTime.now().plusDays(4));
+        BookingDto second = bookingController.createBooking(user.getId(), bookingCreateDto);
+        bookingCreateDto.setStart(LocalDateTime.now().plusDays(5));
+        bookingCreateDto.setEnd(LocalDateTime.now().plusDays(6));
+        BookingDto third = bookingController.createBooking(user.getId(), bookingCreateDto);
+
+        ResponseEntity<Collection<BookingDto>> firstPage = bookingController
+                .getBookingsCurrentUserWithState(user.getId(), RequestStates.ALL, null, 2);
+        assertThat(firstPage.getBody().stream().map(BookingDto::getId).toList(),
+                equalTo(List.of(third.getId(), second.getId())));
+        String cursor = firstPage.getHeaders().getFirst(BookingController.NEXT_CURSOR_HEADER);
+        assertThat(cursor, notNullValue());
+
+        ResponseEntity<Collection<BookingDto>> lastPage = bookingController
+                .getBookingsCurrentUserWithState(user.getId(), RequestStates.ALL, cursor, 2);
+        assertThat(lastPage.getBody().stream().map(BookingDto::getId).toList(),
+                equalTo(List.of(booking.getId())));
+        assertThat(lastPage.getHeaders().containsKey(BookingController.NEXT_CURSOR_HEADER), is(false));
+
+        BookingDto approved = bookingController.approveBooking(user.getId(), second.getId(), true);
+        assertThat(approved.getStatus(), equalTo(StatusEnum.APPROVED));
+        BookingDto retried = bookingController.approveBooking(user.getId(), second.getId(), true);
+        assertThat(retried.getStatus(), equalTo(StatusEnum.APPROVED));
+        assertThrows(ConflictException.class,
+                () -> bookingController.approveBooking(user.getId(), second.getId(), false));
+        assertThat(entityManager.find(Booking.class, second.getId()).getVersion(), equalTo(1L));
+    }
+
+    @Test
+    void testBookingStates() {
+        User owner = new User();
+        owner.setName("Owner");
+        owner.setEmail("states.owner@example.com");
+        userController.createUser(owner);
+        User booker = new User();
+        booker.setName("Booker");
+        booker.setEmail("states.booker@example.com");
+        userController.createUser(booker);
+        ItemCreateDto itemCreateDto = new ItemCreateDto();
+        itemCreateDto.setName("Drill");
+        itemCreateDto.setDescription("Drill");
+        itemCreateDto.setAvailable(true);
+        Item item = itemService.getItem(itemController.createItem(owner.getId(), itemCreateDto).getId());
+
+        LocalDateTime now = LocalDateTime.now();
+        Booking past = createBooking(item, booker, now.minusDays(3), now.minusDays(2), StatusEnum.APPROVED);
+        Booking current = createBooking(item, booker, now.minusDays(1), now.plusDays(1), StatusEnum.APPROVED);
+        Booking waiting = createBooking(item, booker, now.plusDays(2), now.plusDays(3), StatusEnum.WAITING);
+        Booking rejected = createBooking(item, booker, now.plusDays(4), now.plusDays(5), StatusEnum.REJECTED);
+
+        Map<RequestStates, List<Long>> expected = Map.of(
+                RequestStates.ALL, List.of(rejected.getId(), waiting.getId(), current.getId(), past.getId()),
+                RequestStates.CURRENT, List.of(current.getId()),
+                RequestStates.PAST, List.of(past.getId()),
+                RequestStates.FUTURE, List.of(rejected.getId(), waiting.getId()),
+                RequestStates.WAITING, List.of(waiting.getId()),
+                RequestStates.REJECTED, List.of(rejected.getId()));
+        for (RequestStates state : RequestStates.values()) {
+            assertThat(state.name(), ids(bookingController
+                    .getBookingsCurrentUserWithState(booker.getId(), state, null, 100)), equalTo(expected.get(state)));
+            assertThat(state.name(), ids(bookingController
+                    .getBookingsByOwner(owner.getId(), state, null, 100)), equalTo(expected.get(state)));
+        }
+        assertThat(ids(bookingController.getBookingsByOwner(booker.getId(), RequestStates.ALL, null, 100)),
+                equalTo(List.of()));
+
+        ItemOwnerView itemView = itemService.getItemForOwnerView(item.getId());
+        assertThat(itemView.getLastBooking(), equalTo(bookingService.get(past.getId()).getEndDate()));
+        assertThat(itemView.getNextBooking(), equalTo(bookingService.get(waiting.getId()).getStartDate()));
+    }
+
+    @Test
+    void testBatchApproval() {
+        User owner = new User();
+        owner.setName("Owner");
+        owner.setEmail("batch.owner@example.com");
+        userController.createUser(owner);
+        User booker = new User();
+        booker.setName("Booker");
+        booker.setEmail("batch.booker@example.com");
+        userController.createUser(booker);
+        ItemCreateDto itemCreateDto = new ItemCreateDto();
+        itemCreateDto.setName("Saw");
+        itemCreateDto.setDescription("Saw");
+        itemCreateDto.setAvailable(true);
+        Item first = itemService.getItem(itemController.createItem(owner.getId(), itemCreateDto).getId());
+        Item second = itemService.getItem(itemController.createItem(owner.getId(), itemCreateDto).getId());
+        Item foreign = itemService.getItem(itemController.createItem(booker.getId(), itemCreateDto).getId());
+
+        LocalDateTime now = LocalDateTime.now();
+        Booking waitingFirst = createBooking(first, booker, now.plusDays(1), now.plusDays(2), StatusEnum.WAITING);
+        Booking waitingSecond = createBooking(second, booker, now.plusDays(1), now.plusDays(2), StatusEnum.WAITING);
+        Booking rejected = createBooking(first, booker, now.plusDays(3), now.plusDays(4), StatusEnum.REJECTED);
+        Booking notOwned = createBooking(foreign, owner, now.plusDays(1), now.plusDays(2), StatusEnum.WAITING);
+
+        List<BookingApprovalResult> results = bookingController.approveBookings(owner.getId(), true,
+                List.of(waitingFirst.getId(), waitingSecond.getId(), rejected.getId(), notOwned.getId(), -1L));
+
+        assertThat(results.stream().map(BookingApprovalResult::success).toList(),
+                equalTo(List.of(true, true, false, false, false)));
+        assertThat(bookingService.get(waitingFirst.getId()).getStatus(), equalTo(StatusEnum.APPROVED));
+        assertThat(bookingService.get(waitingSecond.getId()).getStatus(), equalTo(StatusEnum.APPROVED));
+        assertThat(bookingService.get(waitingSecond.getId()).getVersion(), equalTo(1L));
+        assertThat(bookingService.get(rejected.getId()).getStatus(), equalTo(StatusEnum.REJECTED));
+        assertThat(bookingService.get(notOwned.getId()).getStatus(), equalTo(StatusEnum.WAITING));
+
+        List<BookingApprovalResult> retried = bookingController.approveBookings(owner.getId(), true,
+                List.of(waitingFirst.getId()));
+        assertThat(retried, equalTo(List.of(BookingApprovalResult.success(waitingFirst.getId(), StatusEnum.APPROVED))));
+        assertThat(bookingService.get(waitingFirst.getId()).getVersion(), equalTo(1L));
+    }
+
+    @Test
+    void testExportBookingsByOwner() throws Exception {
+        User owner = new User();
+        owner.setName("Owner");
+        owner.setEmail("export.owner@example.com");
+        userController.createUser(owner);
+        User booker = new User();
+        booker.setName("Booker, \"Jr\"");
+        booker.setEmail("export.booker@example.com");
+        userController.createUser(booker);
+        ItemCreateDto itemCreateDto = new ItemCreateDto();
+        itemCreateDto.setName("Drill");
+        itemCreateDto.setDescription("Drill");
+        itemCreateDto.setAvailable(true);
+        Item item = itemService.getItem(itemController.createItem(owner.getId(), itemCreateDto).getId());
+
+        LocalDateTime now = LocalDateTime.now();
+        int count = 600;
+        for (int i = 0; i < count; i++) {
+            createBooking(item, booker, now.plusDays(i + 1L), now.plusDays(i + 1L).plusHours(1), StatusEnum.WAITING);
+        }
+
+        List<String> ndjson = export(owner.getId(), ExportFormat.NDJSON);
+        assertThat(ndjson.size(), equalTo(count));
+        BookingDto first = objectMapper.readValue(ndjson.getFirst(), BookingDto.class);
+        BookingDto last = objectMapper.readValue(ndjson.getLast(), BookingDto.class);
+        assertThat(first.getStart().isAfter(last.getStart()), is(true));
+        assertThat(first.getItem().getName(), equalTo("Drill"));
+
+        List<String> csv = export(owner.getId(), ExportFormat.CSV);
+        assertThat(csv.size(), equalTo(count + 1));
+        assertThat(csv.getFirst(), equalTo("id,start,end,status,item_id,item_name,owner_id,booker_id,booker_name,booker_email"));
+        assertThat(csv.get(1).endsWith(",WAITING," + item.getId() + ",Drill," + owner.getId() + "," + booker.getId()
+                + ",\"Booker, \"\"Jr\"\"\",export.booker@example.com"), is(true));
+
+        assertThat(export(booker.getId(), ExportFormat.NDJSON), equalTo(List.of()));
+    }
+
+    private List<String> export(long ownerId, ExportFormat format) throws IOException {
+        ResponseEntity<StreamingResponseBody> response = bookingController.exportBookingsByOwner(ownerId,
+                RequestStates.ALL, format);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        String body = out.toString(StandardCharsets.UTF_8);
+        return body.isEmpty() ? List.of() : List.of(body.split("\n"));
+    }
+
+    private Booking createBooking(Item item, User booker, LocalDateTime start, LocalDateTime end, StatusEnum status) {
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStartDate(start);
+        booking.setEndDate(end);
+        booking.setStatus(status);
+        return bookingService.create(booking);
+    }
+
+    private static List<Long> ids(ResponseEntity<Collection<BookingDto>> response) {
+        return response.getBody().stream().map(BookingDto::getId).toList();
     }
 
 }
@@ -1,26 +1,52 @@
 package ru.practicum.shareit.booking.service;
 
+import jakarta.validation.ValidationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.enums.BookingRole;
 import ru.practicum.shareit.booking.enums.RequestStates;
+import ru.practicum.shareit.booking.enums.StatusEnum;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingApprovalResult;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.model.BookingOwnership;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingSearchCriteria;
+import ru.practicum.shareit.exeptions.ConflictException;
+import ru.practicum.shareit.exeptions.ForbiddenException;
 import ru.practicum.shareit.exeptions.NotFoundException;
 import ru.practicum.shareit.exeptions.ResourceUnavailableException;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemBookingStatsService;
+import ru.practicum.shareit.lock.ItemLocks;
+import ru.practicum.shareit.user.model.User;
 
-import java.util.Collection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Тестирование BookingServiceImpl")
@@ -29,6 +55,16 @@ class BookingServiceImplTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private ItemBookingStatsService itemBookingStatsService;
+
+    @Spy
+    private ItemLocks itemLocks = new ItemLocks(16);
+
+    @Spy
+    private TransactionTemplate transactionTemplate =
+            new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -37,6 +73,7 @@ class BookingServiceImplTest {
     void create() {
         Booking booking = new Booking();
         Item item = new Item();
+        item.setId(1L);
         item.setIsAvailable(true);
         item.setName("test");
         booking.setItem(item);
@@ -45,6 +82,7 @@ class BookingServiceImplTest {
         Booking bookingCreated = bookingService.create(booking);
         assertNotNull(bookingCreated);
         Mockito.verify(bookingRepository).save(Mockito.any(Booking.class));
+        Mockito.verify(itemBookingStatsService).refresh(1L);
 
         item.setIsAvailable(false);
         ResourceUnavailableException resourceUnavailableException = assertThrows(ResourceUnavailableException.class,
@@ -52,6 +90,48 @@ class BookingServiceImplTest {
         assertEquals(resourceUnavailableException.getMessage(), "Бронирование вещи test не доступно");
     }
 
+    @Test
+    @DisplayName("отказ в создании бронирования, пересекающегося с подтвержденным")
+    void createOverlapping() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        Item item = new Item();
+        item.setId(1L);
+        item.setIsAvailable(true);
+        item.setName("test");
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setStartDate(start);
+        booking.setEndDate(start.plusHours(2));
+        Mockito.when(bookingRepository.existsOverlapping(1L, start, start.plusHours(2),
+                BookingServiceImpl.ACTIVE_STATUSES)).thenReturn(true);
+
+        ConflictException conflictException = assertThrows(ConflictException.class,
+                () -> bookingService.create(booking));
+        assertEquals("Вещь test уже забронирована на период с 2030-01-01T10:00 по 2030-01-01T12:00",
+                conflictException.getMessage());
+        Mockito.verify(bookingRepository, Mockito.never()).save(Mockito.any(Booking.class));
+        Mockito.verifyNoInteractions(itemBookingStatsService);
+    }
+
+    @Test
+    @DisplayName("нарушение ограничения bookings_no_overlap превращается в конфликт")
+    void createRejectedByExclusionConstraint() {
+        Item item = new Item();
+        item.setId(1L);
+        item.setIsAvailable(true);
+        Booking booking = new Booking();
+        booking.setItem(item);
+        Mockito.when(bookingRepository.save(booking)).thenThrow(new DataIntegrityViolationException("overlap",
+                new SQLException("conflicting key value violates exclusion constraint", "23P01")));
+
+        assertThrows(ConflictException.class, () -> bookingService.create(booking));
+
+        Mockito.doThrow(new DataIntegrityViolationException("fk",
+                new SQLException("violates foreign key constraint", "23503"))).when(bookingRepository).save(booking);
+        assertThrows(DataIntegrityViolationException.class, () -> bookingService.create(booking));
+        Mockito.verifyNoInteractions(itemBookingStatsService);
+    }
+
     @Test
     @DisplayName("поиск бронирования по ID")
     void get() {
@@ -66,78 +146,225 @@ class BookingServiceImplTest {
     }
 
     @Test
-    @DisplayName("вызов метода репозитория при сохранении")
-    void save() {
-        Mockito.when(bookingRepository.save(Mockito.any(Booking.class))).thenReturn(new Booking());
-        bookingService.save(new Booking());
-        Mockito.verify(bookingRepository).save(Mockito.any(Booking.class));
+    @DisplayName("подтверждение ожидающего бронирования владельцем")
+    void approve() {
+        Booking booking = bookingOwnedBy(5L, StatusEnum.APPROVED);
+        Mockito.when(bookingRepository.compareAndSetStatus(1L, 5L, StatusEnum.WAITING, StatusEnum.APPROVED))
+                .thenReturn(1);
+        Mockito.when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+
+        assertEquals(booking, bookingService.approve(1L, 5L, true));
+        Mockito.verify(itemBookingStatsService).refresh(2L);
+    }
+
+    @Test
+    @DisplayName("отказ в подтверждении бронирования, пересекающегося с подтвержденным")
+    void approveOverlapping() {
+        Booking booking = bookingOwnedBy(5L, StatusEnum.APPROVED);
+        booking.setStartDate(LocalDateTime.of(2030, 1, 1, 10, 0));
+        booking.setEndDate(LocalDateTime.of(2030, 1, 1, 12, 0));
+        Mockito.when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        Mockito.when(bookingRepository.compareAndSetStatus(1L, 5L, StatusEnum.WAITING, StatusEnum.APPROVED))
+                .thenReturn(1);
+        Mockito.when(bookingRepository.existsOverlappingOthers(1L, 2L, booking.getStartDate(), booking.getEndDate(),
+                BookingServiceImpl.ACTIVE_STATUSES)).thenReturn(true);
+
+        assertThrows(ConflictException.class, () -> bookingService.approve(1L, 5L, true));
+        Mockito.verifyNoInteractions(itemBookingStatsService);
+    }
+
+    @Test
+    @DisplayName("нарушение ограничения bookings_no_overlap при подтверждении превращается в конфликт")
+    void approveRejectedByExclusionConstraint() {
+        Mockito.when(bookingRepository.findById(1L)).thenReturn(Optional.of(bookingOwnedBy(5L, StatusEnum.WAITING)));
+        Mockito.when(bookingRepository.compareAndSetStatus(1L, 5L, StatusEnum.WAITING, StatusEnum.APPROVED))
+                .thenThrow(new DataIntegrityViolationException("overlap",
+                        new SQLException("conflicting key value violates exclusion constraint", "23P01")));
+
+        ConflictException conflictException = assertThrows(ConflictException.class,
+                () -> bookingService.approve(1L, 5L, true));
+        assertEquals("Бронирование с ID - 1 пересекается с подтвержденным бронированием вещи.",
+                conflictException.getMessage());
+        Mockito.verifyNoInteractions(itemBookingStatsService);
+    }
+
+    @Test
+    @DisplayName("повторное подтверждение возвращает бронирование без изменений")
+    void approveIsIdempotent() {
+        Booking booking = bookingOwnedBy(5L, StatusEnum.REJECTED);
+        Mockito.when(bookingRepository.compareAndSetStatus(1L, 5L, StatusEnum.WAITING, StatusEnum.REJECTED))
+                .thenReturn(0);
+        Mockito.when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+
+        assertEquals(booking, bookingService.approve(1L, 5L, false));
+        Mockito.verifyNoInteractions(itemBookingStatsService);
+    }
+
+    @Test
+    @DisplayName("отказ в смене уже принятого решения и в решении не владельцем")
+    void approveRejected() {
+        Booking booking = bookingOwnedBy(5L, StatusEnum.APPROVED);
+        Mockito.when(bookingRepository.compareAndSetStatus(Mockito.eq(1L), Mockito.anyLong(),
+                Mockito.eq(StatusEnum.WAITING), Mockito.any())).thenReturn(0);
+        Mockito.when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        Mockito.when(bookingRepository.findById(999L)).thenReturn(Optional.empty());
+
+        ConflictException conflictException = assertThrows(ConflictException.class,
+                () -> bookingService.approve(1L, 5L, false));
+        assertEquals("Бронирование с ID - 1 уже находится в статусе APPROVED.", conflictException.getMessage());
+        assertThrows(ForbiddenException.class, () -> bookingService.approve(1L, 6L, true));
+        assertThrows(NotFoundException.class, () -> bookingService.approve(999L, 5L, true));
+        Mockito.verifyNoInteractions(itemBookingStatsService);
+    }
+
+    @Test
+    @DisplayName("пакетное подтверждение бронирований с результатом по каждому бронированию")
+    void approveAll() {
+        Mockito.when(bookingRepository.findOwnership(Mockito.anyCollection())).thenReturn(List.of(
+                ownership(1L, 10L, 5L, StatusEnum.WAITING, 0, 2),
+                ownership(2L, 10L, 5L, StatusEnum.APPROVED, 4, 6),
+                ownership(3L, 11L, 5L, StatusEnum.REJECTED, 0, 2),
+                ownership(4L, 12L, 6L, StatusEnum.WAITING, 0, 2),
+                ownership(5L, 11L, 5L, StatusEnum.WAITING, 0, 2),
+                ownership(6L, 12L, 5L, StatusEnum.WAITING, 0, 2)));
+        Mockito.when(bookingRepository.compareAndSetStatuses(List.of(1L, 5L, 6L), StatusEnum.WAITING,
+                StatusEnum.APPROVED)).thenReturn(new int[]{1, 1, 0});
+
+        List<BookingApprovalResult> results = bookingService.approveAll(5L, List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 1L),
+                true);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L),
+                results.stream().map(BookingApprovalResult::bookingId).toList());
+        assertEquals(BookingApprovalResult.success(1L, StatusEnum.APPROVED), results.get(0));
+        assertEquals(BookingApprovalResult.success(2L, StatusEnum.APPROVED), results.get(1));
+        assertEquals("Бронирование с ID - 3 уже находится в статусе REJECTED.", results.get(2).error());
+        assertEquals(StatusEnum.WAITING, results.get(3).status());
+        assertEquals(BookingApprovalResult.success(5L, StatusEnum.APPROVED), results.get(4));
+        assertEquals("Статус бронирования с ID - 6 изменен другим запросом.", results.get(5).error());
+        assertEquals("Бронирование с ID - 7 не найдено.", results.get(6).error());
+        assertEquals(List.of(true, true, false, false, true, false, false),
+                results.stream().map(BookingApprovalResult::success).toList());
+        Mockito.verify(itemBookingStatsService).refresh(10L);
+        Mockito.verify(itemBookingStatsService).refresh(11L);
+        Mockito.verifyNoMoreInteractions(itemBookingStatsService);
+    }
+
+    @Test
+    @DisplayName("пакетное подтверждение не подтверждает пересекающиеся бронирования")
+    void approveAllOverlapping() {
+        Mockito.when(bookingRepository.findItemIds(Mockito.anyCollection())).thenReturn(List.of(10L, 11L));
+        Mockito.when(bookingRepository.findOwnership(Mockito.anyCollection())).thenReturn(List.of(
+                ownership(1L, 10L, 5L, StatusEnum.WAITING, 0, 2),
+                ownership(2L, 10L, 5L, StatusEnum.WAITING, 1, 3),
+                ownership(3L, 11L, 5L, StatusEnum.WAITING, 0, 2),
+                ownership(4L, 10L, 5L, StatusEnum.WAITING, 2, 4)));
+        Mockito.when(bookingRepository.findIntervals(Mockito.anyCollection(), Mockito.eq(hour(0)),
+                        Mockito.eq(hour(4)), Mockito.eq(BookingServiceImpl.ACTIVE_STATUSES)))
+                .thenReturn(List.of(new BookingInterval(11L, hour(1), hour(5))));
+        Mockito.when(bookingRepository.compareAndSetStatuses(List.of(1L, 4L), StatusEnum.WAITING,
+                StatusEnum.APPROVED)).thenReturn(new int[]{1, 1});
+
+        List<BookingApprovalResult> results = bookingService.approveAll(5L, List.of(1L, 2L, 3L, 4L), true);
+
+        assertEquals(BookingApprovalResult.success(1L, StatusEnum.APPROVED), results.get(0));
+        assertEquals(BookingApprovalResult.failure(2L, StatusEnum.WAITING,
+                "Бронирование с ID - 2 пересекается с подтвержденным бронированием вещи."), results.get(1));
+        assertEquals(BookingApprovalResult.failure(3L, StatusEnum.WAITING,
+                "Бронирование с ID - 3 пересекается с подтвержденным бронированием вещи."), results.get(2));
+        assertEquals(BookingApprovalResult.success(4L, StatusEnum.APPROVED), results.get(3));
+        Mockito.verify(itemBookingStatsService).refresh(10L);
+        Mockito.verifyNoMoreInteractions(itemBookingStatsService);
+    }
+
+    @Test
+    @DisplayName("ограничение размера пакета подтверждения бронирований")
+    void approveAllTooMany() {
+        List<Long> ids = LongStream.rangeClosed(1, BookingServiceImpl.MAX_BATCH_SIZE + 1).boxed().toList();
+
+        assertThrows(ValidationException.class, () -> bookingService.approveAll(5L, ids, true));
+        Mockito.verifyNoInteractions(bookingRepository);
     }
 
     @Test
     @DisplayName("получение списка бронирований для текущего пользователя")
     void getBookingsCurrentUserWithState() {
-        Mockito.when(bookingRepository
-                        .findAllByBookerIdOrderByStartDateDesc(Mockito.anyLong()))
-                .thenReturn(List.of(new Booking()));
-        Mockito.when(bookingRepository
-                        .findAllByBookerIdAndStartDateBeforeAndEndDateAfterOrderByStartDateDesc(Mockito.anyLong(), Mockito.any(), Mockito.any()))
-                .thenReturn(List.of(new Booking()));
-        Mockito.when(bookingRepository
-                        .findAllByBookerIdAndEndDateBeforeOrderByStartDateDesc(Mockito.anyLong(), Mockito.any()))
-                .thenReturn(List.of(new Booking()));
-        Mockito.when(bookingRepository
-                        .findAllByBookerIdAndStartDateAfterOrderByStartDateDesc(Mockito.anyLong(), Mockito.any()))
-                .thenReturn(List.of(new Booking()));
-        Mockito.when(bookingRepository
-                        .findAllByBookerIdAndStatusOrderByStartDateDesc(Mockito.anyLong(), Mockito.any()))
-                .thenReturn(List.of(new Booking()));
+        Window<BookingView> window = Window.from(List.of(), ScrollPosition::offset);
+        Mockito.when(bookingRepository.search(Mockito.any())).thenReturn(window);
 
         for (RequestStates state : RequestStates.values()) {
-            Collection<Booking> bookings = bookingService.getBookingsCurrentUserWithState(1L, state);
-            assertNotNull(bookings);
+            Window<BookingView> bookings = bookingService.getBookingsCurrentUserWithState(1L, state,
+                    ScrollPosition.keyset(), 10);
+            assertEquals(window, bookings);
         }
 
-        Mockito.verify(bookingRepository).findAllByBookerIdOrderByStartDateDesc(Mockito.anyLong());
-        Mockito.verify(bookingRepository)
-                .findAllByBookerIdAndStartDateBeforeAndEndDateAfterOrderByStartDateDesc(Mockito.anyLong(),
-                        Mockito.any(), Mockito.any());
-        Mockito.verify(bookingRepository).findAllByBookerIdAndEndDateBeforeOrderByStartDateDesc(Mockito.anyLong(),
-                Mockito.any());
-        Mockito.verify(bookingRepository).findAllByBookerIdAndStartDateAfterOrderByStartDateDesc(Mockito.anyLong(),
-                Mockito.any());
-        Mockito.verify(bookingRepository, Mockito.times(2))
-                .findAllByBookerIdAndStatusOrderByStartDateDesc(Mockito.anyLong(),
-                        Mockito.any());
+        ArgumentCaptor<BookingSearchCriteria> captor = ArgumentCaptor.forClass(BookingSearchCriteria.class);
+        Mockito.verify(bookingRepository, Mockito.times(RequestStates.values().length)).search(captor.capture());
+        for (int i = 0; i < RequestStates.values().length; i++) {
+            BookingSearchCriteria criteria = captor.getAllValues().get(i);
+            assertEquals(BookingRole.BOOKER, criteria.getRole());
+            assertEquals(1L, criteria.getUserId());
+            assertEquals(RequestStates.values()[i], criteria.getState());
+            assertEquals(10, criteria.getSize());
+            assertNotNull(criteria.getNow());
+        }
     }
 
     @Test
     @DisplayName("получение бронирований для владельца")
     void getBookingsByOwner() {
-        Mockito.when(bookingRepository.findAllByItemOwnerIdOrderByStartDateDesc(Mockito.anyLong()))
-                .thenReturn(List.of(new Booking()));
-        Mockito.when(bookingRepository
-                .findAllByItemOwnerIdAndStartDateBeforeAndEndDateAfterOrderByStartDateDesc(Mockito.anyLong(),
-                        Mockito.any(), Mockito.any())).thenReturn(List.of(new Booking()));
-        Mockito.when(bookingRepository.findAllByItemOwnerIdAndEndDateBeforeOrderByStartDateDesc(Mockito.anyLong(),
-                Mockito.any())).thenReturn(List.of(new Booking()));
-        Mockito.when(bookingRepository.findAllByItemOwnerIdAndStartDateAfterOrderByStartDateDesc(Mockito.anyLong(),
-                Mockito.any())).thenReturn(List.of(new Booking()));
-        Mockito.when(bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDateDesc(Mockito.anyLong(),
-                Mockito.any())).thenReturn(List.of(new Booking()));
+        Window<BookingView> window = Window.from(List.of(), ScrollPosition::offset);
+        Mockito.when(bookingRepository.search(Mockito.any())).thenReturn(window);
 
-        for (RequestStates state : RequestStates.values()) {
-            Collection<Booking> bookings = bookingService.getBookingsByOwner(1L, state);
-            assertNotNull(bookings);
-        }
+        Window<BookingView> bookings = bookingService.getBookingsByOwner(1L, RequestStates.CURRENT,
+                ScrollPosition.keyset(), 10_000);
+        assertEquals(window, bookings);
+
+        ArgumentCaptor<BookingSearchCriteria> captor = ArgumentCaptor.forClass(BookingSearchCriteria.class);
+        Mockito.verify(bookingRepository).search(captor.capture());
+        assertEquals(BookingRole.OWNER, captor.getValue().getRole());
+        assertEquals(RequestStates.CURRENT, captor.getValue().getState());
+        assertEquals(BookingServiceImpl.MAX_PAGE_SIZE, captor.getValue().getSize());
+    }
+
+    @Test
+    @DisplayName("выгрузка бронирований владельца")
+    void exportBookingsByOwner() {
+        AtomicBoolean closed = new AtomicBoolean();
+        BookingView view = Mockito.mock(BookingView.class);
+        Mockito.when(bookingRepository.stream(Mockito.any()))
+                .thenReturn(Stream.of(view, view).onClose(() -> closed.set(true)));
+
+        List<BookingView> exported = new ArrayList<>();
+        bookingService.exportBookingsByOwner(1L, RequestStates.WAITING, exported::add);
+
+        assertEquals(List.of(view, view), exported);
+        assertTrue(closed.get());
+        ArgumentCaptor<BookingSearchCriteria> captor = ArgumentCaptor.forClass(BookingSearchCriteria.class);
+        Mockito.verify(bookingRepository).stream(captor.capture());
+        assertEquals(BookingRole.OWNER, captor.getValue().getRole());
+        assertEquals(1L, captor.getValue().getUserId());
+        assertEquals(RequestStates.WAITING, captor.getValue().getState());
+    }
+
+    private static BookingOwnership ownership(long id, long itemId, long ownerId, StatusEnum status,
+                                              int startHour, int endHour) {
+        return new BookingOwnership(id, itemId, ownerId, status, hour(startHour), hour(endHour));
+    }
+
+    private static LocalDateTime hour(int hour) {
+        return LocalDateTime.of(2030, 1, 1, 0, 0).plusHours(hour);
+    }
 
-        Mockito.verify(bookingRepository).findAllByItemOwnerIdOrderByStartDateDesc(Mockito.anyLong());
-        Mockito.verify(bookingRepository).findAllByItemOwnerIdAndStartDateBeforeAndEndDateAfterOrderByStartDateDesc(Mockito.anyLong(),
-                Mockito.any(), Mockito.any());
-        Mockito.verify(bookingRepository).findAllByItemOwnerIdAndEndDateBeforeOrderByStartDateDesc(Mockito.anyLong(),
-                Mockito.any());
-        Mockito.verify(bookingRepository).findAllByItemOwnerIdAndStartDateAfterOrderByStartDateDesc(Mockito.anyLong(),
-                Mockito.any());
-        Mockito.verify(bookingRepository, Mockito.times(2)).findAllByItemOwnerIdAndStatusOrderByStartDateDesc(Mockito.anyLong(),
-                Mockito.any());
-    }
-}
\ No newline at end of file
+    private static Booking bookingOwnedBy(long ownerId, StatusEnum status) {
+        User owner = new User();
+        owner.setId(ownerId);
+        Item item = new Item();
+        item.setId(2L);
+        item.setOwner(owner);
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setItem(item);
+        booking.setStatus(status);
+        return booking;
+    }
+}
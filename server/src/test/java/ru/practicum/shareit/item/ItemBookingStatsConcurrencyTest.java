@@ -0,0 +1,179 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.service.ItemBookingStatsService;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Сведения о бронированиях вещей: чтение вещей владельцем их не пересчитывает, а одновременные пересчеты
+ * периодической задачей и после изменения бронирований на фоне параллельных GET /items/{id} и GET /items
+ * оставляют в item_booking_stats одну актуальную строку на вещь.
+ */
+@SpringBootTest(classes = ShareItServer.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureTestDatabase
+class ItemBookingStatsConcurrencyTest {
+
+    private static final int ITEMS = 4;
+    private static final int ROUNDS = 20;
+    private static final int THREADS = 32;
+    private static final Timestamp STALE = Timestamp.valueOf("1970-01-01 00:00:00");
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemBookingStatsService itemBookingStatsService;
+
+    @Test
+    void readsDoNotRefreshStats() {
+        User owner = userService.save(user("stats.reader"));
+        User booker = userService.save(user("stats.reader.booker"));
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        List<Long> itemIds = createItems(owner.getId(), booker.getId(), now.minusDays(1), now.plusDays(2));
+        markStale(owner.getId());
+
+        for (Long itemId : itemIds) {
+            assertEquals(200, get("/items/" + itemId, owner.getId()).value());
+        }
+        assertEquals(200, get("/items", owner.getId()).value());
+
+        for (Map<String, Object> row : stats(owner.getId())) {
+            assertEquals(STALE, row.get("valid_until"));
+        }
+    }
+
+    @Test
+    void concurrentRefreshesKeepOneRowPerItem() throws Exception {
+        User owner = userService.save(user("stats.owner"));
+        User booker = userService.save(user("stats.booker"));
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime lastEnd = now.minusDays(1);
+        LocalDateTime nextStart = now.plusDays(2);
+        List<Long> itemIds = createItems(owner.getId(), booker.getId(), lastEnd, nextStart);
+
+        for (int round = 0; round < ROUNDS; round++) {
+            markStale(owner.getId());
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<HttpStatusCode>> responses = new ArrayList<>();
+            try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+                for (int i = 0; i < THREADS; i++) {
+                    long itemId = itemIds.get(i % ITEMS);
+                    String path = i % 2 == 0 ? "/items" : "/items/" + itemId;
+                    switch (i % 3) {
+                        case 0 -> executor.submit(() -> {
+                            start.await();
+                            itemBookingStatsService.refreshStale();
+                            return null;
+                        });
+                        case 1 -> executor.submit(() -> {
+                            start.await();
+                            itemBookingStatsService.refresh(itemId);
+                            return null;
+                        });
+                        default -> responses.add(executor.submit(() -> {
+                            start.await();
+                            return get(path, owner.getId());
+                        }));
+                    }
+                }
+                start.countDown();
+            }
+            for (Future<HttpStatusCode> response : responses) {
+                assertEquals(200, response.get().value());
+            }
+        }
+
+        List<Map<String, Object>> stats = stats(owner.getId());
+        assertEquals(ITEMS, stats.size());
+        for (Map<String, Object> row : stats) {
+            assertEquals(Timestamp.valueOf(lastEnd), row.get("last_booking"));
+            assertEquals(Timestamp.valueOf(nextStart), row.get("next_booking"));
+            assertEquals(Timestamp.valueOf(nextStart), row.get("valid_until"));
+        }
+    }
+
+    /**
+     * Вещи с завершенным подтвержденным и будущим ожидающим бронированиями, добавленными в обход приложения.
+     */
+    private List<Long> createItems(long ownerId, long bookerId, LocalDateTime lastEnd, LocalDateTime nextStart) {
+        List<Long> itemIds = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            ItemCreateDto itemCreateDto = new ItemCreateDto();
+            itemCreateDto.setName("stats item " + i);
+            itemCreateDto.setDescription("stats item " + i);
+            itemCreateDto.setAvailable(true);
+            long itemId = itemService.addNewItem(ownerId, itemCreateDto).getId();
+            itemIds.add(itemId);
+            long bookingId = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR bookings_seq", Long.class);
+            insertBooking(bookingId, itemId, bookerId, lastEnd.minusDays(1), lastEnd, "APPROVED");
+            insertBooking(bookingId + 1, itemId, bookerId, nextStart, nextStart.plusDays(1), "WAITING");
+        }
+        return itemIds;
+    }
+
+    /**
+     * Замена сведений о бронированиях вещей владельца заведомо устаревшими записями,
+     * как при загрузке данных в обход приложения.
+     */
+    private void markStale(long ownerId) {
+        jdbcTemplate.update("DELETE FROM item_booking_stats WHERE item_id IN (SELECT id FROM items "
+                + "WHERE owner_id = ?)", ownerId);
+        jdbcTemplate.update("INSERT INTO item_booking_stats (item_id, valid_until) SELECT id, ? FROM items "
+                + "WHERE owner_id = ?", STALE, ownerId);
+    }
+
+    private List<Map<String, Object>> stats(long ownerId) {
+        return jdbcTemplate.queryForList("SELECT item_id, last_booking, next_booking, valid_until "
+                + "FROM item_booking_stats WHERE item_id IN (SELECT id FROM items WHERE owner_id = ?)", ownerId);
+    }
+
+    private HttpStatusCode get(String path, long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        return restTemplate.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), String.class).getStatusCode();
+    }
+
+    private void insertBooking(long id, long itemId, long bookerId, LocalDateTime start, LocalDateTime end,
+                               String status) {
+        jdbcTemplate.update("INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", id, start, end, itemId, bookerId, status);
+    }
+
+    private static User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@example.com");
+        return user;
+    }
+}
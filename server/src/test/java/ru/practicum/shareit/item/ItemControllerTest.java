@@ -20,13 +20,16 @@ import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemImportResult;
 import ru.practicum.shareit.item.model.ItemOwnerView;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
 
 import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -41,6 +44,8 @@ class ItemControllerTest {
     @Mock
     private ItemService itemService;
     @Mock
+    private ItemImportService itemImportService;
+    @Mock
     private ItemMapper itemMapper;
     @Mock
     private CommentMapper commentMapper;
@@ -65,10 +70,14 @@ class ItemControllerTest {
                 .build();
 
         itemCreateDto = new ItemCreateDto();
+        itemCreateDto.setName("Дрель");
+        itemCreateDto.setDescription("Простая дрель");
+        itemCreateDto.setAvailable(true);
         itemDto = ItemDto.builder().build();
         itemPatchDto = new ItemPatchDto();
         itemOwnerView = new ItemOwnerView();
         commentCreateDto = new CommentCreateDto();
+        commentCreateDto.setText("Отличная дрель");
         commentDto = CommentDto.builder().build();
     }
 
@@ -86,6 +95,24 @@ class ItemControllerTest {
                 .andExpect(status().isCreated());
     }
 
+    @Test
+    void importItems() throws Exception {
+        when(itemImportService.importItems(Mockito.eq(1L), any()))
+                .thenReturn(new ItemImportResult(1, 1, List.of(new ItemImportResult.Rejection(1, "invalid"))));
+
+        mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .characterEncoding("UTF-8")
+                        .content("{\"name\": \"a\", \"description\": \"a\", \"available\": true}\n{}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0].index").value(1))
+                .andExpect(jsonPath("$.errors[0].message").value("invalid"));
+    }
+
     @Test
     void patchItem() throws Exception {
         when(itemService.patchItem(1L, 1L, itemPatchDto)).thenReturn(new Item());
@@ -127,7 +154,7 @@ class ItemControllerTest {
 
     @Test
     void getItemsWithText() throws Exception {
-        when(itemService.getItemsWithText(anyString())).thenReturn(List.of(new Item()));
+        when(itemService.getItemsWithText(anyString(), anyInt(), anyInt())).thenReturn(List.of(new Item()));
         when(itemMapper.toDto(Mockito.anyList())).thenReturn(List.of(itemDto));
 
         mockMvc.perform(get("/items/search")
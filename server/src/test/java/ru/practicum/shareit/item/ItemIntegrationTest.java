@@ -1,8 +1,11 @@
 package ru.practicum.shareit.item;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
@@ -17,17 +20,21 @@ import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemPatchDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemImportResult;
 import ru.practicum.shareit.item.model.ItemOwnerView;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.UserController;
 import ru.practicum.shareit.user.model.User;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 @SpringBootTest(classes = ShareItServer.class)
@@ -38,6 +45,9 @@ public class ItemIntegrationTest {
     @Autowired
     private final EntityManager entityManager;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Autowired
     private BookingService bookingService;
 
@@ -106,8 +116,8 @@ public class ItemIntegrationTest {
         user1.setEmail("testitemuser1@testitemuser.com");
         user1 = userController.createUser(user1);
 
-        List<ItemDto> itemDtos = itemController.getItemsWithText(user1.getId(), "new");
-        assertThat(itemDtos.size(), equalTo(0));
+        List<ItemDto> itemDtos = itemController.getItemsWithText(user1.getId(), "new", 0, 100);
+        assertThat(itemDtos.size(), equalTo(1));
 
         item = itemService.getItem(item.getId());
 
@@ -137,4 +147,58 @@ public class ItemIntegrationTest {
         assertThat(items.size(), equalTo(1));
     }
 
+    @Test
+    void testItemSearch() {
+        User owner = new User();
+        owner.setName("search owner");
+        owner.setEmail("search.owner@example.com");
+        userController.createUser(owner);
+
+        ItemDto inDescription = itemController.createItem(owner.getId(), itemCreateDto("Ladder", "Fits a Zebrawood shelf", true));
+        ItemDto inName = itemController.createItem(owner.getId(), itemCreateDto("Zebrawood saw", "Sharp", true));
+        itemController.createItem(owner.getId(), itemCreateDto("Zebrawood plane", "Broken", false));
+        itemController.createItem(owner.getId(), itemCreateDto("Hammer", "zebrawood handle", false));
+
+        List<ItemDto> found = itemController.getItemsWithText(owner.getId(), "zebraWOOD", 0, 100);
+        assertThat(found.stream().map(ItemDto::getId).toList(), equalTo(List.of(inName.getId(), inDescription.getId())));
+
+        List<ItemDto> secondPage = itemController.getItemsWithText(owner.getId(), "zebrawood", 1, 1);
+        assertThat(secondPage.stream().map(ItemDto::getId).toList(), equalTo(List.of(inDescription.getId())));
+
+        assertThat(itemController.getItemsWithText(owner.getId(), " ", 0, 100).size(), equalTo(0));
+        assertThat(itemController.getItemsWithText(owner.getId(), "zebra%", 0, 100).size(), equalTo(0));
+    }
+
+    @Test
+    void testItemImport() {
+        User owner = new User();
+        owner.setName("import owner");
+        owner.setEmail("import.owner@example.com");
+        userController.createUser(owner);
+        int count = 10_000;
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            ndjson.append("{\"name\": \"Imported ").append(i)
+                    .append("\", \"description\": \"Bulk\", \"available\": true}\n");
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ItemImportResult result = itemController.importItems(owner.getId(),
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result, equalTo(new ItemImportResult(count, 0, List.of())));
+        assertThat(statistics.getEntityInsertCount(), equalTo(2L * count));
+        assertThat(statistics.getPrepareStatementCount(), lessThan((long) count / 10));
+        assertThat(itemService.getItemsForOwner(owner.getId()).size(), equalTo(count));
+        assertThat(itemController.getItemsWithText(owner.getId(), "Imported 9999", 0, 10).size(), equalTo(1));
+    }
+
+    private static ItemCreateDto itemCreateDto(String name, String description, boolean available) {
+        ItemCreateDto itemCreateDto = new ItemCreateDto();
+        itemCreateDto.setName(name);
+        itemCreateDto.setDescription(description);
+        itemCreateDto.setAvailable(available);
+        return itemCreateDto;
+    }
 }
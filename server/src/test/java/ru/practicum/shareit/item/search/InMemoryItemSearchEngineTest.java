@@ -0,0 +1,92 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Тестирование InMemoryItemSearchEngine")
+class InMemoryItemSearchEngineTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private InMemoryItemSearchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        Mockito.when(itemRepository.findAll(Mockito.any(Pageable.class))).thenReturn(new PageImpl<>(List.of(
+                item(1L, "Ladder", "Fits a zebrawood shelf", true),
+                item(2L, "Zebrawood saw", "Sharp", true),
+                item(3L, "Zebrawood plane", "Broken", false),
+                item(4L, "Дрель", "Ударная дрель с набором сверл", true))));
+        engine = new InMemoryItemSearchEngine(itemRepository);
+        engine.rebuild();
+    }
+
+    @Test
+    @DisplayName("поиск подстроки с ранжированием совпадений в названии, как в JpqlItemSearchEngine")
+    void search() {
+        assertEquals(List.of(2L, 1L), engine.search("ZEBRA", 0, 10));
+        assertEquals(List.of(1L), engine.search("zebra", 1, 10));
+        assertEquals(List.of(2L, 1L), engine.search("wood", 0, 10));
+        assertEquals(List.of(4L), engine.search("ель", 0, 10));
+        assertEquals(List.of(4L), engine.search("дрель с набором", 0, 10));
+        assertEquals(List.of(1L, 2L), engine.search("sh", 0, 10));
+        assertEquals(List.of(1L), engine.search("a zebrawood s", 0, 10));
+        assertTrue(engine.search("дрель сверл", 0, 10).isEmpty());
+        assertTrue(engine.search("zebra sharp", 0, 10).isEmpty());
+        assertTrue(engine.search("Broken", 0, 10).isEmpty());
+        assertTrue(engine.search("zebra", 5, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("ранжирование: слова в названии, слова в описании, подстрока в названии, подстрока в описании")
+    void ranking() {
+        engine.index(item(5L, "Shelf bracket", "Steel", true));
+        engine.index(item(6L, "Hook", "For a shelf", true));
+        engine.index(item(7L, "Bookshelf", "Oak", true));
+
+        assertEquals(List.of(5L, 1L, 6L, 7L), engine.search("shelf", 0, 10));
+        assertEquals(List.of(7L), engine.search("shelf", 3, 10));
+    }
+
+    @Test
+    @DisplayName("обновление индекса при изменении и удалении вещей")
+    void incrementalUpdates() {
+        engine.index(item(5L, "Zebra costume", "Carnival", true));
+        assertEquals(List.of(5L, 2L, 1L), engine.search("zebra", 0, 10));
+
+        engine.index(item(2L, "Saw", "Sharp", true));
+        assertEquals(List.of(5L, 1L), engine.search("zebra", 0, 10));
+
+        engine.index(item(1L, "Ladder", "Fits a zebrawood shelf", false));
+        assertEquals(List.of(5L), engine.search("zebra", 0, 10));
+
+        engine.index(item(3L, "Zebrawood plane", "Broken", true));
+        engine.remove(5L);
+        assertEquals(List.of(3L), engine.search("zebra", 0, 10));
+    }
+
+    private static Item item(long id, String name, String description, boolean available) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .isAvailable(available)
+                .build();
+    }
+}
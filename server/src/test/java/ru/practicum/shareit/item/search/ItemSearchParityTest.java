@@ -0,0 +1,70 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Переключение shareit.items.search.engine между db и memory не меняет результатов поиска:
+ * индекс в памяти и JPQL-реализация возвращают одни и те же вещи в одном порядке.
+ */
+@SpringBootTest(classes = ShareItServer.class)
+@AutoConfigureTestDatabase
+class ItemSearchParityTest {
+
+    private static final List<String> QUERIES = List.of("ель", "ДРЕЛЬ", "дрель ударная", "ударная дрель", "Пила",
+            "ая", "д", "набор свер", "сверл набор", "100%", "a_b", "отсутствует");
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+
+    @Test
+    void inMemoryEngineMatchesJpqlEngine() {
+        User owner = new User();
+        owner.setName("parity");
+        owner.setEmail("parity.owner@example.com");
+        owner = userService.save(owner);
+        addItem(owner, "Дрель", "Ударная дрель с набором сверл", true);
+        addItem(owner, "Дрель аккумуляторная", "Без ударного режима", true);
+        addItem(owner, "Пила", "Подходит к дрели как насадка", true);
+        addItem(owner, "Пила дисковая", "Сломана", false);
+        addItem(owner, "Скидка 100%", "Размер a_b", true);
+
+        ItemSearchEngine jpql = new JpqlItemSearchEngine(entityManager);
+        InMemoryItemSearchEngine memory = new InMemoryItemSearchEngine(itemRepository);
+        memory.rebuild();
+
+        for (String query : QUERIES) {
+            assertEquals(jpql.search(query, 0, 1_000), memory.search(query, 0, 1_000), query);
+            assertEquals(jpql.search(query, 1, 2), memory.search(query, 1, 2), query);
+        }
+        assertFalse(memory.search("ель", 0, 1_000).isEmpty());
+    }
+
+    private void addItem(User owner, String name, String description, boolean available) {
+        ItemCreateDto itemCreateDto = new ItemCreateDto();
+        itemCreateDto.setName(name);
+        itemCreateDto.setDescription(description);
+        itemCreateDto.setAvailable(available);
+        itemService.addNewItem(owner.getId(), itemCreateDto);
+    }
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.PostgresTestConfiguration;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Поиск вещей на PostgreSQL: движок выбирается по СУБД источника данных, ранжирование ts_rank и pg_trgm
+ * совпадает с порядком групп {@link JpqlItemSearchEngine} (слова в названии, слова в описании, подстрока
+ * в названии, подстрока в описании), а запрос из нескольких слов находит их в любом порядке.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(classes = ShareItServer.class)
+@ActiveProfiles({"test", "postgres"})
+@Import(PostgresTestConfiguration.class)
+class PostgresItemSearchEngineTest {
+
+    @Autowired
+    private ItemSearchEngine itemSearchEngine;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+
+    @Test
+    void ranksLikeJpqlEngine() {
+        assertInstanceOf(PostgresItemSearchEngine.class, itemSearchEngine);
+        User owner = new User();
+        owner.setName("postgres search");
+        owner.setEmail("postgres.search@example.com");
+        owner = userService.save(owner);
+        long substringInDescription = addItem(owner, "Бур", "Для перфораторных работ", true);
+        long wordInDescription = addItem(owner, "Молоток", "Легче чем перфоратор", true);
+        long substringInName = addItem(owner, "Перфораторный бур", "Сверло", true);
+        long wordInName = addItem(owner, "Перфоратор", "Мощный", true);
+        addItem(owner, "Перфоратор сломанный", "Не работает", false);
+
+        List<Long> expected = List.of(wordInName, wordInDescription, substringInName, substringInDescription);
+        assertEquals(expected, itemSearchEngine.search("Перфоратор", 0, 10));
+        assertEquals(expected, new JpqlItemSearchEngine(entityManager).search("Перфоратор", 0, 10));
+        assertEquals(expected.subList(1, 3), itemSearchEngine.search("перфоратор", 1, 2));
+        assertEquals(List.of(wordInDescription), itemSearchEngine.search("перфоратор легче", 0, 10));
+    }
+
+    private long addItem(User owner, String name, String description, boolean available) {
+        ItemCreateDto itemCreateDto = new ItemCreateDto();
+        itemCreateDto.setName(name);
+        itemCreateDto.setDescription(description);
+        itemCreateDto.setAvailable(available);
+        return itemService.addNewItem(owner.getId(), itemCreateDto).getId();
+    }
+}
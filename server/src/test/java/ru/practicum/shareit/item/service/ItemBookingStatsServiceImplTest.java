@@ -0,0 +1,102 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.repository.ItemBookingBounds;
+import ru.practicum.shareit.item.repository.ItemBookingStatsRepository;
+import ru.practicum.shareit.lock.ItemLocks;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Тестирование ItemBookingStatsServiceImpl")
+class ItemBookingStatsServiceImplTest {
+
+    @Mock
+    private ItemBookingStatsRepository itemBookingStatsRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ItemBookingStatsServiceImpl itemBookingStatsService;
+
+    @BeforeEach
+    void setUp() {
+        itemBookingStatsService = new ItemBookingStatsServiceImpl(itemBookingStatsRepository, new ItemLocks(16),
+                transactionManager, 2);
+    }
+
+    @Test
+    @DisplayName("пересчет сведений о бронированиях вещи")
+    void refresh() {
+        LocalDateTime last = LocalDateTime.now().minusDays(2);
+        LocalDateTime next = LocalDateTime.now().plusDays(3);
+        LocalDateTime nearestEnd = LocalDateTime.now().plusDays(1);
+        Mockito.when(itemBookingStatsRepository.aggregate(Mockito.eq(1L), Mockito.any()))
+                .thenReturn(new ItemBookingBounds(last, next, nearestEnd));
+
+        itemBookingStatsService.refresh(1L);
+
+        Mockito.verify(itemBookingStatsRepository).upsert(1L, last, next, nearestEnd);
+        Mockito.verify(transactionManager).commit(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("сведения без будущих изменений не устаревают")
+    void refreshWithoutUpcomingBookings() {
+        Mockito.when(itemBookingStatsRepository.aggregate(Mockito.eq(1L), Mockito.any()))
+                .thenReturn(new ItemBookingBounds(null, null, null));
+
+        itemBookingStatsService.refresh(1L);
+
+        Mockito.verify(itemBookingStatsRepository).upsert(1L, null, null, null);
+    }
+
+    @Test
+    @DisplayName("пересчет внутри транзакции выполняется после ее фиксации")
+    void refreshAfterCommit() {
+        Mockito.when(itemBookingStatsRepository.aggregate(Mockito.eq(1L), Mockito.any()))
+                .thenReturn(new ItemBookingBounds(null, null, null));
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            itemBookingStatsService.refresh(1L);
+
+            Mockito.verifyNoInteractions(itemBookingStatsRepository);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Mockito.verify(itemBookingStatsRepository).upsert(1L, null, null, null);
+    }
+
+    @Test
+    @DisplayName("пересчет устаревших сведений пакетами")
+    void refreshStale() {
+        Mockito.when(itemBookingStatsRepository.findStaleItemIds(Mockito.any(), Mockito.eq(Limit.of(2))))
+                .thenReturn(List.of(2L, 3L), List.of(4L));
+        Mockito.when(itemBookingStatsRepository.aggregate(Mockito.anyLong(), Mockito.any()))
+                .thenReturn(new ItemBookingBounds(null, null, null));
+
+        itemBookingStatsService.refreshStale();
+
+        Mockito.verify(itemBookingStatsRepository, Mockito.times(2)).findStaleItemIds(Mockito.any(), Mockito.any());
+        Mockito.verify(itemBookingStatsRepository).upsert(2L, null, null, null);
+        Mockito.verify(itemBookingStatsRepository).upsert(3L, null, null, null);
+        Mockito.verify(itemBookingStatsRepository).upsert(4L, null, null, null);
+        Mockito.verify(itemBookingStatsRepository, Mockito.times(3))
+                .upsert(Mockito.anyLong(), Mockito.any(), Mockito.any(), Mockito.any());
+    }
+}
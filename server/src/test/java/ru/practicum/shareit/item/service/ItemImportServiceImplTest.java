@@ -0,0 +1,172 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exeptions.NotFoundException;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingStats;
+import ru.practicum.shareit.item.model.ItemImportResult;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserExistenceService;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Тестирование ItemImportServiceImpl")
+class ItemImportServiceImplTest {
+
+    @Mock
+    TransactionTemplate mockTransactionTemplate;
+
+    @Mock
+    EntityManager mockEntityManager;
+
+    @Mock
+    Session mockSession;
+
+    @Mock
+    ItemRepository mockItemRepository;
+
+    @Mock
+    ItemSearchEngine mockItemSearchEngine;
+
+    @Mock
+    UserExistenceService mockUserExistenceService;
+
+    static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    ItemImportServiceImpl itemImportService;
+
+    User owner = new User();
+
+    @BeforeEach
+    void setUp() {
+        itemImportService = new ItemImportServiceImpl(new ObjectMapper(), mockTransactionTemplate,
+                mockEntityManager, mockItemRepository, new ItemMapper(), mockItemSearchEngine,
+                mockUserExistenceService, VALIDATOR, 2);
+    }
+
+    @Test
+    @DisplayName("импорт JSON-массива порциями заданного размера")
+    void importJsonArray() {
+        stubSaving();
+
+        ItemImportResult result = itemImportService.importItems(1L, input("["
+                + "{\"name\": \"a\", \"description\": \"a\", \"available\": true}, "
+                + "{\"name\": \"b\", \"description\": \"b\", \"available\": false}, "
+                + "{\"name\": \"c\", \"description\": \"c\", \"available\": true, \"requestId\": 7}]"));
+
+        assertEquals(new ItemImportResult(3, 0, List.of()), result);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Item>> chunks = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(mockItemRepository, Mockito.times(2)).saveAll(chunks.capture());
+        assertEquals(List.of(2, 1), chunks.getAllValues().stream().map(List::size).toList());
+        Item last = chunks.getAllValues().get(1).getFirst();
+        assertEquals("c", last.getName());
+        assertEquals(7L, last.getRequestId());
+        assertEquals(owner, last.getOwner());
+        Mockito.verify(mockSession, Mockito.times(2)).setCacheMode(CacheMode.IGNORE);
+        Mockito.verify(mockItemSearchEngine, Mockito.times(3)).index(Mockito.any(Item.class));
+        Mockito.verify(mockEntityManager, Mockito.times(3)).persist(Mockito.any(ItemBookingStats.class));
+    }
+
+    @Test
+    @DisplayName("импорт NDJSON с пропуском некорректных записей")
+    void importNdjsonWithInvalidRecords() {
+        stubSaving();
+
+        ItemImportResult result = itemImportService.importItems(1L, input(ndjson(
+                "{\"name\": \"a\", \"description\": \"a\", \"available\": true}",
+                "{\"name\": \"\", \"description\": \"b\", \"available\": true}",
+                "{\"name\": \"c\", \"description\": \"c\"}",
+                "{\"name\": \"d\", \"description\": \"d\", \"available\": false}",
+                "{\"name\": \"e\", \"description\": \"" + "e".repeat(513) + "\", \"available\": false}")));
+
+        assertEquals(2, result.imported());
+        assertEquals(3, result.rejected());
+        assertEquals(List.of(
+                new ItemImportResult.Rejection(1, "Поле наименование должно быть заполнено"),
+                new ItemImportResult.Rejection(2, "Доступность вещи должна быть определена"),
+                new ItemImportResult.Rejection(4, "Описание не должно быть длиннее 512 символов")), result.errors());
+    }
+
+    @Test
+    @DisplayName("отклонение записи со всеми нарушениями ограничений ItemCreateDto")
+    void importRecordWithSeveralViolations() {
+        Mockito.when(mockUserExistenceService.exists(1L)).thenReturn(true);
+
+        ItemImportResult result = itemImportService.importItems(1L, input(ndjson(
+                "{\"name\": \"" + "n".repeat(256) + "\", \"description\": \" \"}")));
+
+        assertEquals(new ItemImportResult(0, 1, List.of(new ItemImportResult.Rejection(0,
+                "Доступность вещи должна быть определена; Поле описания должно быть заполнено; "
+                        + "Наименование не должно быть длиннее 255 символов"))), result);
+        Mockito.verifyNoInteractions(mockItemRepository);
+    }
+
+    @Test
+    @DisplayName("прекращение импорта при нарушении синтаксиса JSON с сохранением прочитанных записей")
+    void importMalformedJson() {
+        stubSaving();
+
+        ItemImportResult result = itemImportService.importItems(1L, input(ndjson(
+                "{\"name\": \"a\", \"description\": \"a\", \"available\": true}",
+                "{\"name\": \"b\", \"description\": \"b\", \"available\": tru",
+                "{\"name\": \"c\", \"description\": \"c\", \"available\": true}")));
+
+        assertEquals(1, result.imported());
+        assertEquals(1, result.rejected());
+        assertEquals(1, result.errors().getFirst().index());
+        assertTrue(result.errors().getFirst().message().startsWith("Некорректный JSON"));
+    }
+
+    @Test
+    @DisplayName("импорт для несуществующего владельца")
+    void importForUnknownOwner() {
+        Mockito.when(mockUserExistenceService.exists(1L)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> itemImportService.importItems(1L, input("[]")));
+        Mockito.verifyNoInteractions(mockTransactionTemplate, mockItemRepository);
+    }
+
+    private void stubSaving() {
+        Mockito.when(mockUserExistenceService.exists(1L)).thenReturn(true);
+        Mockito.when(mockTransactionTemplate.execute(Mockito.any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        Mockito.when(mockEntityManager.unwrap(Session.class)).thenReturn(mockSession);
+        Mockito.when(mockEntityManager.getReference(User.class, 1L)).thenReturn(owner);
+        Mockito.when(mockItemRepository.saveAll(Mockito.anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private static String ndjson(String... lines) {
+        return String.join("\n", lines) + "\n";
+    }
+
+    private static InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
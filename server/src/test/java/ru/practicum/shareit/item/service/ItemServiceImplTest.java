@@ -22,8 +22,10 @@ import ru.practicum.shareit.item.model.ItemOwnerView;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemOwnerViewRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceService;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -52,6 +54,12 @@ class ItemServiceImplTest {
     @Mock
     ItemOwnerViewRepository mockItemOwnerViewRepository;
 
+    @Mock
+    ItemSearchEngine mockItemSearchEngine;
+
+    @Mock
+    UserExistenceService mockUserExistenceService;
+
     @InjectMocks
     ItemServiceImpl itemService;
 
@@ -71,6 +79,7 @@ class ItemServiceImplTest {
         itemService.addNewItem(ownerId, newItem);
 
         Mockito.verify(mockItemRepository, Mockito.times(1)).save(item);
+        Mockito.verify(mockItemSearchEngine, Mockito.times(1)).index(item);
         Mockito.verify(mockItemMapper, Mockito.times(1)).fromCreateDto(newItem);
         Mockito.verify(mockUserRepository, Mockito.times(1)).findById(Mockito.anyLong());
     }
@@ -112,8 +121,8 @@ class ItemServiceImplTest {
         User user = new User();
         user.setId(6L);
 
-        Mockito.when(mockUserRepository.findById(5L)).thenReturn(Optional.of(owner));
-        Mockito.when(mockUserRepository.findById(6L)).thenReturn(Optional.of(user));
+        Mockito.when(mockUserExistenceService.exists(5L)).thenReturn(true);
+        Mockito.when(mockUserExistenceService.exists(6L)).thenReturn(true);
         Mockito.when(mockItemRepository.findById(1L)).thenReturn(Optional.of(patchedItem));
         Mockito.when(mockItemRepository.findById(2L)).thenReturn(Optional.empty());
 
@@ -121,17 +130,17 @@ class ItemServiceImplTest {
                 .patchItem(5L, 2L, itemPatchDto));
         assertEquals(exception.getMessage(), "Вещь с указанным id: 2 не найдена");
 
-        Mockito.verify(mockUserRepository, Mockito.times(1)).findById(5L);
+        Mockito.verify(mockUserExistenceService, Mockito.times(1)).exists(5L);
         Mockito.verify(mockItemRepository, Mockito.times(1)).findById(2L);
 
         ForbiddenException forbiddenException = assertThrows(ForbiddenException.class, () -> itemService
                 .patchItem(6L, 1L, itemPatchDto));
         assertEquals(forbiddenException.getMessage(), "Пользователь с id: 6 не является владельцем вещи");
-        Mockito.verify(mockUserRepository, Mockito.times(1)).findById(6L);
+        Mockito.verify(mockUserExistenceService, Mockito.times(1)).exists(6L);
         Mockito.verify(mockItemRepository, Mockito.times(1)).findById(1L);
 
         itemService.patchItem(5L, 1L, itemPatchDto);
-        Mockito.verify(mockUserRepository, Mockito.times(2)).findById(5L);
+        Mockito.verify(mockUserExistenceService, Mockito.times(2)).exists(5L);
         Mockito.verify(mockItemRepository, Mockito.times(2)).findById(1L);
 
         assertEquals(patchedItem.getName(), itemPatchDto.getName());
@@ -175,26 +184,34 @@ class ItemServiceImplTest {
     void getItemsForOwner() {
         Mockito.when(mockItemOwnerViewRepository.findAllByOwnerId(1L))
                 .thenReturn(List.of(new ItemOwnerView()));
-        Mockito.when(mockUserRepository.findById(1L)).thenReturn(Optional.of(new User()));
+        Mockito.when(mockUserExistenceService.exists(1L)).thenReturn(true);
+        Mockito.when(mockUserExistenceService.exists(2L)).thenReturn(false);
         List<ItemOwnerView> list = itemService.getItemsForOwner(1L);
         Mockito.verify(mockItemOwnerViewRepository, Mockito.times(1)).findAllByOwnerId(1L);
-        Mockito.verify(mockUserRepository, Mockito.times(1)).findById(1L);
+        Mockito.verify(mockUserExistenceService, Mockito.times(1)).exists(1L);
         assertNotNull(list);
+
+        NotFoundException exception = assertThrows(NotFoundException.class, () -> itemService.getItemsForOwner(2L));
+        assertEquals(exception.getMessage(), "Пользователь с id: 2 не найден");
+        Mockito.verifyNoMoreInteractions(mockItemOwnerViewRepository);
     }
 
     @Test
     @DisplayName("поиск вещей по тексту")
     void getItemsWithText() {
-        Mockito.when(mockItemRepository
-                        .findByIsAvailableIsTrueAndNameLikeIgnoreCaseOrDescriptionLikeIgnoreCase(Mockito.anyString(),
-                                Mockito.anyString()))
-                .thenReturn(List.of(new Item()));
-
-        List<Item> items = itemService.getItemsWithText("text");
-        Mockito.verify(mockItemRepository, Mockito.times(1))
-                .findByIsAvailableIsTrueAndNameLikeIgnoreCaseOrDescriptionLikeIgnoreCase(Mockito.anyString(),
-                        Mockito.anyString());
-        assertNotNull(items);
+        Item first = new Item();
+        first.setId(1L);
+        Item second = new Item();
+        second.setId(2L);
+        Mockito.when(mockItemSearchEngine.search("text", 0, ItemServiceImpl.MAX_PAGE_SIZE)).thenReturn(List.of(2L, 1L));
+        Mockito.when(mockItemRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(first, second));
+
+        List<Item> items = itemService.getItemsWithText(" text ", -5, 10_000);
+        Mockito.verify(mockItemSearchEngine, Mockito.times(1)).search("text", 0, ItemServiceImpl.MAX_PAGE_SIZE);
+        assertEquals(List.of(second, first), items);
+
+        assertTrue(itemService.getItemsWithText("  ", 0, 10).isEmpty());
+        Mockito.verifyNoMoreInteractions(mockItemSearchEngine);
     }
 
     @Test
@@ -235,7 +252,7 @@ class ItemServiceImplTest {
         item.setOwner(user);
         Mockito.when(mockItemRepository.findById(1L)).thenReturn(Optional.of(item));
         Mockito.when(mockItemRepository.findById(2L)).thenReturn(Optional.empty());
-        Mockito.when(mockUserRepository.findById(Mockito.anyLong())).thenReturn(Optional.of(user));
+        Mockito.when(mockUserExistenceService.exists(Mockito.anyLong())).thenReturn(true);
         NotFoundException exception = assertThrows(NotFoundException.class, () -> itemService
                 .deleteItem(1L, 2L));
         assertEquals(exception.getMessage(), "Вещь с указанным id: 2 не найдена");
@@ -248,5 +265,6 @@ class ItemServiceImplTest {
         itemService.deleteItem(1L, 1L);
 
         Mockito.verify(mockItemRepository, Mockito.times(1)).deleteById(1L);
+        Mockito.verify(mockItemSearchEngine, Mockito.times(1)).remove(1L);
     }
 }
\ No newline at end of file
@@ -13,8 +13,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
-import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.user.service.UserExistenceService;
 
 import java.sql.Timestamp;
 import java.time.Instant;
@@ -22,7 +21,6 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -36,7 +34,7 @@ class ItemRequestControllerTest {
     private ItemRequestService itemRequestService;
 
     @Mock
-    private UserService userService;
+    private UserExistenceService userExistenceService;
 
     @InjectMocks
     private ItemRequestController itemRequestController;
@@ -66,7 +64,6 @@ class ItemRequestControllerTest {
 
     @Test
     void addRequest() throws Exception {
-        when(userService.get(anyLong())).thenReturn(new User());
         when(itemRequestService.addRequest(1L, itemRequestCreateDto)).thenReturn(itemRequestDto);
 
         mockMvc.perform(post("/requests")
@@ -82,7 +79,6 @@ class ItemRequestControllerTest {
 
     @Test
     void getOwnRequests() throws Exception {
-        when(userService.get(anyLong())).thenReturn(new User());
         when(itemRequestService.getOwnRequests(1L)).thenReturn(List.of(itemRequestDto));
 
         mockMvc.perform(get("/requests")
@@ -98,7 +94,6 @@ class ItemRequestControllerTest {
 
     @Test
     void getAllRequests() throws Exception {
-        when(userService.get(anyLong())).thenReturn(new User());
         when(itemRequestService.getAllRequests(1L)).thenReturn(List.of(itemRequestDto));
 
         mockMvc.perform(get("/requests/all")
@@ -114,7 +109,6 @@ class ItemRequestControllerTest {
 
     @Test
     void getRequest() throws Exception {
-        when(userService.get(anyLong())).thenReturn(new User());
         when(itemRequestService.getRequest(1L, 1L)).thenReturn(itemRequestDto);
 
         mockMvc.perform(get("/requests/{requestId}", 1)
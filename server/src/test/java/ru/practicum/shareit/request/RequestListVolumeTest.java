@@ -0,0 +1,87 @@
+package ru.practicum.shareit.request;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Список запросов других пользователей без пагинации: число запросов превышает предел
+ * параметров одного SQL-запроса PostgreSQL (65535), поэтому вещи к ним нельзя выбирать списком ID.
+ */
+@SpringBootTest(classes = ShareItServer.class)
+@AutoConfigureTestDatabase
+class RequestListVolumeTest {
+
+    private static final int REQUESTS = 70_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    @Test
+    void allRequestsWithItemsBeyondBindParameterLimit() {
+        User requestor = userService.save(user("volume.requestor"));
+        User reader = userService.save(user("volume.reader"));
+        Timestamp created = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.batchUpdate("INSERT INTO requests (id, description, requestor_id, created_date) "
+                        + "VALUES (NEXT VALUE FOR requests_seq, ?, ?, ?)",
+                IntStream.range(0, REQUESTS).mapToObj(i -> new Object[]{"volume " + i, requestor.getId(), created})
+                        .toList());
+        long requestId = jdbcTemplate.queryForObject("SELECT max(id) FROM requests WHERE requestor_id = ?",
+                Long.class, requestor.getId());
+        try {
+            assertAllRequestsListed(reader, requestId);
+        } finally {
+            jdbcTemplate.update("DELETE FROM items WHERE owner_id = ?", reader.getId());
+            jdbcTemplate.update("DELETE FROM requests WHERE requestor_id = ?", requestor.getId());
+        }
+    }
+
+    private void assertAllRequestsListed(User reader, long requestId) {
+        ItemCreateDto itemCreateDto = new ItemCreateDto();
+        itemCreateDto.setName("volume item");
+        itemCreateDto.setDescription("volume item");
+        itemCreateDto.setAvailable(true);
+        itemCreateDto.setRequestId(requestId);
+        itemService.addNewItem(reader.getId(), itemCreateDto);
+
+        List<ItemRequestDto> requests = itemRequestService.getAllRequests(reader.getId()).stream()
+                .filter(request -> request.getDescription().startsWith("volume "))
+                .toList();
+
+        assertEquals(REQUESTS, requests.size());
+        ItemRequestDto answered = requests.stream()
+                .filter(request -> request.getId() == requestId)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(1, answered.getItems().size());
+        assertEquals(1, requests.stream().mapToInt(request -> request.getItems().size()).sum());
+    }
+
+    private static User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@example.com");
+        return user;
+    }
+}
@@ -7,13 +7,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.model.RequestedItem;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
-import ru.practicum.shareit.request.model.ItemRequestWithItems;
+import ru.practicum.shareit.request.model.ItemRequestSummary;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
-import ru.practicum.shareit.request.repository.ItemRequestWithItemsRepository;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -32,7 +33,7 @@ class ItemRequestServiceImplTest {
     private ItemRequestRepository itemRequestRepository;
 
     @Mock
-    private ItemRequestWithItemsRepository itemRequestWithItemsRepository;
+    private ItemRepository itemRepository;
 
     @InjectMocks
     private ItemRequestServiceImpl itemRequestService;
@@ -56,47 +57,65 @@ class ItemRequestServiceImplTest {
     @Test
     @DisplayName("получение своих запросов")
     void getOwnRequests() {
-        List<ItemRequestWithItems> itemRequestWithItems = new ArrayList<>();
+        ItemRequestSummary summary = Mockito.mock(ItemRequestSummary.class);
+        List<ItemRequestSummary> summaries = List.of(summary);
+        List<RequestedItem> items = new ArrayList<>();
         List<ItemRequestDto> itemRequestDtos = new ArrayList<>();
-        Mockito.when(itemRequestWithItemsRepository.findAllByRequestorIdOrderByCreatedDateDesc(Mockito.anyLong()))
-                .thenReturn(itemRequestWithItems);
-        Mockito.when(itemRequestMapper.toItemRequestDto(itemRequestWithItems)).thenReturn(itemRequestDtos);
-
-        itemRequestService.getOwnRequests(1L);
-        Mockito.verify(itemRequestWithItemsRepository).findAllByRequestorIdOrderByCreatedDateDesc(1L);
-        Mockito.verify(itemRequestMapper).toItemRequestDto(itemRequestWithItems);
+        Mockito.when(itemRequestRepository.findAllByRequestorIdOrderByCreatedDateDesc(Mockito.anyLong()))
+                .thenReturn(summaries);
+        Mockito.when(itemRepository.findItemsRequestedBy(1L)).thenReturn(items);
+        Mockito.when(itemRequestMapper.toItemRequestDto(summaries, items)).thenReturn(itemRequestDtos);
+
+        assertSame(itemRequestDtos, itemRequestService.getOwnRequests(1L));
+        Mockito.verify(itemRequestRepository).findAllByRequestorIdOrderByCreatedDateDesc(1L);
+        Mockito.verify(itemRepository).findItemsRequestedBy(1L);
     }
 
     @Test
     @DisplayName("получение всех запросов")
     void getAllRequests() {
-        List<ItemRequestWithItems> itemRequestWithItems = new ArrayList<>();
+        Mockito.when(itemRequestRepository.findAllByRequestorIdIsNotOrderByCreatedDateDesc(1L))
+                .thenReturn(List.of());
+
+        assertTrue(itemRequestService.getAllRequests(1L).isEmpty());
+        Mockito.verify(itemRequestRepository).findAllByRequestorIdIsNotOrderByCreatedDateDesc(1L);
+        Mockito.verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    @DisplayName("вещи к запросам других пользователей выбираются по тому же условию, без списка ID")
+    void getAllRequestsWithItems() {
+        ItemRequestSummary summary = Mockito.mock(ItemRequestSummary.class);
+        List<ItemRequestSummary> summaries = List.of(summary);
+        List<RequestedItem> items = new ArrayList<>();
         List<ItemRequestDto> itemRequestDtos = new ArrayList<>();
-        Mockito.when(itemRequestWithItemsRepository.findAllByRequestorIdIsNotOrderByCreatedDateDesc(1L))
-                .thenReturn(itemRequestWithItems);
-        Mockito.when(itemRequestMapper.toItemRequestDto(itemRequestWithItems)).thenReturn(itemRequestDtos);
+        Mockito.when(itemRequestRepository.findAllByRequestorIdIsNotOrderByCreatedDateDesc(1L)).thenReturn(summaries);
+        Mockito.when(itemRepository.findItemsRequestedByOthers(1L)).thenReturn(items);
+        Mockito.when(itemRequestMapper.toItemRequestDto(summaries, items)).thenReturn(itemRequestDtos);
 
-        itemRequestService.getAllRequests(1L);
-        Mockito.verify(itemRequestWithItemsRepository).findAllByRequestorIdIsNotOrderByCreatedDateDesc(1L);
-        Mockito.verify(itemRequestMapper).toItemRequestDto(itemRequestWithItems);
+        assertSame(itemRequestDtos, itemRequestService.getAllRequests(1L));
+        Mockito.verify(itemRepository, Mockito.never()).findRequestedItems(Mockito.any());
     }
 
     @Test
     @DisplayName("получение информации о конкретном запросе")
     void getRequest() {
-        ItemRequestWithItems itemRequestWithItems = new ItemRequestWithItems();
+        ItemRequestSummary summary = Mockito.mock(ItemRequestSummary.class);
+        Mockito.when(summary.getId()).thenReturn(2L);
+        List<RequestedItem> items = new ArrayList<>();
         ItemRequestDto itemRequestDto = new ItemRequestDto();
-        Mockito.when(itemRequestWithItemsRepository.findById(1L)).thenReturn(Optional.empty());
-        Mockito.when(itemRequestWithItemsRepository.findById(2L)).thenReturn(Optional.of(itemRequestWithItems));
-        Mockito.when(itemRequestMapper.toItemRequestDto(itemRequestWithItems)).thenReturn(itemRequestDto);
+        Mockito.when(itemRequestRepository.findSummaryById(1L)).thenReturn(Optional.empty());
+        Mockito.when(itemRequestRepository.findSummaryById(2L)).thenReturn(Optional.of(summary));
+        Mockito.when(itemRepository.findRequestedItems(List.of(2L))).thenReturn(items);
+        Mockito.when(itemRequestMapper.toItemRequestDto(summary, items)).thenReturn(itemRequestDto);
 
-        ItemRequestDto nullItemRequestWithItems = itemRequestService.getRequest(1L, 1L);
-        assertNull(nullItemRequestWithItems);
+        ItemRequestDto nullItemRequest = itemRequestService.getRequest(1L, 1L);
+        assertNull(nullItemRequest);
 
-        Mockito.verify(itemRequestWithItemsRepository).findById(1L);
+        Mockito.verify(itemRequestRepository).findSummaryById(1L);
 
-        itemRequestService.getRequest(1L, 2L);
-        Mockito.verify(itemRequestWithItemsRepository).findById(2L);
-        Mockito.verify(itemRequestMapper).toItemRequestDto(itemRequestWithItems);
+        assertSame(itemRequestDto, itemRequestService.getRequest(1L, 2L));
+        Mockito.verify(itemRequestRepository).findSummaryById(2L);
+        Mockito.verify(itemRequestMapper).toItemRequestDto(summary, items);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверка статистики SQL-запросов: при включенной статистике запросы проходят через прокси
+ * источника данных и попадают в эндпоинт sqlstats и метрики shareit.sql.*.
+ */
+@SpringBootTest(classes = ShareItServer.class, properties = {
+        "shareit.sql.statistics.enabled=true",
+        "shareit.sql.statistics.slow-query-threshold=0ms"
+})
+@AutoConfigureTestDatabase
+@AutoConfigureObservability(tracing = false)
+class SqlStatisticsTest {
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private SqlStatsEndpoint sqlStatsEndpoint;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void statementsAreCollected() {
+        assertInstanceOf(ProxyDataSource.class, dataSource);
+        sqlStatsEndpoint.reset();
+
+        User user = new User();
+        user.setName("sql");
+        user.setEmail("sql.stats@example.com");
+        userService.save(user);
+
+        SqlStatsEndpoint.SqlStatsReport report = sqlStatsEndpoint.sqlStats(100);
+        StatementSummary insert = report.byTotalTime().stream()
+                .filter(statement -> statement.sql().startsWith("insert into users"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(1, insert.count());
+        assertEquals(0, insert.errors());
+        assertTrue(insert.totalMs() >= insert.maxMs());
+        assertEquals(report.statements(), report.byMeanTime().size());
+        assertTrue(meterRegistry.get("shareit.sql.statements")
+                .tags("type", "insert", "outcome", "success").timer().count() > 0);
+        assertTrue(meterRegistry.get("shareit.sql.slow").counter().count() > 0);
+    }
+}
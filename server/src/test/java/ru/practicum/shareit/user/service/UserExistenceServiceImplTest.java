@@ -0,0 +1,78 @@
+package ru.practicum.shareit.user.service;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.exeptions.ForbiddenException;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Тестирование UserExistenceServiceImpl")
+class UserExistenceServiceImplTest {
+
+    @Mock
+    UserRepository mockUserRepository;
+
+    @Mock
+    EntityManagerFactory mockEntityManagerFactory;
+
+    @Mock
+    Cache mockCache;
+
+    @InjectMocks
+    UserExistenceServiceImpl userExistenceService;
+
+    @BeforeEach
+    void setUp() {
+        when(mockEntityManagerFactory.getCache()).thenReturn(mockCache);
+    }
+
+    @Test
+    @DisplayName("пользователь из кэша второго уровня не запрашивается в базе")
+    void existsInCache() {
+        when(mockCache.contains(User.class, 1L)).thenReturn(true);
+
+        assertTrue(userExistenceService.exists(1L));
+        verify(mockUserRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    @DisplayName("при промахе кэша выполняется проверка по первичному ключу")
+    void existsInDatabase() {
+        when(mockUserRepository.existsById(1L)).thenReturn(true);
+        when(mockUserRepository.existsById(2L)).thenReturn(false);
+
+        assertTrue(userExistenceService.exists(1L));
+        assertFalse(userExistenceService.exists(2L));
+        verify(mockUserRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("проверка существования с исключением для неизвестного пользователя")
+    void checkExists() {
+        when(mockUserRepository.existsById(1L)).thenReturn(true);
+        when(mockUserRepository.existsById(2L)).thenReturn(false);
+
+        assertDoesNotThrow(() -> userExistenceService.checkExists(1L));
+        ForbiddenException exception = assertThrows(ForbiddenException.class,
+                () -> userExistenceService.checkExists(2L));
+        assertEquals("Пользователь с id 2 не найден.", exception.getMessage());
+    }
+}
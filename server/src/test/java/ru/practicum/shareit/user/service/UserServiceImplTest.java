@@ -1,5 +1,7 @@
 package ru.practicum.shareit.user.service;
 
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -8,16 +10,21 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.exeptions.ForbiddenException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.user.dto.UserPatchDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -29,6 +36,18 @@ class UserServiceImplTest {
     @Mock
     UserRepository mockUserRepository;
 
+    @Mock
+    EntityManagerFactory mockEntityManagerFactory;
+
+    @Mock
+    Cache mockCache;
+
+    @Mock
+    ItemRepository mockItemRepository;
+
+    @Mock
+    ItemSearchEngine mockItemSearchEngine;
+
     @InjectMocks
     UserServiceImpl userService;
 
@@ -69,8 +88,16 @@ class UserServiceImplTest {
     @Test
     @DisplayName("вызов метода репозитория при удалении пользователя")
     void delete() {
+        when(mockEntityManagerFactory.getCache()).thenReturn(mockCache);
+        when(mockItemRepository.findIdsByOwnerId(1L)).thenReturn(List.of(3L, 4L));
+
         userService.delete(1L);
         verify(mockUserRepository, times(1)).deleteById(anyLong());
+        verify(mockCache).evict(Item.class, 3L);
+        verify(mockCache).evict(Item.class, 4L);
+        verify(mockCache, never()).evict(Item.class);
+        verify(mockItemSearchEngine).remove(3L);
+        verify(mockItemSearchEngine).remove(4L);
     }
 
     @Test